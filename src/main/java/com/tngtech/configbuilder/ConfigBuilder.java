@@ -1,10 +1,14 @@
 package com.tngtech.configbuilder;
 
+import com.google.common.collect.MapDifference;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.tngtech.configbuilder.annotation.configuration.LoadingOrder;
-import com.tngtech.configbuilder.annotation.configuration.PropertyNamePrefix;
 import com.tngtech.configbuilder.annotation.propertyloaderconfiguration.ErrorMessageFile;
 import com.tngtech.configbuilder.configuration.BuilderConfiguration;
 import com.tngtech.configbuilder.configuration.ErrorMessageSetup;
+import com.tngtech.configbuilder.configuration.SystemSnapshot;
+import com.tngtech.configbuilder.exception.ConfigBuilderException;
 import com.tngtech.configbuilder.util.*;
 import com.tngtech.propertyloader.PropertyLoader;
 import com.tngtech.propertyloader.impl.DefaultPropertyFilterContainer;
@@ -16,9 +20,19 @@ import org.apache.commons.cli.Options;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Builds a config object.
@@ -45,6 +59,12 @@ import java.util.Properties;
  * To specify your own error messages file (which is loaded by the PropertyLoader with the same settings as other the properties files), annotate the class with <br>
  * {@link ErrorMessageFile}<br>
  *
+ * Once it is configured, a ConfigBuilder may be shared between threads: every call of {@link #build(Object...)} works on its own
+ * {@link BuilderConfiguration}, so concurrent builds do not need external locking.<br>
+ *
+ * To hold an instance which can be replaced by a rebuilt one, use {@link #buildHandle(Object...)}. To rebuild the instance whenever
+ * its properties files change, use {@link #buildAndWatch(Object...)}.<br>
+ *
  * @param <T> The type of the config class which shall be instantiated.
  * @author Matthias Bollwein
  * @version 0.1-SNAPSHOT
@@ -52,8 +72,9 @@ import java.util.Properties;
 public class ConfigBuilder<T> {
     private final static Logger LOGGER = LoggerFactory.getLogger(CommandLineHelper.class);
     public static final Object AT_CONTEXT_CLASS_PATH = new Object();
+    private static final long DEFAULT_RELOAD_DELAY_MILLIS = 500;
     
-    private final BuilderConfiguration builderConfiguration;
+    private final ConfigBuilderFactory configBuilderFactory;
     private final CommandLineHelper commandLineHelper;
     private final FieldSetter<T> fieldSetter;
     private final ConfigValidator<T> configValidator;
@@ -63,15 +84,18 @@ public class ConfigBuilder<T> {
     private Class<T> configClass;
     private Options commandLineOptions;
     private PropertyLoader propertyLoader;
-    private Properties additionalProperties;
+    private volatile Properties additionalProperties;
     private String[] commandLineArgs = {};
+    private Object importedConfiguration;
+    private long reloadDelayMillis = DEFAULT_RELOAD_DELAY_MILLIS;
+    private boolean sharedSystemSnapshot;
     
 
     protected ConfigBuilder(Class<T> configClass, ConfigBuilderFactory configBuilderFactory) {
 
         configBuilderFactory.<T>initialize();
         this.configClass = configClass;
-        this.builderConfiguration = configBuilderFactory.getInstance(BuilderConfiguration.class);
+        this.configBuilderFactory = configBuilderFactory;
         this.commandLineHelper = configBuilderFactory.getInstance(CommandLineHelper.class);
         this.configValidator = configBuilderFactory.getInstance(ConfigValidator.class);
         this.fieldSetter = configBuilderFactory.getInstance(FieldSetter.class);
@@ -108,7 +132,7 @@ public class ConfigBuilder<T> {
      * @return the instance of ConfigBuilder
      */
     public ConfigBuilder<T> withImportedConfiguration(Object importedConfiguration) {
-        builderConfiguration.setImportedConfiguration(importedConfiguration);
+        this.importedConfiguration = importedConfiguration;
         return this;
     }
 
@@ -130,7 +154,10 @@ public class ConfigBuilder<T> {
      * @return the instance of ConfigBuilder
      */
     public ConfigBuilder<T> addProperties(Properties properties) {
-        additionalProperties.putAll(properties);
+        Properties mergedProperties = configBuilderFactory.createInstance(Properties.class);
+        mergedProperties.putAll(additionalProperties);
+        mergedProperties.putAll(properties);
+        additionalProperties = mergedProperties;
         return this;
     }
 
@@ -141,6 +168,7 @@ public class ConfigBuilder<T> {
      */
     public ConfigBuilder<T> withPropertyExtension(String propertyExtension) {
         propertyLoader.withExtension(propertyExtension);
+        errorMessageSetup.clearCache();
         return this;
     }
 
@@ -162,6 +190,7 @@ public class ConfigBuilder<T> {
         final DefaultPropertySuffixContainer suffixes = propertyLoader.getSuffixes();
         suffixes.clear();
         suffixes.addSuffixList(Arrays.asList(suffixArray));
+        errorMessageSetup.clearCache();
         return this;
     }
 
@@ -172,6 +201,7 @@ public class ConfigBuilder<T> {
      */
     public ConfigBuilder<T> addPropertySuffixes(String... suffixArray) {
         propertyLoader.getSuffixes().addSuffixList(Arrays.asList(suffixArray));
+        errorMessageSetup.clearCache();
         return this;
     }
 
@@ -215,6 +245,7 @@ public class ConfigBuilder<T> {
                 LOGGER.warn("unhandled property location '{}'", propertyLocation);
             }
         }
+        errorMessageSetup.clearCache();
         return this;
     }
 
@@ -237,9 +268,81 @@ public class ConfigBuilder<T> {
                 LOGGER.error("could not create filter '{}'", propertyFilter.getSimpleName(), e);
             }
         }
+        errorMessageSetup.clearCache();
         return this;
     }
     
+    /**
+     * read the properties files concurrently with at most the given number of threads, e.g. if they are located on slow network volumes.
+     * The files are merged in the same order as if they were read one after the other. Idle threads are stopped after a second.
+     * @param maxThreads the maximum number of threads reading properties files
+     * @return the instance of ConfigBuilder
+     */
+    public ConfigBuilder<T> withParallelLoading(int maxThreads) {
+        if (!(propertyLoader instanceof CachingPropertyLoader)) {
+            LOGGER.warn("parallel loading is not supported by property loader {}", propertyLoader.getClass().getName());
+            return this;
+        }
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(maxThreads, maxThreads, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+                new ThreadFactoryBuilder().setNameFormat("config-loader-" + configClass.getSimpleName() + "-%d").setDaemon(true).build());
+        executor.allowCoreThreadTimeOut(true);
+        ((CachingPropertyLoader) propertyLoader).withExecutor(executor);
+        return this;
+    }
+
+    /**
+     * set the time a {@link ConfigReloader} waits after a change of the properties files before it rebuilds the config,
+     * so a burst of changes causes only one rebuild
+     * @param reloadDelay the time without further changes
+     * @param unit the unit of the reload delay
+     * @return the instance of ConfigBuilder
+     */
+    public ConfigBuilder<T> withReloadDelay(long reloadDelay, TimeUnit unit) {
+        this.reloadDelayMillis = unit.toMillis(reloadDelay);
+        return this;
+    }
+
+    /**
+     * reuse field values transformed from the same Strings in earlier builds, e.g. paths, enum constants or lists, from a bounded cache
+     * shared by all ConfigBuilders. Only immutable values are cached, and the transformers are expected to return equal values for equal Strings.
+     * @return the instance of ConfigBuilder
+     */
+    public ConfigBuilder<T> withTransformedValueCache() {
+        return withTransformedValueCache(TransformedValueCache.getSharedCache());
+    }
+
+    /**
+     * reuse field values transformed from the same Strings in earlier builds from the given cache, see {@link #withTransformedValueCache()}
+     * @param transformedValueCache the cache
+     * @return the instance of ConfigBuilder
+     */
+    public ConfigBuilder<T> withTransformedValueCache(TransformedValueCache transformedValueCache) {
+        configBuilderFactory.getInstance(FieldValueTransformer.class).setValueCache(transformedValueCache);
+        return this;
+    }
+
+    /**
+     * set fields of type String, int, long, double or boolean, or one of the wrapper classes, through method handles composed once per config class
+     * when the config class has been built by this ConfigBuilder more than the given number of times. The handles parse the values and store them in the fields
+     * directly, instead of resolving and calling the transformers for every field. Values which cannot be parsed are transformed as usual.
+     * @param buildThreshold the number of builds of the config class by this ConfigBuilder after which the fields are set by the runtime binder
+     * @return the instance of ConfigBuilder
+     */
+    public ConfigBuilder<T> withRuntimeBinders(int buildThreshold) {
+        fieldSetter.setRuntimeBinderThreshold(buildThreshold);
+        return this;
+    }
+
+    /**
+     * read environment variables and system properties from the snapshot shared by all builds instead of taking a new snapshot
+     * for every build. Changes are only seen after {@link SystemSnapshot#refreshShared()}.
+     * @return the instance of ConfigBuilder
+     */
+    public ConfigBuilder<T> withSharedSystemSnapshot() {
+        this.sharedSystemSnapshot = true;
+        return this;
+    }
+
     /**
      * Prints a help message for all command line options that are configured in the config class.
      */
@@ -259,28 +362,146 @@ public class ConfigBuilder<T> {
      * @return An instance of the config class.
      */
     public T build(Object... objects) {
-        initializeErrorMessageSetup(propertyLoader);
-        setupBuilderConfiguration(propertyLoader);
+        return build(loadBuildInput(), objects);
+    }
+
+    T build(BuildInput buildInput, Object[] objects) {
+        BuilderConfiguration builderConfiguration = setupBuilderConfiguration(buildInput);
         T instanceOfConfigClass = constructionHelper.getInstance(configClass, objects);
         fieldSetter.setFields(instanceOfConfigClass, builderConfiguration);
         configValidator.validate(instanceOfConfigClass);
         return instanceOfConfigClass;
     }
 
-    private void setupBuilderConfiguration(PropertyLoader propertyLoader) {
-        if (configClass.isAnnotationPresent(LoadingOrder.class)) {
-            builderConfiguration.setAnnotationOrder(configClass.getAnnotation(LoadingOrder.class).value());
+    /**
+     * Rebuilds an instance incrementally: in a new instance, only the fields are set again which are read from properties,
+     * system properties or environment variables that changed since the previous build, and the fields with user-defined value annotations.
+     * All other configured fields are copied from the previous instance if their values can be copied safely, see
+     * {@link FieldSetter#copyFields(Object, Object, java.util.Collection)}, or set again otherwise, while fields without value annotations
+     * keep the state set by the constructor. If the command line arguments or the imported configuration changed, the instance is built
+     * from scratch. The new instance is validated in any case.
+     */
+    T rebuild(T previousInstance, BuildInput previousBuildInput, BuildInput buildInput, Object[] objects) {
+        if (!buildInput.hasSameArgumentsAs(previousBuildInput)) {
+            return build(buildInput, objects);
+        }
+        ConfigPlan configPlan = ConfigPlan.of(configClass);
+        SystemSnapshot previousSystemSnapshot = previousBuildInput.getSystemSnapshot();
+        SystemSnapshot systemSnapshot = buildInput.getSystemSnapshot();
+        Set<String> changedSystemPropertyNames = Collections.emptySet();
+        Set<String> changedEnvironmentVariableNames = Collections.emptySet();
+        if (previousSystemSnapshot != null && systemSnapshot != null) {
+            changedSystemPropertyNames = getChangedNames(previousSystemSnapshot.getSystemProperties(), systemSnapshot.getSystemProperties());
+            changedEnvironmentVariableNames = getChangedNames(previousSystemSnapshot.getEnvironment(), systemSnapshot.getEnvironment());
         }
+        List<FieldPlan> changedFieldPlans = configPlan.getFieldPlansFor(
+                getChangedNames(Maps.fromProperties(previousBuildInput.getProperties()), Maps.fromProperties(buildInput.getProperties())),
+                changedSystemPropertyNames, changedEnvironmentVariableNames);
+        LOGGER.debug("rebuilding {} of {} fields of {}", changedFieldPlans.size(), configPlan.getFieldPlans().size(), configClass.getName());
+
+        BuilderConfiguration builderConfiguration = setupBuilderConfiguration(buildInput);
+        T instanceOfConfigClass = constructionHelper.getInstance(configClass, objects);
+        List<FieldPlan> unchangedFieldPlans = new ArrayList<FieldPlan>(configPlan.getFieldPlans());
+        unchangedFieldPlans.removeAll(new HashSet<FieldPlan>(changedFieldPlans));
+        List<FieldPlan> fieldPlansNotCopied = fieldSetter.copyFields(previousInstance, instanceOfConfigClass, unchangedFieldPlans);
+        fieldSetter.setFields(instanceOfConfigClass, builderConfiguration, getFieldPlansToSet(configPlan, changedFieldPlans, fieldPlansNotCopied));
+        configValidator.validate(instanceOfConfigClass);
+        return instanceOfConfigClass;
+    }
 
-        if (configClass.isAnnotationPresent(PropertyNamePrefix.class)) {
-            builderConfiguration.setPropertyNamePrefixes(configClass.getAnnotation(PropertyNamePrefix.class).value());
+    private static List<FieldPlan> getFieldPlansToSet(ConfigPlan configPlan, List<FieldPlan> changedFieldPlans, List<FieldPlan> fieldPlansNotCopied) {
+        if (fieldPlansNotCopied.isEmpty()) {
+            return changedFieldPlans;
+        }
+        Set<FieldPlan> fieldPlansToSet = new HashSet<FieldPlan>(changedFieldPlans);
+        fieldPlansToSet.addAll(fieldPlansNotCopied);
+        List<FieldPlan> result = new ArrayList<FieldPlan>();
+        for (FieldPlan fieldPlan : configPlan.getFieldPlans()) {
+            if (fieldPlansToSet.contains(fieldPlan)) {
+                result.add(fieldPlan);
+            }
+        }
+        return result;
+    }
+
+    private static Set<String> getChangedNames(Map<String, String> previousValues, Map<String, String> values) {
+        if (previousValues == values) {
+            return Collections.emptySet();
+        }
+        MapDifference<String, String> difference = Maps.difference(previousValues, values);
+        Set<String> changedNames = new HashSet<String>(difference.entriesDiffering().keySet());
+        changedNames.addAll(difference.entriesOnlyOnLeft().keySet());
+        changedNames.addAll(difference.entriesOnlyOnRight().keySet());
+        return changedNames;
+    }
+
+    /**
+     * Loads everything a build reads from outside of the config class. The environment variables and system properties are only copied
+     * if a field of the config class reads them, otherwise they are read on first use by the build.
+     */
+    BuildInput loadBuildInput() {
+        initializeErrorMessageSetup(propertyLoader);
+        final Properties properties;
+        synchronized (propertyLoader) {
+            properties = propertyLoader.load();
         }
-        
-        final Properties properties = propertyLoader.load();
         properties.putAll(additionalProperties);
-        builderConfiguration.setProperties(properties);
-        
-        builderConfiguration.setCommandLine(commandLineHelper.getCommandLine(configClass, commandLineArgs));
+        SystemSnapshot systemSnapshot = null;
+        if (ConfigPlan.of(configClass).readsSystemSnapshot()) {
+            systemSnapshot = sharedSystemSnapshot ? SystemSnapshot.getShared() : SystemSnapshot.take();
+        }
+        return new BuildInput(properties, additionalProperties, systemSnapshot, commandLineArgs, importedConfiguration);
+    }
+
+    /**
+     * Builds an instance of the config like {@link #build(Object...)} and returns it in a handle, which can rebuild it with the same arguments.
+     *
+     * @param objects a vararg of Objects passed to a corresponding constructor of the config class.
+     * @return A ConfigHandle which holds the current instance of the config class.
+     */
+    public ConfigHandle<T> buildHandle(Object... objects) {
+        BuildInput buildInput = loadBuildInput();
+        return new ConfigHandle<T>(this, build(buildInput, objects), buildInput, objects);
+    }
+
+    /**
+     * Builds an instance of the config like {@link #build(Object...)} and watches the properties files it was loaded from.
+     * Whenever they change, the config is rebuilt in the background with the same arguments and published by the returned ConfigReloader.
+     *
+     * @param objects a vararg of Objects passed to a corresponding constructor of the config class.
+     * @return A ConfigReloader which holds the current instance of the config class.
+     */
+    public ConfigReloader<T> buildAndWatch(Object... objects) {
+        ConfigHandle<T> configHandle = buildHandle(objects);
+        try {
+            return new ConfigReloader<T>(this, configHandle, reloadDelayMillis, "config-reloader-" + configClass.getSimpleName());
+        } catch (IOException e) {
+            throw new ConfigBuilderException("could not watch the properties files of " + configClass.getName(), e);
+        }
+    }
+
+    Set<String> getSearchedFileNames() {
+        return propertyLoader instanceof CachingPropertyLoader ? ((CachingPropertyLoader) propertyLoader).getSearchedFileNames() : Collections.<String>emptySet();
+    }
+
+    Set<Path> getSearchedDirectories() {
+        return propertyLoader instanceof CachingPropertyLoader ? ((CachingPropertyLoader) propertyLoader).getSearchedDirectories() : Collections.<Path>emptySet();
+    }
+
+    private BuilderConfiguration setupBuilderConfiguration(BuildInput buildInput) {
+        BuilderConfiguration builderConfiguration = configBuilderFactory.createInstance(BuilderConfiguration.class);
+        ConfigPlan configPlan = ConfigPlan.of(configClass);
+        builderConfiguration.setAnnotationOrder(configPlan.getAnnotationOrder());
+        builderConfiguration.setPropertyNamePrefixes(configPlan.getPropertyNamePrefixes());
+        builderConfiguration.setEnvironmentVariablePrefix(configPlan.getEnvironmentVariablePrefix());
+        builderConfiguration.setImportedConfiguration(buildInput.getImportedConfiguration());
+        builderConfiguration.setProperties(buildInput.getProperties());
+        if (propertyLoader instanceof CachingPropertyLoader && configPlan.readsProperties()) {
+            builderConfiguration.setPropertyLookup(((CachingPropertyLoader) propertyLoader).getPropertyLookup(buildInput.getProperties(), buildInput.getAdditionalProperties(), configPlan.getPropertyNamePrefixes()));
+        }
+        builderConfiguration.setSystemSnapshot(buildInput.getSystemSnapshot());
+        builderConfiguration.setCommandLine(commandLineHelper.getCommandLine(configClass, buildInput.getCommandLineArgs()));
+        return builderConfiguration;
     }
 
     private void initializeErrorMessageSetup(PropertyLoader propertyLoader) {
@@ -288,6 +509,58 @@ public class ConfigBuilder<T> {
         errorMessageSetup.initialize(errorMessageFile, propertyLoader);
     }
 
+    /**
+     * The properties, environment variables, system properties, command line arguments and imported configuration an instance was built from.
+     * The snapshot of environment variables and system properties is null if the config class does not read them.
+     */
+    static final class BuildInput {
+        private final Properties properties;
+        private final Properties additionalProperties;
+        private final SystemSnapshot systemSnapshot;
+        private final String[] commandLineArgs;
+        private final Object importedConfiguration;
+
+        BuildInput(Properties properties, SystemSnapshot systemSnapshot, String[] commandLineArgs, Object importedConfiguration) {
+            this(properties, null, systemSnapshot, commandLineArgs, importedConfiguration);
+        }
+
+        /**
+         * @param properties           the loaded properties, extended by the additional properties
+         * @param additionalProperties the additional properties of the ConfigBuilder, which are replaced instead of changed when properties are added
+         */
+        BuildInput(Properties properties, Properties additionalProperties, SystemSnapshot systemSnapshot, String[] commandLineArgs, Object importedConfiguration) {
+            this.properties = properties;
+            this.additionalProperties = additionalProperties;
+            this.systemSnapshot = systemSnapshot;
+            this.commandLineArgs = commandLineArgs;
+            this.importedConfiguration = importedConfiguration;
+        }
+
+        Properties getProperties() {
+            return properties;
+        }
+
+        Properties getAdditionalProperties() {
+            return additionalProperties;
+        }
+
+        SystemSnapshot getSystemSnapshot() {
+            return systemSnapshot;
+        }
+
+        String[] getCommandLineArgs() {
+            return commandLineArgs;
+        }
+
+        Object getImportedConfiguration() {
+            return importedConfiguration;
+        }
+
+        boolean hasSameArgumentsAs(BuildInput other) {
+            return Arrays.equals(commandLineArgs, other.commandLineArgs) && importedConfiguration == other.importedConfiguration;
+        }
+    }
+
     /**
      * Gets an instance of the ConfigBuilder for a given config class
      *
@@ -0,0 +1,51 @@
+package com.tngtech.configbuilder;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current instance of a config which can be replaced by a rebuilt one.<p>
+ *
+ * {@link #get()} only reads an atomic reference, so it neither locks nor waits and may be called on every request.
+ * {@link #rebuild()} builds and validates a new instance with the ConfigBuilder and the arguments of the first build,
+ * then publishes it atomically. Rebuilds are serialized, so a newer instance is never replaced by an older one.<p>
+ *
+ * Rebuilds are incremental: the properties are loaded again and compared to those of the current instance. The new instance
+ * is a copy of the current one in which only the fields read from changed properties are resolved again.
+ *
+ * @param <T> The type of the config class.
+ */
+public class ConfigHandle<T> {
+
+    private final ConfigBuilder<T> configBuilder;
+    private final Object[] constructorArguments;
+    private final AtomicReference<T> config;
+    private ConfigBuilder.BuildInput buildInput;
+
+    ConfigHandle(ConfigBuilder<T> configBuilder, T config, ConfigBuilder.BuildInput buildInput, Object[] constructorArguments) {
+        this.configBuilder = configBuilder;
+        this.constructorArguments = constructorArguments;
+        this.config = new AtomicReference<T>(config);
+        this.buildInput = buildInput;
+    }
+
+    /**
+     * @return the current config instance
+     */
+    public T get() {
+        return config.get();
+    }
+
+    /**
+     * Builds a new config instance and replaces the current one with it. If building or validating fails,
+     * the exception is thrown and the current instance is kept.
+     *
+     * @return the new config instance
+     */
+    public synchronized T rebuild() {
+        ConfigBuilder.BuildInput newBuildInput = configBuilder.loadBuildInput();
+        T rebuiltConfig = configBuilder.rebuild(config.get(), buildInput, newBuildInput, constructorArguments);
+        config.set(rebuiltConfig);
+        buildInput = newBuildInput;
+        return rebuiltConfig;
+    }
+}
@@ -0,0 +1,193 @@
+package com.tngtech.configbuilder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps a config instance up to date with its properties files.<p>
+ *
+ * The directories searched for the properties files are watched with a {@link WatchService} by a single daemon thread.
+ * When one of the searched files is created, modified or deleted, the thread waits until no further change happened for the reload delay,
+ * then rebuilds the config with its {@link ConfigHandle}, which also validates it. A valid instance replaces the current one atomically
+ * and is passed to the listeners. If building fails, the current instance is kept.<p>
+ *
+ * A ConfigReloader is created by {@link ConfigBuilder#buildAndWatch(Object...)} and has to be closed to stop watching.
+ *
+ * @param <T> The type of the config class.
+ */
+public class ConfigReloader<T> implements Closeable {
+
+    private final static Logger log = LoggerFactory.getLogger(ConfigReloader.class);
+
+    /**
+     * Receives the config instances which replace the current one.
+     *
+     * @param <T> The type of the config class.
+     */
+    public interface Listener<T> {
+        void configReloaded(T config);
+    }
+
+    private final ConfigBuilder<T> configBuilder;
+    private final ConfigHandle<T> configHandle;
+    private final long reloadDelayMillis;
+    private final List<Listener<? super T>> listeners = new CopyOnWriteArrayList<Listener<? super T>>();
+    private final WatchService watchService;
+    private final Map<Path, WatchKey> watchKeys = new HashMap<Path, WatchKey>();
+    private final Thread watchThread;
+    private volatile Set<String> watchedFileNames;
+    private volatile boolean closed;
+
+    ConfigReloader(ConfigBuilder<T> configBuilder, ConfigHandle<T> configHandle, long reloadDelayMillis, String threadName) throws IOException {
+        this.configBuilder = configBuilder;
+        this.configHandle = configHandle;
+        this.reloadDelayMillis = reloadDelayMillis;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        updateWatches();
+
+        watchThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                watch();
+            }
+        }, threadName);
+        watchThread.setDaemon(true);
+        watchThread.start();
+    }
+
+    /**
+     * @return the current config instance
+     */
+    public T get() {
+        return configHandle.get();
+    }
+
+    /**
+     * @return the handle which holds the current config instance
+     */
+    public ConfigHandle<T> getHandle() {
+        return configHandle;
+    }
+
+    public void addListener(Listener<? super T> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener<? super T> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Builds a new config instance and publishes it if it is valid.
+     *
+     * @return true if the new instance replaced the current one
+     */
+    public synchronized boolean reload() {
+        T reloadedConfig;
+        try {
+            reloadedConfig = configHandle.rebuild();
+        } catch (RuntimeException e) {
+            log.warn("could not reload config, keeping the current instance", e);
+            return false;
+        } finally {
+            updateWatches();
+        }
+        for (Listener<? super T> listener : listeners) {
+            try {
+                listener.configReloaded(reloadedConfig);
+            } catch (RuntimeException e) {
+                log.error("listener {} failed on reloaded config", listener, e);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Stops watching the properties files.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        watchService.close();
+    }
+
+    private synchronized void updateWatches() {
+        if (closed) {
+            return;
+        }
+        Set<String> fileNames = new HashSet<String>();
+        for (String fileName : configBuilder.getSearchedFileNames()) {
+            fileNames.add(fileName.substring(fileName.lastIndexOf('/') + 1));
+        }
+        watchedFileNames = fileNames;
+
+        Set<Path> directories = configBuilder.getSearchedDirectories();
+        for (Iterator<Map.Entry<Path, WatchKey>> iterator = watchKeys.entrySet().iterator(); iterator.hasNext(); ) {
+            Map.Entry<Path, WatchKey> entry = iterator.next();
+            if (!directories.contains(entry.getKey()) || !entry.getValue().isValid()) {
+                entry.getValue().cancel();
+                iterator.remove();
+            }
+        }
+        for (Path directory : directories) {
+            if (!watchKeys.containsKey(directory) && Files.isDirectory(directory)) {
+                try {
+                    watchKeys.put(directory, directory.register(watchService,
+                            StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE));
+                } catch (IOException | ClosedWatchServiceException e) {
+                    log.warn("could not watch directory {}", directory, e);
+                }
+            }
+        }
+    }
+
+    private void watch() {
+        try {
+            while (!closed) {
+                boolean changed = pollEvents(watchService.take());
+                WatchKey key;
+                while ((key = watchService.poll(reloadDelayMillis, TimeUnit.MILLISECONDS)) != null) {
+                    changed |= pollEvents(key);
+                }
+                if (changed && !closed) {
+                    reload();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            log.debug("stopped watching properties files");
+        }
+    }
+
+    private boolean pollEvents(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                changed = true;
+            } else if (watchedFileNames.contains(((Path) event.context()).getFileName().toString())) {
+                log.debug("properties file {} changed", event.context());
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+}
@@ -5,8 +5,17 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+/**
+ * This annotation is used to specify the separator of the values of a collection field, which is matched literally unless it is a regular expression.
+ * If the values are trimmed, leading and trailing whitespace is removed from each of them.<br>
+ * <b>Usage:</b> <code>@Separator(value = ";", trim = true)</code>
+ */
 @Target(ElementType.FIELD)
 @Retention(RetentionPolicy.RUNTIME)
 public @interface Separator {
     String value() default ",";
+
+    boolean regex() default false;
+
+    boolean trim() default false;
 }
@@ -0,0 +1,27 @@
+package com.tngtech.configbuilder.annotation.typetransformer;
+
+import java.util.EnumSet;
+
+public class CharacterSeparatedStringToEnumSetTransformer extends TypeTransformer<String, EnumSet> {
+
+    @Override
+    public EnumSet transform(String argument) {
+        final EnumLookup<?> enumLookup = EnumLookup.forTypeArgument(targetType, 0);
+        return StringSplitter.fromOptions(additionalOptions).split(argument, new StringSplitter.Parts<EnumSet>() {
+            @Override
+            EnumSet create(int count) {
+                return EnumSet.noneOf(enumLookup.getEnumClass());
+            }
+
+            @Override
+            void add(EnumSet result, String part) {
+                result.add(enumLookup.convert(part, fieldValueTransformer));
+            }
+        });
+    }
+
+    @Override
+    public boolean isMatching(Class<?> sourceClass, Class<?> targetClass) {
+        return super.isMatching(sourceClass, targetClass) && EnumLookup.forTypeArgument(targetType, 0) != null;
+    }
+}
@@ -0,0 +1,11 @@
+package com.tngtech.configbuilder.annotation.typetransformer;
+
+import com.google.common.collect.ImmutableList;
+
+public class CharacterSeparatedStringToImmutableStringListTransformer extends TypeTransformer<String, ImmutableList<String>> {
+
+    @Override
+    public ImmutableList<String> transform(String argument) {
+        return StringSplitter.fromOptions(additionalOptions).splitToImmutableList(argument);
+    }
+}
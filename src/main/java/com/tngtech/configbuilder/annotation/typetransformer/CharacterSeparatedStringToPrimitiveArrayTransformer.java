@@ -0,0 +1,92 @@
+package com.tngtech.configbuilder.annotation.typetransformer;
+
+import com.google.common.collect.ImmutableSet;
+import com.tngtech.configbuilder.exception.PrimitiveParsingException;
+
+import java.lang.reflect.Array;
+import java.util.Set;
+
+/**
+ * Parses the parts of a separated String directly into an array of ints, longs, doubles or booleans. The array is allocated
+ * with the number of parts, so no intermediate collection is created and no value is boxed. A blank String is an empty array.
+ */
+public class CharacterSeparatedStringToPrimitiveArrayTransformer extends TypeTransformer<String, Object> {
+
+    private static final Set<Class<?>> componentTypes = ImmutableSet.<Class<?>>of(int.class, long.class, double.class, boolean.class);
+
+    @Override
+    public Object transform(String argument) {
+        Class<?> componentType = genericsAndCastingHelper.castTypeToClass(targetType).getComponentType();
+        if (argument.trim().isEmpty()) {
+            return Array.newInstance(componentType, 0);
+        }
+        StringSplitter splitter = StringSplitter.fromOptions(additionalOptions);
+        try {
+            if (componentType == int.class) {
+                return splitter.split(argument, new StringSplitter.Parts<int[]>() {
+                    private int index;
+
+                    @Override
+                    int[] create(int count) {
+                        return new int[count];
+                    }
+
+                    @Override
+                    void add(int[] result, String part) {
+                        result[index++] = PrimitiveParser.parseInt(part.trim());
+                    }
+                });
+            }
+            if (componentType == long.class) {
+                return splitter.split(argument, new StringSplitter.Parts<long[]>() {
+                    private int index;
+
+                    @Override
+                    long[] create(int count) {
+                        return new long[count];
+                    }
+
+                    @Override
+                    void add(long[] result, String part) {
+                        result[index++] = PrimitiveParser.parseLong(part.trim());
+                    }
+                });
+            }
+            if (componentType == double.class) {
+                return splitter.split(argument, new StringSplitter.Parts<double[]>() {
+                    private int index;
+
+                    @Override
+                    double[] create(int count) {
+                        return new double[count];
+                    }
+
+                    @Override
+                    void add(double[] result, String part) {
+                        result[index++] = PrimitiveParser.parseDouble(part.trim());
+                    }
+                });
+            }
+            return splitter.split(argument, new StringSplitter.Parts<boolean[]>() {
+                private int index;
+
+                @Override
+                boolean[] create(int count) {
+                    return new boolean[count];
+                }
+
+                @Override
+                void add(boolean[] result, String part) {
+                    result[index++] = PrimitiveParser.parseBoolean(part.trim());
+                }
+            });
+        } catch (IllegalArgumentException e) {
+            throw new PrimitiveParsingException(errorMessageSetup.getErrorMessage(PrimitiveParsingException.class, argument, componentType.getName() + "[]"));
+        }
+    }
+
+    @Override
+    public boolean isMatching(Class<?> sourceClass, Class<?> targetClass) {
+        return String.class.equals(sourceClass) && componentTypes.contains(targetClass.getComponentType());
+    }
+}
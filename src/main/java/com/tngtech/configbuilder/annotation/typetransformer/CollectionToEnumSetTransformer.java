@@ -0,0 +1,22 @@
+package com.tngtech.configbuilder.annotation.typetransformer;
+
+import java.util.Collection;
+import java.util.EnumSet;
+
+public class CollectionToEnumSetTransformer extends TypeTransformer<Collection, EnumSet> {
+
+    @Override
+    public EnumSet transform(Collection argument) {
+        EnumLookup<?> enumLookup = EnumLookup.forTypeArgument(targetType, 0);
+        EnumSet result = EnumSet.noneOf(enumLookup.getEnumClass());
+        for(Object value : argument) {
+            result.add(enumLookup.convert(value, fieldValueTransformer));
+        }
+        return result;
+    }
+
+    @Override
+    public boolean isMatching(Class<?> sourceClass, Class<?> targetClass) {
+        return super.isMatching(sourceClass, targetClass) && EnumLookup.forTypeArgument(targetType, 0) != null;
+    }
+}
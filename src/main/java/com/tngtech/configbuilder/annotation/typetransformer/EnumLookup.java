@@ -0,0 +1,93 @@
+package com.tngtech.configbuilder.annotation.typetransformer;
+
+import com.google.common.collect.ImmutableMap;
+import com.tngtech.configbuilder.util.FieldValueTransformer;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+
+/**
+ * Looks up the constants of an enum class by name. The names are indexed only once per enum class, and a name which matches a constant exactly
+ * is found without creating any object. Other names are normalized like {@link StringToEnumTypeTransformer} does, i.e. trimmed, converted to upper case
+ * and with spaces replaced by underscores.
+ *
+ * @param <E> the enum class
+ */
+public final class EnumLookup<E extends Enum<E>> {
+
+    private static final ClassValue<EnumLookup<?>> lookups = new ClassValue<EnumLookup<?>>() {
+        @Override
+        @SuppressWarnings("unchecked")
+        protected EnumLookup<?> computeValue(Class<?> enumClass) {
+            return new EnumLookup(enumClass);
+        }
+    };
+
+    private final Class<E> enumClass;
+    private final ImmutableMap<String, E> constants;
+
+    private EnumLookup(Class<E> enumClass) {
+        this.enumClass = enumClass;
+        ImmutableMap.Builder<String, E> builder = ImmutableMap.builder();
+        for (E constant : enumClass.getEnumConstants()) {
+            builder.put(constant.name(), constant);
+        }
+        this.constants = builder.build();
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <E extends Enum<E>> EnumLookup<E> forClass(Class<E> enumClass) {
+        return (EnumLookup<E>) lookups.get(enumClass);
+    }
+
+    /**
+     * @param type  a parameterized type, e.g. the generic type of a field
+     * @param index the index of the type argument
+     * @return the lookup for the type argument if it is an enum class, otherwise null
+     */
+    @SuppressWarnings("unchecked")
+    public static EnumLookup<?> forTypeArgument(Type type, int index) {
+        if (!(type instanceof ParameterizedType)) {
+            return null;
+        }
+        Type typeArgument = ((ParameterizedType) type).getActualTypeArguments()[index];
+        if (!(typeArgument instanceof Class) || !((Class<?>) typeArgument).isEnum()) {
+            return null;
+        }
+        return lookups.get((Class<?>) typeArgument);
+    }
+
+    public Class<E> getEnumClass() {
+        return enumClass;
+    }
+
+    /**
+     * @return the constant with the name, or null if there is none
+     */
+    public E get(String name) {
+        E constant = constants.get(name);
+        return constant != null ? constant : constants.get(name.trim().replace(' ', '_').toUpperCase());
+    }
+
+    /**
+     * Converts a value to a constant of the enum class. If one of the transformers of the field, e.g. given by its {@link TypeTransformers} annotation,
+     * transforms the value to the enum class, it is used. Otherwise, names of constants are looked up, and other values are left
+     * to the FieldValueTransformer, which fails if it finds no transformer.
+     *
+     * @param value                 the value to convert
+     * @param fieldValueTransformer the transformer for other values
+     * @return the constant
+     */
+    public E convert(Object value, FieldValueTransformer fieldValueTransformer) {
+        if (enumClass.isInstance(value)) {
+            return enumClass.cast(value);
+        }
+        if (!fieldValueTransformer.hasApplicableTransformer(value.getClass(), enumClass)) {
+            E constant = value instanceof String ? get((String) value) : null;
+            if (constant != null) {
+                return constant;
+            }
+        }
+        return enumClass.cast(fieldValueTransformer.performNecessaryTransformations(value, enumClass));
+    }
+}
@@ -0,0 +1,25 @@
+package com.tngtech.configbuilder.annotation.typetransformer;
+
+import java.lang.reflect.ParameterizedType;
+import java.util.EnumMap;
+import java.util.Map;
+
+public class MapToEnumMapTransformer extends TypeTransformer<Map, EnumMap> {
+
+    @Override
+    public EnumMap transform(Map argument) {
+        EnumLookup<?> enumLookup = EnumLookup.forTypeArgument(targetType, 0);
+        EnumMap result = new EnumMap(enumLookup.getEnumClass());
+        for(Object entry : argument.entrySet()) {
+            Object key = enumLookup.convert(((Map.Entry) entry).getKey(), fieldValueTransformer);
+            Object value = ((Map.Entry) entry).getValue();
+            result.put(key, fieldValueTransformer.performNecessaryTransformations(value, ((ParameterizedType) targetType).getActualTypeArguments()[1]));
+        }
+        return result;
+    }
+
+    @Override
+    public boolean isMatching(Class<?> sourceClass, Class<?> targetClass) {
+        return super.isMatching(sourceClass, targetClass) && EnumLookup.forTypeArgument(targetType, 0) != null;
+    }
+}
@@ -0,0 +1,31 @@
+package com.tngtech.configbuilder.annotation.typetransformer;
+
+
+import com.google.common.collect.Maps;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class MapToLinkedHashMapTransformer extends TypeTransformer<Map, LinkedHashMap> {
+
+    @Override
+    public LinkedHashMap transform(Map argument) {
+        LinkedHashMap result = Maps.newLinkedHashMap();
+        Type valueType = getValueType();
+        for(Object entry : argument.entrySet()) {
+            Object key = ((Map.Entry) entry).getKey();
+            Object value = ((Map.Entry) entry).getValue();
+            result.put(key, fieldValueTransformer.performNecessaryTransformations(value, valueType));
+        }
+        return result;
+    }
+
+    /**
+     * @return the type argument of the values, or Object for a raw map, whose values are kept as they are
+     */
+    private Type getValueType() {
+        return targetType instanceof ParameterizedType ? ((ParameterizedType) targetType).getActualTypeArguments()[1] : Object.class;
+    }
+}
@@ -0,0 +1,182 @@
+package com.tngtech.configbuilder.annotation.typetransformer;
+
+import com.google.common.collect.ImmutableMap;
+
+import java.util.Map;
+
+/**
+ * Parses strings to primitive values, accepting the same input as the property editors of java.beans:
+ * integral values may be given in decimal, hexadecimal ({@code 0x}, {@code #}) or octal ({@code 0}) notation
+ * and booleans are case-insensitive {@code true} or {@code false}. Characters must be given as a single character.
+ */
+public enum PrimitiveParser {
+
+    BOOLEAN(boolean.class, Boolean.class) {
+        @Override
+        public Object parse(String text) {
+            return Boolean.valueOf(parseBoolean(text));
+        }
+    },
+    BYTE(byte.class, Byte.class) {
+        @Override
+        public Object parse(String text) {
+            return isPlainDecimal(text) ? Byte.valueOf(Byte.parseByte(text)) : Byte.decode(text);
+        }
+    },
+    SHORT(short.class, Short.class) {
+        @Override
+        public Object parse(String text) {
+            return isPlainDecimal(text) ? Short.valueOf(Short.parseShort(text)) : Short.decode(text);
+        }
+    },
+    CHARACTER(char.class, Character.class) {
+        @Override
+        public Object parse(String text) {
+            if (text.length() != 1) {
+                throw new IllegalArgumentException(text);
+            }
+            return text.charAt(0);
+        }
+    },
+    INTEGER(int.class, Integer.class) {
+        @Override
+        public Object parse(String text) {
+            return Integer.valueOf(parseInt(text));
+        }
+    },
+    LONG(long.class, Long.class) {
+        @Override
+        public Object parse(String text) {
+            return Long.valueOf(parseLong(text));
+        }
+    },
+    FLOAT(float.class, Float.class) {
+        @Override
+        public Object parse(String text) {
+            return Float.valueOf(text);
+        }
+    },
+    DOUBLE(double.class, Double.class) {
+        @Override
+        public Object parse(String text) {
+            return Double.valueOf(parseDouble(text));
+        }
+    };
+
+    private static final Map<Class<?>, PrimitiveParser> parsers;
+
+    static {
+        ImmutableMap.Builder<Class<?>, PrimitiveParser> builder = ImmutableMap.builder();
+        for (PrimitiveParser parser : values()) {
+            builder.put(parser.primitiveClass, parser);
+            builder.put(parser.wrapperClass, parser);
+        }
+        parsers = builder.build();
+    }
+
+    private final Class<?> primitiveClass;
+    private final Class<?> wrapperClass;
+
+    PrimitiveParser(Class<?> primitiveClass, Class<?> wrapperClass) {
+        this.primitiveClass = primitiveClass;
+        this.wrapperClass = wrapperClass;
+    }
+
+    /**
+     * @param text the trimmed text to parse
+     * @return the parsed value as an instance of the wrapper class
+     * @throws IllegalArgumentException if the text cannot be parsed
+     */
+    public abstract Object parse(String text);
+
+    public Class<?> getPrimitiveClass() {
+        return primitiveClass;
+    }
+
+    public Class<?> getWrapperClass() {
+        return wrapperClass;
+    }
+
+    /**
+     * @param targetClass a primitive or wrapper class
+     * @return the parser for the class, or null if the class is neither a primitive nor a wrapper class
+     */
+    public static PrimitiveParser forClass(Class<?> targetClass) {
+        return parsers.get(targetClass);
+    }
+
+    /**
+     * The following methods parse the text like {@link #parse(String)}, but return the primitive value without boxing it.
+     *
+     * @throws IllegalArgumentException if the text cannot be parsed
+     */
+    public static boolean parseBoolean(String text) {
+        if ("true".equalsIgnoreCase(text)) {
+            return true;
+        }
+        if ("false".equalsIgnoreCase(text)) {
+            return false;
+        }
+        throw new IllegalArgumentException(text);
+    }
+
+    public static int parseInt(String text) {
+        if (isPlainDecimal(text)) {
+            return Integer.parseInt(text);
+        }
+        int radix = getRadix(text);
+        return Integer.parseInt(getSignedDigits(text, radix), radix);
+    }
+
+    public static long parseLong(String text) {
+        if (isPlainDecimal(text)) {
+            return Long.parseLong(text);
+        }
+        int radix = getRadix(text);
+        return Long.parseLong(getSignedDigits(text, radix), radix);
+    }
+
+    public static double parseDouble(String text) {
+        return Double.parseDouble(text);
+    }
+
+    private static int getSignIndex(String text) {
+        return !text.isEmpty() && (text.charAt(0) == '-' || text.charAt(0) == '+') ? 1 : 0;
+    }
+
+    /**
+     * Determines the radix like {@link Long#decode(String)}, i.e. from a {@code 0x}, {@code 0X} or {@code #} prefix for 16 and a leading {@code 0} for 8.
+     */
+    private static int getRadix(String text) {
+        int index = getSignIndex(text);
+        if (text.startsWith("0x", index) || text.startsWith("0X", index) || text.startsWith("#", index)) {
+            return 16;
+        }
+        return text.startsWith("0", index) && text.length() > index + 1 ? 8 : 10;
+    }
+
+    /**
+     * @return the digits after the radix prefix, preceded by a minus sign if the text is negative
+     */
+    private static String getSignedDigits(String text, int radix) {
+        int index = getSignIndex(text);
+        int prefixLength = radix == 16 ? (text.startsWith("#", index) ? 1 : 2) : (radix == 8 ? 1 : 0);
+        String digits = text.substring(index + prefixLength);
+        if (digits.startsWith("-") || digits.startsWith("+")) {
+            throw new NumberFormatException("Sign character in wrong position: " + text);
+        }
+        return index == 1 && text.charAt(0) == '-' ? "-" + digits : digits;
+    }
+
+    /**
+     * Checks whether the text can be parsed directly in radix 10, i.e. it has no hexadecimal or octal prefix.
+     */
+    private static boolean isPlainDecimal(String text) {
+        int index = text.length() > 1 && (text.charAt(0) == '-' || text.charAt(0) == '+') ? 1 : 0;
+        if (index >= text.length()) {
+            return false;
+        }
+        char first = text.charAt(index);
+        return (first >= '1' && first <= '9') || (first == '0' && text.length() == index + 1);
+    }
+}
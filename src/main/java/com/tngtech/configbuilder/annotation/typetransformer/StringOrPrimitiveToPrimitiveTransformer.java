@@ -2,17 +2,17 @@ package com.tngtech.configbuilder.annotation.typetransformer;
 
 import com.tngtech.configbuilder.exception.PrimitiveParsingException;
 
-import java.beans.PropertyEditor;
-import java.beans.PropertyEditorManager;
-
 public class StringOrPrimitiveToPrimitiveTransformer extends TypeTransformer<Object, Object> {
 
     @Override
     public Object transform(Object argument) {
-        PropertyEditor editor = PropertyEditorManager.findEditor(genericsAndCastingHelper.castTypeToClass(targetType));
+        PrimitiveParser parser = PrimitiveParser.forClass(genericsAndCastingHelper.castTypeToClass(targetType));
+        String text = String.valueOf(argument).trim();
         try {
-            editor.setAsText(String.valueOf(argument).trim());
-            return editor.getValue();
+            if (parser == null) {
+                throw new IllegalArgumentException(text);
+            }
+            return parser.parse(text);
         } catch (IllegalArgumentException e) {
             throw new PrimitiveParsingException(errorMessageSetup.getErrorMessage(PrimitiveParsingException.class, String.valueOf(argument), targetType.toString()));
         }
@@ -0,0 +1,178 @@
+package com.tngtech.configbuilder.annotation.typetransformer;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Sets;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.regex.Pattern;
+
+/**
+ * Splits Strings at a separator, configured by the {@link com.tngtech.configbuilder.annotation.configuration.Separator} annotation of a field.<p>
+ *
+ * By default, the separator is matched literally. The parts are counted before they are collected, so the result is allocated
+ * with its final size and no intermediate array is created. Like {@link String#split(String)}, trailing empty parts are removed,
+ * and a String which does not contain the separator is a single part. If the parts are trimmed, parts which are empty after trimming
+ * count as empty. If the separator is a regular expression, the String is split by {@link Pattern#split(CharSequence)}.
+ */
+public final class StringSplitter {
+
+    private final String separator;
+    private final Pattern pattern;
+    private final boolean regex;
+    private final boolean trim;
+
+    /**
+     * @param separator the separator
+     * @param regex     whether the separator is a regular expression
+     * @param trim      whether leading and trailing whitespace is removed from the parts
+     */
+    public StringSplitter(String separator, boolean regex, boolean trim) {
+        this.separator = separator;
+        this.regex = regex;
+        this.trim = trim;
+        this.pattern = regex || separator.isEmpty() ? Pattern.compile(separator) : null;
+    }
+
+    /**
+     * @param additionalOptions the options a transformer was initialized with, i.e. the separator, optionally followed by a StringSplitter
+     * @return the StringSplitter given by the options, or one which matches the separator literally
+     */
+    public static StringSplitter fromOptions(Object[] additionalOptions) {
+        if (additionalOptions.length > 1 && additionalOptions[1] instanceof StringSplitter) {
+            return (StringSplitter) additionalOptions[1];
+        }
+        return new StringSplitter((String) additionalOptions[0], false, false);
+    }
+
+    public ArrayList<String> splitToList(String value) {
+        return split(value, new Parts<ArrayList<String>>() {
+            @Override
+            ArrayList<String> create(int count) {
+                return new ArrayList<String>(count);
+            }
+
+            @Override
+            void add(ArrayList<String> result, String part) {
+                result.add(part);
+            }
+        });
+    }
+
+    public HashSet<String> splitToSet(String value) {
+        return split(value, new Parts<HashSet<String>>() {
+            @Override
+            HashSet<String> create(int count) {
+                return Sets.newHashSetWithExpectedSize(count);
+            }
+
+            @Override
+            void add(HashSet<String> result, String part) {
+                result.add(part);
+            }
+        });
+    }
+
+    public ImmutableList<String> splitToImmutableList(String value) {
+        return split(value, new Parts<ImmutableList.Builder<String>>() {
+            @Override
+            ImmutableList.Builder<String> create(int count) {
+                return ImmutableList.builderWithExpectedSize(count);
+            }
+
+            @Override
+            void add(ImmutableList.Builder<String> result, String part) {
+                result.add(part);
+            }
+        }).build();
+    }
+
+    <R> R split(String value, Parts<R> parts) {
+        if (pattern != null) {
+            String[] array = pattern.split(value);
+            R result = parts.create(array.length);
+            for (String part : array) {
+                parts.add(result, trim ? part.trim() : part);
+            }
+            return result;
+        }
+        int remainingParts = countParts(value);
+        R result = parts.create(remainingParts);
+        int start = 0;
+        while (remainingParts > 0) {
+            int end = value.indexOf(separator, start);
+            int partEnd = end < 0 ? value.length() : end;
+            parts.add(result, substring(value, start, partEnd));
+            remainingParts--;
+            start = partEnd + separator.length();
+        }
+        return result;
+    }
+
+    private int countParts(String value) {
+        int count = 0;
+        int trailingEmptyParts = 0;
+        int start = 0;
+        while (true) {
+            int end = value.indexOf(separator, start);
+            int partEnd = end < 0 ? value.length() : end;
+            count++;
+            trailingEmptyParts = isEmpty(value, start, partEnd) ? trailingEmptyParts + 1 : 0;
+            if (end < 0) {
+                break;
+            }
+            start = end + separator.length();
+        }
+        return count == 1 ? 1 : count - trailingEmptyParts;
+    }
+
+    private String substring(String value, int start, int end) {
+        if (trim) {
+            while (start < end && value.charAt(start) <= ' ') {
+                start++;
+            }
+            while (end > start && value.charAt(end - 1) <= ' ') {
+                end--;
+            }
+        }
+        return value.substring(start, end);
+    }
+
+    private boolean isEmpty(String value, int start, int end) {
+        if (!trim) {
+            return start == end;
+        }
+        for (int i = start; i < end; i++) {
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof StringSplitter)) {
+            return false;
+        }
+        StringSplitter other = (StringSplitter) o;
+        return separator.equals(other.separator) && regex == other.regex && trim == other.trim;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * separator.hashCode() + (regex ? 1 : 0)) + (trim ? 1 : 0);
+    }
+
+    /**
+     * Creates the result for the number of parts and adds the parts to it.
+     */
+    abstract static class Parts<R> {
+        abstract R create(int count);
+
+        abstract void add(R result, String part);
+    }
+}
@@ -10,6 +10,10 @@ public class StringToEnumTypeTransformer<E extends Enum<E>> extends TypeTransfor
 
     @Override
     public E transform(final String value) {
-        return E.valueOf(enumClass, value.trim().replace(' ', '_').toUpperCase());
+        E constant = EnumLookup.forClass(enumClass).get(value);
+        if (constant == null) {
+            throw new IllegalArgumentException("No enum constant " + enumClass.getCanonicalName() + "." + value);
+        }
+        return constant;
     }
 }
@@ -19,6 +19,14 @@ import java.util.Map;
  */
 public abstract class TypeTransformer<SourceClass, TargetClass> {
 
+    private static final ClassValue<Class<?>[]> transformerClasses = new ClassValue<Class<?>[]>() {
+        @Override
+        protected Class<?>[] computeValue(Class<?> transformerClass) {
+            Type[] typeArguments = determineTypeArguments(transformerClass);
+            return new Class<?>[]{toClass(typeArguments[0]), toClass(typeArguments[1])};
+        }
+    };
+
     protected Type targetType;
     protected FieldValueTransformer fieldValueTransformer;
     protected GenericsAndCastingHelper genericsAndCastingHelper;
@@ -40,17 +48,48 @@ public abstract class TypeTransformer<SourceClass, TargetClass> {
     }
 
     protected Class<?> getTransformerSourceClass() {
-        Type[] genericTypes = determineTypeArguments();
-        return genericsAndCastingHelper.castTypeToClass(genericTypes[0]);
+        return getSourceClass(getClass());
     }
 
     protected Class<?> getTransformerTargetClass() {
-        Type[] genericTypes = determineTypeArguments();
-        return genericsAndCastingHelper.castTypeToClass(genericTypes[1]);
+        return getTargetClass(getClass());
+    }
+
+    /**
+     * Gets the source class of a transformer class, which is resolved from its type arguments only once per transformer class.
+     *
+     * @param transformerClass the transformer class
+     * @return the raw class of the SourceClass type argument
+     */
+    public static Class<?> getSourceClass(Class<? extends TypeTransformer> transformerClass) {
+        return transformerClasses.get(transformerClass)[0];
+    }
+
+    /**
+     * Gets the target class of a transformer class, which is resolved from its type arguments only once per transformer class.
+     *
+     * @param transformerClass the transformer class
+     * @return the raw class of the TargetClass type argument
+     */
+    public static Class<?> getTargetClass(Class<? extends TypeTransformer> transformerClass) {
+        return transformerClasses.get(transformerClass)[1];
+    }
+
+    private static Class<?> toClass(Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        }
+        if (type instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        }
+        if (type instanceof TypeVariable) {
+            return toClass(((TypeVariable) type).getBounds()[0]);
+        }
+        return Object.class;
     }
 
-    private Type[] determineTypeArguments() {
-        Class<?> clazz = getClass();
+    private static Type[] determineTypeArguments(Class<?> transformerClass) {
+        Class<?> clazz = transformerClass;
         Type[] typeArguments = new Type[]{};
 
         while (!clazz.equals(TypeTransformer.class)) {
@@ -67,15 +106,15 @@ public abstract class TypeTransformer<SourceClass, TargetClass> {
         return typeArguments;
     }
 
-    private Map<TypeVariable, Type> buildTypeNameMap(Type[] typeArguments, TypeVariable[] typeParameters) {
+    private static Map<TypeVariable, Type> buildTypeNameMap(Type[] typeArguments, TypeVariable[] typeParameters) {
         Map<TypeVariable, Type> typeVariableMap = new HashMap<TypeVariable, Type>();
-        for (int i = 0; i < typeParameters.length; i++) {
+        for (int i = 0; i < typeParameters.length && i < typeArguments.length; i++) {
             typeVariableMap.put(typeParameters[i], typeArguments[i]);
         }
         return typeVariableMap;
     }
 
-    private void replaceKnownTypes(Type[] typeArguments, Map<TypeVariable, Type> typeVariableMap) {
+    private static void replaceKnownTypes(Type[] typeArguments, Map<TypeVariable, Type> typeVariableMap) {
         for (int i = 0; i < typeArguments.length; i++) {
             if (typeArguments[i] instanceof TypeVariable) {
                 TypeVariable typeVariable = (TypeVariable) typeArguments[i];
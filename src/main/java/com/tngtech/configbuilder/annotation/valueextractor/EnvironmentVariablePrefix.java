@@ -0,0 +1,20 @@
+package com.tngtech.configbuilder.annotation.valueextractor;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation is used to bind all environment variables whose names start with a prefix.<br>
+ * On a <code>Map&lt;String, String&gt;</code> field, the map contains every such variable, keyed by its name without the prefix.
+ * If no variable starts with the prefix, the field is not set by this annotation.
+ * On a config class, the prefix is prepended to the names of all {@link EnvironmentVariableValue} annotations of the class.<br>
+ * <b>Usage:</b> <code>@EnvironmentVariablePrefix("APP_")</code>
+ */
+@ValueExtractorAnnotation(EnvironmentVariablePrefixProcessor.class)
+@Target({ElementType.TYPE, ElementType.FIELD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface EnvironmentVariablePrefix {
+    String value();
+}
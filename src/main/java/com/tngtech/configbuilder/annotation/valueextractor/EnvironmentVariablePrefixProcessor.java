@@ -0,0 +1,20 @@
+package com.tngtech.configbuilder.annotation.valueextractor;
+
+import com.tngtech.configbuilder.configuration.BuilderConfiguration;
+import com.tngtech.configbuilder.util.ConfigBuilderFactory;
+
+import java.lang.annotation.Annotation;
+import java.util.Map;
+
+/**
+ * Processes EnvironmentVariablePrefix annotations, implements ValueExtractorProcessor. Returns null if no environment variable
+ * starts with the prefix, so the next annotation, e.g. a DefaultValue, is tried.
+ */
+public class EnvironmentVariablePrefixProcessor implements ValueExtractorProcessor {
+
+    public Object getValue(Annotation annotation, ConfigBuilderFactory configBuilderFactory) {
+        BuilderConfiguration builderConfiguration = configBuilderFactory.getInstance(BuilderConfiguration.class);
+        Map<String, String> environmentVariables = builderConfiguration.getSystemSnapshot().getEnvironmentVariablesWithPrefix(((EnvironmentVariablePrefix) annotation).value());
+        return environmentVariables.isEmpty() ? null : environmentVariables;
+    }
+}
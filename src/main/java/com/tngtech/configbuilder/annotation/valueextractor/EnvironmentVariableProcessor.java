@@ -1,5 +1,6 @@
 package com.tngtech.configbuilder.annotation.valueextractor;
 
+import com.tngtech.configbuilder.configuration.BuilderConfiguration;
 import com.tngtech.configbuilder.util.ConfigBuilderFactory;
 
 import java.lang.annotation.Annotation;
@@ -9,6 +10,8 @@ import java.lang.annotation.Annotation;
  */
 public class EnvironmentVariableProcessor implements ValueExtractorProcessor {
     public String getValue(Annotation annotation, ConfigBuilderFactory configBuilderFactory) {
-        return System.getenv(((EnvironmentVariableValue) annotation).value());
+        BuilderConfiguration builderConfiguration = configBuilderFactory.getInstance(BuilderConfiguration.class);
+        String name = builderConfiguration.getEnvironmentVariablePrefix() + ((EnvironmentVariableValue) annotation).value();
+        return builderConfiguration.getSystemSnapshot().getEnvironmentVariable(name);
     }
 }
@@ -0,0 +1,19 @@
+package com.tngtech.configbuilder.annotation.valueextractor;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation is used to bind all properties whose names start with a prefix to a <code>Map&lt;String, V&gt;</code> field.
+ * The map is sorted and contains every such property, keyed by its name without the prefix. The values are transformed to the value type of the map.
+ * If no property starts with the prefix, the field is not set by this annotation.<br>
+ * <b>Usage:</b> <code>@PropertyMap("db.pool.")</code>
+ */
+@ValueExtractorAnnotation(PropertyMapProcessor.class)
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PropertyMap {
+    String value();
+}
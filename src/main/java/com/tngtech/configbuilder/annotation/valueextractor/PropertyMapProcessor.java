@@ -0,0 +1,20 @@
+package com.tngtech.configbuilder.annotation.valueextractor;
+
+import com.tngtech.configbuilder.configuration.BuilderConfiguration;
+import com.tngtech.configbuilder.util.ConfigBuilderFactory;
+
+import java.lang.annotation.Annotation;
+import java.util.Map;
+
+/**
+ * Processes PropertyMap annotations, implements ValueExtractorProcessor. Returns null if no property starts with the prefix,
+ * so the next annotation, e.g. a DefaultValue, is tried.
+ */
+public class PropertyMapProcessor implements ValueExtractorProcessor {
+
+    public Object getValue(Annotation annotation, ConfigBuilderFactory configBuilderFactory) {
+        BuilderConfiguration builderConfiguration = configBuilderFactory.getInstance(BuilderConfiguration.class);
+        Map<String, String> properties = builderConfiguration.getPropertyLookup().getWithPrefix(((PropertyMap) annotation).value());
+        return properties.isEmpty() ? null : properties;
+    }
+}
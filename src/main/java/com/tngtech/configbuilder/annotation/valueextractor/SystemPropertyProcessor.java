@@ -1,5 +1,6 @@
 package com.tngtech.configbuilder.annotation.valueextractor;
 
+import com.tngtech.configbuilder.configuration.BuilderConfiguration;
 import com.tngtech.configbuilder.util.ConfigBuilderFactory;
 
 import java.lang.annotation.Annotation;
@@ -9,6 +10,7 @@ import java.lang.annotation.Annotation;
  */
 public class SystemPropertyProcessor implements ValueExtractorProcessor {
     public String getValue(Annotation annotation, ConfigBuilderFactory configBuilderFactory) {
-        return System.getProperty(((SystemPropertyValue) annotation).value());
+        BuilderConfiguration builderConfiguration = configBuilderFactory.getInstance(BuilderConfiguration.class);
+        return builderConfiguration.getSystemSnapshot().getSystemProperty(((SystemPropertyValue) annotation).value());
     }
 }
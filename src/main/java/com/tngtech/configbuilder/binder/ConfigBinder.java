@@ -0,0 +1,17 @@
+package com.tngtech.configbuilder.binder;
+
+/**
+ * Creates the {@link FieldBinder}s which set the fields of a config class without reflection. Binders are generated at compile time
+ * by the {@link ConfigBinderProcessor} as {@code <ConfigClass>Binder} in the package of the config class and are picked up
+ * by the ConfigBuilder automatically. Fields the binder cannot access, e.g. private or inherited fields, are still set by reflection.
+ *
+ * @param <T> the config class
+ */
+public interface ConfigBinder<T> {
+
+    /**
+     * @param fieldName the name of a field declared by the config class
+     * @return the binder of the field, or null if the binder does not handle the field
+     */
+    FieldBinder<T> getFieldBinder(String fieldName);
+}
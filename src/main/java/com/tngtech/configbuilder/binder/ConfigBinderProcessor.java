@@ -0,0 +1,189 @@
+package com.tngtech.configbuilder.binder;
+
+import com.tngtech.configbuilder.annotation.valueextractor.ValueExtractorAnnotation;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates a {@link ConfigBinder} for every class which declares fields annotated with a {@link ValueExtractorAnnotation} annotation.
+ * The binder creates a {@link FieldBinder} for every non-private, non-static, non-final field of the class, which sets the field
+ * by direct assignment.<p>
+ *
+ * The processor is not registered as a service, enable it by passing
+ * {@code -processor com.tngtech.configbuilder.binder.ConfigBinderProcessor} to javac or by adding it to the annotation processors of your build.
+ */
+public class ConfigBinderProcessor extends AbstractProcessor {
+
+    public static final String BINDER_SUFFIX = "Binder";
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton("*");
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement typeElement : ElementFilter.typesIn(roundEnv.getRootElements())) {
+            processType(typeElement);
+        }
+        return false;
+    }
+
+    private void processType(TypeElement typeElement) {
+        for (TypeElement memberType : ElementFilter.typesIn(typeElement.getEnclosedElements())) {
+            if (!memberType.getModifiers().contains(Modifier.PRIVATE)) {
+                processType(memberType);
+            }
+        }
+        if (typeElement.getKind() != ElementKind.CLASS || typeElement.getModifiers().contains(Modifier.PRIVATE)) {
+            return;
+        }
+
+        List<VariableElement> configFields = new ArrayList<VariableElement>();
+        for (VariableElement field : ElementFilter.fieldsIn(typeElement.getEnclosedElements())) {
+            if (hasValueExtractorAnnotation(field)) {
+                configFields.add(field);
+            }
+        }
+        if (configFields.isEmpty()) {
+            return;
+        }
+
+        Map<String, String> castTypes = new LinkedHashMap<String, String>();
+        for (VariableElement field : configFields) {
+            String castType = getCastType(field);
+            if (castType != null) {
+                castTypes.put(field.getSimpleName().toString(), castType);
+            }
+        }
+        writeBinder(typeElement, castTypes);
+    }
+
+    private boolean hasValueExtractorAnnotation(VariableElement field) {
+        for (AnnotationMirror annotationMirror : field.getAnnotationMirrors()) {
+            if (annotationMirror.getAnnotationType().asElement().getAnnotation(ValueExtractorAnnotation.class) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String getCastType(VariableElement field) {
+        Set<Modifier> modifiers = field.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.FINAL)) {
+            return null;
+        }
+        TypeMirror type = field.asType();
+        if (type.getKind().isPrimitive()) {
+            return processingEnv.getTypeUtils().boxedClass((PrimitiveType) type).getQualifiedName().toString();
+        }
+        TypeMirror erasedType = processingEnv.getTypeUtils().erasure(type);
+        if (!isVisibleFrom(erasedType, processingEnv.getElementUtils().getPackageOf(field))) {
+            return null;
+        }
+        return erasedType.toString();
+    }
+
+    /**
+     * @return true if the type can be named in a cast by a class in the given package, i.e. neither the type, the component type
+     * of an array nor any enclosing type is private, and types which are not public are declared in the package
+     */
+    private boolean isVisibleFrom(TypeMirror type, PackageElement packageElement) {
+        while (type.getKind() == TypeKind.ARRAY) {
+            type = ((ArrayType) type).getComponentType();
+        }
+        if (type.getKind().isPrimitive()) {
+            return true;
+        }
+        if (type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        for (Element element = ((DeclaredType) type).asElement(); element instanceof TypeElement; element = element.getEnclosingElement()) {
+            Set<Modifier> modifiers = element.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE)) {
+                return false;
+            }
+            if (!modifiers.contains(Modifier.PUBLIC) && !processingEnv.getElementUtils().getPackageOf(element).equals(packageElement)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void writeBinder(TypeElement typeElement, Map<String, String> castTypes) {
+        PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(typeElement);
+        String packageName = packageElement.getQualifiedName().toString();
+        String binaryName = processingEnv.getElementUtils().getBinaryName(typeElement).toString();
+        String binderName = (packageElement.isUnnamed() ? binaryName : binaryName.substring(packageName.length() + 1)) + BINDER_SUFFIX;
+        String configClassName = processingEnv.getTypeUtils().erasure(typeElement.asType()).toString();
+
+        StringBuilder source = new StringBuilder();
+        if (!packageElement.isUnnamed()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("/**\n * Generated by ").append(ConfigBinderProcessor.class.getName()).append(", do not edit.\n */\n");
+        source.append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+        String fieldBinderType = FieldBinder.class.getName() + "<" + configClassName + ">";
+        source.append("public final class ").append(binderName).append(" implements ").append(ConfigBinder.class.getName()).append("<").append(configClassName).append("> {\n\n");
+        source.append("    @Override\n");
+        source.append("    public ").append(fieldBinderType).append(" getFieldBinder(String fieldName) {\n");
+        source.append("        switch (fieldName) {\n");
+        for (Map.Entry<String, String> entry : castTypes.entrySet()) {
+            source.append("            case \"").append(entry.getKey()).append("\":\n");
+            source.append("                return new ").append(fieldBinderType).append("() {\n");
+            source.append("                    @Override\n");
+            source.append("                    public void set(").append(configClassName).append(" instance, Object value) {\n");
+            source.append("                        instance.").append(entry.getKey()).append(" = (").append(entry.getValue()).append(") value;\n");
+            source.append("                    }\n");
+            source.append("                };\n");
+        }
+        source.append("            default:\n");
+        source.append("                return null;\n");
+        source.append("        }\n");
+        source.append("    }\n");
+        source.append("}\n");
+
+        String qualifiedBinderName = packageElement.isUnnamed() ? binderName : packageName + "." + binderName;
+        try {
+            JavaFileObject sourceFile = processingEnv.getFiler().createSourceFile(qualifiedBinderName, typeElement);
+            Writer writer = sourceFile.openWriter();
+            try {
+                writer.write(source.toString());
+            } finally {
+                writer.close();
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "could not generate " + qualifiedBinderName + ": " + e.getMessage(), typeElement);
+        }
+    }
+}
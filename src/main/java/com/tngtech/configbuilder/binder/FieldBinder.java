@@ -0,0 +1,17 @@
+package com.tngtech.configbuilder.binder;
+
+/**
+ * Sets one field of a config class by direct assignment. Field binders are created by a {@link ConfigBinder}
+ * when the class is planned, so setting a field neither looks up the field by its name nor uses reflection.
+ *
+ * @param <T> the config class
+ */
+public interface FieldBinder<T> {
+
+    /**
+     * @param instance the instance of the config class
+     * @param value    the transformed value, primitive values are passed as instances of their wrapper class
+     * @throws ClassCastException if the value cannot be assigned to the field
+     */
+    void set(T instance, Object value);
+}
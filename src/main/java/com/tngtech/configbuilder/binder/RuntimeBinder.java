@@ -0,0 +1,115 @@
+package com.tngtech.configbuilder.binder;
+
+import com.google.common.collect.ImmutableMap;
+import com.tngtech.configbuilder.annotation.typetransformer.PrimitiveParser;
+import com.tngtech.configbuilder.util.ConfigPlan;
+import com.tngtech.configbuilder.util.FieldPlan;
+import com.tngtech.configbuilder.util.FieldValueTransformer;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Map;
+
+/**
+ * Parses and sets the fields of a config class through method handles which are composed once per config class.
+ * For every field of type String, int, long, double or boolean, or one of the wrapper classes, which uses only the default transformers,
+ * the handle trims the String value, parses it with {@link PrimitiveParser} and stores the result through the {@link FieldBinder} generated
+ * for the field, or through the setter of the field if there is none, so no transformer is resolved or called. Only values stored
+ * through a setter are not boxed.<p>
+ *
+ * Runtime binders are used by the ConfigBuilder only if they are enabled by {@link com.tngtech.configbuilder.ConfigBuilder#withRuntimeBinders(int)}.
+ */
+public final class RuntimeBinder {
+
+    private static final MethodHandle TRIM;
+    private static final MethodHandle FIELD_BINDER_SET;
+    private static final Map<Class<?>, MethodHandle> parsers;
+
+    static {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            TRIM = lookup.findVirtual(String.class, "trim", MethodType.methodType(String.class));
+            FIELD_BINDER_SET = lookup.findVirtual(FieldBinder.class, "set", MethodType.methodType(void.class, Object.class, Object.class));
+            parsers = ImmutableMap.<Class<?>, MethodHandle>of(
+                    int.class, lookup.findStatic(PrimitiveParser.class, "parseInt", MethodType.methodType(int.class, String.class)),
+                    long.class, lookup.findStatic(PrimitiveParser.class, "parseLong", MethodType.methodType(long.class, String.class)),
+                    double.class, lookup.findStatic(PrimitiveParser.class, "parseDouble", MethodType.methodType(double.class, String.class)),
+                    boolean.class, lookup.findStatic(PrimitiveParser.class, "parseBoolean", MethodType.methodType(boolean.class, String.class)));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Map<FieldPlan, MethodHandle> binders;
+
+    private RuntimeBinder(Map<FieldPlan, MethodHandle> binders) {
+        this.binders = binders;
+    }
+
+    /**
+     * @param configPlan the plan of the config class
+     * @return the binder for the fields of the config class which can be bound
+     */
+    public static RuntimeBinder of(ConfigPlan configPlan) {
+        ImmutableMap.Builder<FieldPlan, MethodHandle> builder = ImmutableMap.builder();
+        for (FieldPlan fieldPlan : configPlan.getFieldPlans()) {
+            MethodHandle binder = createBinder(fieldPlan, configPlan.getFieldBinder(fieldPlan));
+            if (binder != null) {
+                builder.put(fieldPlan, binder);
+            }
+        }
+        return new RuntimeBinder(builder.build());
+    }
+
+    /**
+     * @return a method handle of type {@code (Object, String)void}, or null if the field cannot be bound
+     */
+    private static MethodHandle createBinder(FieldPlan fieldPlan, FieldBinder<Object> fieldBinder) {
+        Class<?> fieldType = fieldPlan.getField().getType();
+        MethodHandle setter = fieldBinder == null ? fieldPlan.getWriter().getSetter()
+                : FIELD_BINDER_SET.bindTo(fieldBinder).asType(MethodType.methodType(void.class, Object.class, fieldType));
+        if (setter == null || !fieldPlan.getTransformerClasses().equals(FieldValueTransformer.getDefaultTransformers())) {
+            return null;
+        }
+        if (fieldType == String.class) {
+            return setter;
+        }
+        PrimitiveParser primitiveParser = PrimitiveParser.forClass(fieldType);
+        MethodHandle parser = primitiveParser == null ? null : parsers.get(primitiveParser.getPrimitiveClass());
+        if (parser == null) {
+            return null;
+        }
+        MethodHandle trimmingParser = MethodHandles.filterArguments(parser, 0, TRIM).asType(MethodType.methodType(fieldType, String.class));
+        return MethodHandles.filterArguments(setter, 1, trimmingParser);
+    }
+
+    /**
+     * Parses and sets the field if it is bound and the value is a String which can be parsed.
+     *
+     * @param instance  the instance of the config class
+     * @param fieldPlan the plan of the field
+     * @param value     the value extracted for the field
+     * @return true if the field was set, false if the field must be transformed and set as usual
+     */
+    public boolean bind(Object instance, FieldPlan fieldPlan, Object value) {
+        MethodHandle binder = binders.get(fieldPlan);
+        if (binder == null || !(value instanceof String)) {
+            return false;
+        }
+        try {
+            binder.invokeExact(instance, (String) value);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    public boolean isBound(FieldPlan fieldPlan) {
+        return binders.containsKey(fieldPlan);
+    }
+}
@@ -7,15 +7,19 @@ import java.lang.annotation.Annotation;
 import java.util.Properties;
 
 /**
- * Stores the configuration for the ConfigBuilder, i.e. the CommandLine, the Properties and the global annotation processing order.
+ * Stores the configuration for the ConfigBuilder, i.e. the CommandLine, the Properties, the snapshot of environment variables and system properties
+ * and the global annotation processing order.
  */
 public class BuilderConfiguration {
 
     private Properties properties;
     private CommandLine commandLine;
     private Object importedConfiguration;
-    private Class<? extends Annotation>[] annotationOrder = new Class[]{CommandLineValue.class, PropertyValue.class, EnvironmentVariableValue.class, SystemPropertyValue.class, ImportedValue.class, DefaultValue.class};
+    private Class<? extends Annotation>[] annotationOrder = getDefaultAnnotationOrder();
     private String[] propertyNamePrefixes = new String[]{""};
+    private PropertyLookup propertyLookup;
+    private SystemSnapshot systemSnapshot;
+    private String environmentVariablePrefix = "";
 
     public BuilderConfiguration() {
         properties = new Properties();
@@ -37,6 +41,24 @@ public class BuilderConfiguration {
 
     public void setProperties(Properties properties) {
         this.properties = properties;
+        this.propertyLookup = null;
+    }
+
+    /**
+     * @return the properties indexed by their names without prefix, created on first use if none was set
+     */
+    public PropertyLookup getPropertyLookup() {
+        if (propertyLookup == null) {
+            propertyLookup = PropertyLookup.of(properties, propertyNamePrefixes);
+        }
+        return propertyLookup;
+    }
+
+    /**
+     * @param propertyLookup the lookup of the properties and property name prefixes of the build
+     */
+    public void setPropertyLookup(PropertyLookup propertyLookup) {
+        this.propertyLookup = propertyLookup;
     }
 
     public void setCommandLine(CommandLine commandLine) {
@@ -47,6 +69,28 @@ public class BuilderConfiguration {
         this.importedConfiguration = importedConfiguration;
     }
 
+    /**
+     * @return the environment variables and system properties of the build, taken on first use if none was set
+     */
+    public SystemSnapshot getSystemSnapshot() {
+        if (systemSnapshot == null) {
+            systemSnapshot = SystemSnapshot.take();
+        }
+        return systemSnapshot;
+    }
+
+    public void setSystemSnapshot(SystemSnapshot systemSnapshot) {
+        this.systemSnapshot = systemSnapshot;
+    }
+
+    public String getEnvironmentVariablePrefix() {
+        return environmentVariablePrefix;
+    }
+
+    public void setEnvironmentVariablePrefix(String environmentVariablePrefix) {
+        this.environmentVariablePrefix = environmentVariablePrefix;
+    }
+
     public void setAnnotationOrder(Class<? extends Annotation>[] annotationOrder) {
         this.annotationOrder = annotationOrder;
     }
@@ -57,9 +101,18 @@ public class BuilderConfiguration {
 
     public void setPropertyNamePrefixes(String[] propertyNamePrefixes) {
         this.propertyNamePrefixes = propertyNamePrefixes;
+        this.propertyLookup = null;
     }
 
     public String[] getPropertyNamePrefixes() {
         return propertyNamePrefixes;
     }
+
+    /**
+     * @return the annotation processing order which is used if neither the config class nor the field specifies a {@link com.tngtech.configbuilder.annotation.configuration.LoadingOrder}
+     */
+    @SuppressWarnings("unchecked")
+    public static Class<? extends Annotation>[] getDefaultAnnotationOrder() {
+        return new Class[]{CommandLineValue.class, PropertyValue.class, PropertyMap.class, EnvironmentVariableValue.class, EnvironmentVariablePrefix.class, SystemPropertyValue.class, ImportedValue.class, DefaultValue.class};
+    }
 }
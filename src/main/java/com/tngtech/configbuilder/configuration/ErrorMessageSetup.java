@@ -1,17 +1,33 @@
 package com.tngtech.configbuilder.configuration;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.tngtech.propertyloader.PropertyLoader;
 
+import java.util.Arrays;
 import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.MissingFormatArgumentException;
 import java.util.Properties;
 import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
- * Stores error messages for the ConfigBuilder in a Properties object.
+ * Stores error messages for the ConfigBuilder as precompiled message templates.<p>
+ *
+ * The default error messages are read once per locale and shared by all instances. The messages merged with an error message file
+ * are cached per locale and file name, so the file is only loaded again after {@link #clearCache()} was called.
  */
 public class ErrorMessageSetup {
 
-    private Properties errorMessages;
+    private static final ConcurrentMap<Locale, Map<String, MessageTemplate>> defaultErrorMessages = new ConcurrentHashMap<Locale, Map<String, MessageTemplate>>();
+
+    private final ConcurrentMap<List<Object>, Map<String, MessageTemplate>> mergedErrorMessages = new ConcurrentHashMap<List<Object>, Map<String, MessageTemplate>>();
+    private volatile Map<String, MessageTemplate> errorMessages;
 
     /**
      * loads the default error messages for the system locale, then merges them with additional error messages loaded with the PropertyLoader
@@ -20,14 +36,46 @@ public class ErrorMessageSetup {
      * @param propertyLoader the PropertyLoader used to load additional error messages
      */
     public void initialize(String baseName, PropertyLoader propertyLoader) {
-        ResourceBundle resourceBundle = ResourceBundle.getBundle("errors");
-        errorMessages = convertResourceBundleToProperties(resourceBundle);
-        if (baseName != null) {
-            errorMessages.putAll(propertyLoader.load(baseName));
+        Locale locale = Locale.getDefault();
+        List<Object> key = Arrays.<Object>asList(locale, baseName);
+        Map<String, MessageTemplate> messages = mergedErrorMessages.get(key);
+        if (messages == null) {
+            messages = mergeErrorMessages(getDefaultErrorMessages(locale), baseName, propertyLoader);
+            mergedErrorMessages.putIfAbsent(key, messages);
         }
+        errorMessages = messages;
     }
 
-    private Properties convertResourceBundleToProperties(ResourceBundle resource) {
+    /**
+     * Discards the cached error messages merged with error message files, e.g. because the configuration of the PropertyLoader changed.
+     */
+    public void clearCache() {
+        mergedErrorMessages.clear();
+    }
+
+    private static Map<String, MessageTemplate> getDefaultErrorMessages(Locale locale) {
+        Map<String, MessageTemplate> messages = defaultErrorMessages.get(locale);
+        if (messages == null) {
+            messages = compile(convertResourceBundleToProperties(ResourceBundle.getBundle("errors", locale)));
+            defaultErrorMessages.putIfAbsent(locale, messages);
+        }
+        return messages;
+    }
+
+    private static Map<String, MessageTemplate> mergeErrorMessages(Map<String, MessageTemplate> defaultMessages, String baseName, PropertyLoader propertyLoader) {
+        if (baseName == null) {
+            return defaultMessages;
+        }
+        Properties additionalMessages;
+        synchronized (propertyLoader) {
+            additionalMessages = propertyLoader.load(baseName);
+        }
+        Map<String, MessageTemplate> messages = new HashMap<String, MessageTemplate>(defaultMessages);
+        messages.putAll(compile(additionalMessages));
+        return ImmutableMap.copyOf(messages);
+    }
+
+    private static Properties convertResourceBundleToProperties(ResourceBundle resource) {
         Properties properties = new Properties();
 
         Enumeration<String> keys = resource.getKeys();
@@ -38,13 +86,76 @@ public class ErrorMessageSetup {
         return properties;
     }
 
+    private static Map<String, MessageTemplate> compile(Properties properties) {
+        ImmutableMap.Builder<String, MessageTemplate> builder = ImmutableMap.builder();
+        for (String key : properties.stringPropertyNames()) {
+            builder.put(key, MessageTemplate.compile(properties.getProperty(key)));
+        }
+        return builder.build();
+    }
+
     public String getErrorMessage(Throwable e, String... variables) {
-        String message = errorMessages.getProperty(e.getClass().getName());
-        return message == null ? String.format(errorMessages.getProperty("standardMessage"), e.getClass().getName()) : String.format(message, variables);
+        return getErrorMessage(e.getClass(), variables);
     }
 
     public String getErrorMessage(Class exceptionClass, String... variables) {
-        String message = errorMessages.getProperty(exceptionClass.getName());
-        return message == null ? String.format(errorMessages.getProperty("standardMessage"), exceptionClass.getName()) : String.format(message, variables);
+        Map<String, MessageTemplate> messages = errorMessages;
+        MessageTemplate message = messages.get(exceptionClass.getName());
+        return message == null ? messages.get("standardMessage").format(exceptionClass.getName()) : message.format((Object[]) variables);
+    }
+
+    /**
+     * A message split at its {@code %s} placeholders, so formatting it only concatenates strings. Messages with other format specifiers
+     * are formatted with {@link String#format(String, Object...)}.
+     */
+    static class MessageTemplate {
+
+        private final String template;
+        private final List<String> segments;
+
+        private MessageTemplate(String template, List<String> segments) {
+            this.template = template;
+            this.segments = segments;
+        }
+
+        static MessageTemplate compile(String template) {
+            ImmutableList.Builder<String> segments = ImmutableList.builder();
+            StringBuilder segment = new StringBuilder();
+            for (int i = 0; i < template.length(); i++) {
+                char c = template.charAt(i);
+                if (c != '%') {
+                    segment.append(c);
+                    continue;
+                }
+                char conversion = i + 1 < template.length() ? template.charAt(i + 1) : 0;
+                if (conversion == 's') {
+                    segments.add(segment.toString());
+                    segment.setLength(0);
+                } else if (conversion == '%') {
+                    segment.append('%');
+                } else if (conversion == 'n') {
+                    segment.append(System.lineSeparator());
+                } else {
+                    return new MessageTemplate(template, null);
+                }
+                i++;
+            }
+            segments.add(segment.toString());
+            return new MessageTemplate(template, segments.build());
+        }
+
+        String format(Object... variables) {
+            if (segments == null) {
+                return String.format(template, variables);
+            }
+            if (variables.length < segments.size() - 1) {
+                throw new MissingFormatArgumentException("%s");
+            }
+            StringBuilder message = new StringBuilder(segments.get(0));
+            for (int i = 1; i < segments.size(); i++) {
+                message.append(variables[i - 1]).append(segments.get(i));
+            }
+            return message.toString();
+        }
     }
 }
@@ -0,0 +1,111 @@
+package com.tngtech.configbuilder.configuration;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSortedMap;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Immutable view of the loaded properties, indexed by property names without their {@link com.tngtech.configbuilder.annotation.configuration.PropertyNamePrefix} prefix.
+ * A name maps to the value of the property with the first prefix for which the properties contain the prefixed name,
+ * so looking up a property value is a single hash lookup which does not lock the synchronized Properties.<p>
+ *
+ * For the properties under a common prefix, the names are also indexed in sorted order when they are first needed,
+ * so all of them are found by a range query instead of a scan of every property. The properties found for a prefix are kept,
+ * since a lookup is reused by all builds of the same loaded properties, see {@link com.tngtech.configbuilder.util.CachingPropertyLoader#getPropertyLookup}.
+ */
+public class PropertyLookup {
+
+    private final Map<String, String> values;
+    private volatile ImmutableSortedMap<String, String> sortedValues;
+    private final ConcurrentMap<String, SortedMap<String, String>> valuesByPrefix = new ConcurrentHashMap<String, SortedMap<String, String>>();
+
+    private PropertyLookup(Map<String, String> values) {
+        this.values = values;
+    }
+
+    /**
+     * @param properties           the loaded properties
+     * @param propertyNamePrefixes the prefixes in the order in which they are tried
+     * @return the lookup for the properties
+     */
+    public static PropertyLookup of(Properties properties, String[] propertyNamePrefixes) {
+        Map<String, String> values = new HashMap<String, String>();
+        Set<String> propertyNames = properties.stringPropertyNames();
+        for (String prefix : propertyNamePrefixes) {
+            for (String propertyName : propertyNames) {
+                if (propertyName.startsWith(prefix)) {
+                    String name = propertyName.substring(prefix.length());
+                    if (!values.containsKey(name)) {
+                        values.put(name, properties.getProperty(propertyName));
+                    }
+                }
+            }
+        }
+        return new PropertyLookup(ImmutableMap.copyOf(values));
+    }
+
+    /**
+     * @param name the property name without prefix
+     * @return the value of the property, or null if no prefixed property exists
+     */
+    public String get(String name) {
+        return values.get(name);
+    }
+
+    /**
+     * @param prefix the common prefix of the property names without {@link com.tngtech.configbuilder.annotation.configuration.PropertyNamePrefix} prefix
+     * @return the sorted properties whose names start with the prefix, keyed by their names without the prefix
+     */
+    public SortedMap<String, String> getWithPrefix(String prefix) {
+        SortedMap<String, String> result = valuesByPrefix.get(prefix);
+        if (result == null) {
+            result = createWithPrefix(prefix);
+            valuesByPrefix.putIfAbsent(prefix, result);
+        }
+        return result;
+    }
+
+    private SortedMap<String, String> createWithPrefix(String prefix) {
+        ImmutableSortedMap<String, String> range = getRange(getSortedValues(), prefix);
+        if (prefix.isEmpty()) {
+            return range;
+        }
+        ImmutableSortedMap.Builder<String, String> builder = ImmutableSortedMap.naturalOrder();
+        for (Map.Entry<String, String> entry : range.entrySet()) {
+            builder.put(entry.getKey().substring(prefix.length()), entry.getValue());
+        }
+        return builder.build();
+    }
+
+    private ImmutableSortedMap<String, String> getSortedValues() {
+        ImmutableSortedMap<String, String> result = sortedValues;
+        if (result == null) {
+            result = ImmutableSortedMap.copyOf(values);
+            sortedValues = result;
+        }
+        return result;
+    }
+
+    /**
+     * The names starting with the prefix are those between the prefix and the smallest String greater than all of them,
+     * which is the prefix without trailing maximal characters and with its last character incremented.
+     */
+    private static ImmutableSortedMap<String, String> getRange(ImmutableSortedMap<String, String> sortedValues, String prefix) {
+        int end = prefix.length();
+        while (end > 0 && prefix.charAt(end - 1) == Character.MAX_VALUE) {
+            end--;
+        }
+        if (end == 0) {
+            return sortedValues.tailMap(prefix, true);
+        }
+        String upperBound = prefix.substring(0, end - 1) + (char) (prefix.charAt(end - 1) + 1);
+        return sortedValues.subMap(prefix, true, upperBound, false);
+    }
+}
@@ -0,0 +1,96 @@
+package com.tngtech.configbuilder.configuration;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Immutable copy of the environment variables and system properties. A build reads them from one snapshot, so all fields
+ * see the same values even if system properties are changed during the build, and lookups do not lock the system Properties.<p>
+ *
+ * By default, every build takes its own snapshot. Builds may also share a process-wide snapshot, which is only updated by {@link #refreshShared()}.
+ */
+public class SystemSnapshot {
+
+    private static volatile SystemSnapshot sharedSnapshot;
+
+    private final Map<String, String> environment;
+    private final Map<String, String> systemProperties;
+    private final ConcurrentMap<String, Map<String, String>> environmentVariablesByPrefix = new ConcurrentHashMap<String, Map<String, String>>();
+
+    SystemSnapshot(Map<String, String> environment, Map<String, String> systemProperties) {
+        this.environment = ImmutableMap.copyOf(environment);
+        this.systemProperties = ImmutableMap.copyOf(systemProperties);
+    }
+
+    /**
+     * @return a new snapshot of the current environment variables and system properties
+     */
+    public static SystemSnapshot take() {
+        Properties systemProperties = (Properties) System.getProperties().clone();
+        return new SystemSnapshot(System.getenv(), Maps.fromProperties(systemProperties));
+    }
+
+    /**
+     * @return the process-wide snapshot, which is taken on first use
+     */
+    public static SystemSnapshot getShared() {
+        SystemSnapshot snapshot = sharedSnapshot;
+        if (snapshot == null) {
+            snapshot = refreshShared();
+        }
+        return snapshot;
+    }
+
+    /**
+     * Replaces the process-wide snapshot with a new one.
+     *
+     * @return the new process-wide snapshot
+     */
+    public static SystemSnapshot refreshShared() {
+        SystemSnapshot snapshot = take();
+        sharedSnapshot = snapshot;
+        return snapshot;
+    }
+
+    public String getEnvironmentVariable(String name) {
+        return environment.get(name);
+    }
+
+    public String getSystemProperty(String name) {
+        return systemProperties.get(name);
+    }
+
+    /**
+     * The environment is scanned only once per prefix, since the snapshot does not change.
+     *
+     * @param prefix the prefix of the names of the environment variables
+     * @return the environment variables whose names start with the prefix, keyed by their names without the prefix
+     */
+    public Map<String, String> getEnvironmentVariablesWithPrefix(String prefix) {
+        Map<String, String> environmentVariables = environmentVariablesByPrefix.get(prefix);
+        if (environmentVariables == null) {
+            ImmutableMap.Builder<String, String> builder = ImmutableMap.builder();
+            for (Map.Entry<String, String> entry : environment.entrySet()) {
+                if (entry.getKey().startsWith(prefix)) {
+                    builder.put(entry.getKey().substring(prefix.length()), entry.getValue());
+                }
+            }
+            environmentVariables = builder.build();
+            environmentVariablesByPrefix.putIfAbsent(prefix, environmentVariables);
+        }
+        return environmentVariables;
+    }
+
+    public Map<String, String> getEnvironment() {
+        return environment;
+    }
+
+    public Map<String, String> getSystemProperties() {
+        return systemProperties;
+    }
+}
@@ -0,0 +1,379 @@
+package com.tngtech.configbuilder.util;
+
+import com.google.common.base.Equivalence;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.tngtech.configbuilder.configuration.PropertyLookup;
+import com.tngtech.configbuilder.util.PropertyFileCache.PropertyFile;
+import com.tngtech.propertyloader.PropertyLoader;
+import com.tngtech.propertyloader.exception.PropertyLoaderException;
+import com.tngtech.propertyloader.impl.helpers.PropertyFileNameHelper;
+import com.tngtech.propertyloader.impl.interfaces.PropertyLoaderFilter;
+import com.tngtech.propertyloader.impl.interfaces.PropertyLoaderOpener;
+
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+/**
+ * A PropertyLoader which caches what it loads. Files are located with {@link ResourceOpener}s and parsed only once
+ * as long as their modification time and size do not change, see {@link PropertyFileCache}. The merged properties are kept
+ * as an immutable snapshot per loader configuration (base names, suffixes, extension, encoding and locations),
+ * which is shared by all equally configured loaders and reused as long as the same files are found unchanged.
+ * Snapshots are kept per context class loader of the loading thread, which is referenced weakly, and only for a limited
+ * number of configurations per class loader.<p>
+ *
+ * Filters are applied on every load to a copy of the snapshot, since they may depend on system properties or the environment.
+ * If an opener which is not a ResourceOpener was added to the locations, the loader falls back to uncached loading.<p>
+ *
+ * The loader remembers which file names and directories were searched by the last {@link #load()}, so the files can be watched for changes.
+ * The {@link PropertyLookup}s of the loaded properties are kept with the snapshot, by the identity of the additional properties and the filters,
+ * and reused by later builds as long as the same files are found unchanged. Filters are assumed to return the same values for an unchanged snapshot.<p>
+ *
+ * With {@link #withExecutor(Executor)}, the candidate files of a base name list or include are located and read concurrently,
+ * then merged in the same order as if they were read one after the other.
+ */
+public class CachingPropertyLoader extends PropertyLoader {
+
+    private static final String DEFAULT_ENCODING = "ISO-8859-1";
+
+    private static final long MAXIMUM_SNAPSHOTS_PER_CLASS_LOADER = 100;
+
+    private static final long MAXIMUM_LOOKUPS_PER_SNAPSHOT = 16;
+
+    private static final LoadingCache<ClassLoader, Cache<List<Object>, Snapshot>> snapshots = CacheBuilder.newBuilder().weakKeys().build(new CacheLoader<ClassLoader, Cache<List<Object>, Snapshot>>() {
+        @Override
+        public Cache<List<Object>, Snapshot> load(ClassLoader classLoader) {
+            return CacheBuilder.newBuilder().maximumSize(MAXIMUM_SNAPSHOTS_PER_CLASS_LOADER).build();
+        }
+    });
+
+    private final PropertyFileNameHelper propertyFileNameHelper = new PropertyFileNameHelper();
+    private final PropertyFileCache propertyFileCache;
+    private List<String> baseNames = new ArrayList<String>();
+    private String encoding = DEFAULT_ENCODING;
+    private Executor executor;
+    private volatile Set<String> searchedFileNames = ImmutableSet.of();
+    private volatile Set<Path> searchedDirectories = ImmutableSet.of();
+    private volatile Snapshot lastSnapshot;
+    private volatile List<Object> lastFilters = ImmutableList.of();
+
+    public CachingPropertyLoader() {
+        this(PropertyFileCache.getSharedCache());
+    }
+
+    CachingPropertyLoader(PropertyFileCache propertyFileCache) {
+        this.propertyFileCache = propertyFileCache;
+        withLocations(new ResourceLocationContainer());
+    }
+
+    @Override
+    public PropertyLoader withBaseNames(List<String> baseNames) {
+        this.baseNames = baseNames;
+        return super.withBaseNames(baseNames);
+    }
+
+    @Override
+    public PropertyLoader withEncoding(String encoding) {
+        this.encoding = encoding;
+        return super.withEncoding(encoding);
+    }
+
+    /**
+     * Locates and reads the candidate files concurrently with the given executor. The executor should be bounded,
+     * since all candidate files of a base name list are submitted at once.
+     *
+     * @param executor the executor, or null to read the files one after the other
+     * @return the instance of the loader
+     */
+    public CachingPropertyLoader withExecutor(Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * @return the names of the files searched by the last {@link #load()}, including the names of included files
+     */
+    public Set<String> getSearchedFileNames() {
+        return searchedFileNames;
+    }
+
+    /**
+     * @return the directories of the local file system searched by the last {@link #load()}, including the directories
+     * of files found in the class path
+     */
+    public Set<Path> getSearchedDirectories() {
+        return searchedDirectories;
+    }
+
+    @Override
+    public Properties load() {
+        return load(baseNames, true);
+    }
+
+    @Override
+    public Properties load(String baseName) {
+        return load(Collections.singletonList(baseName), false);
+    }
+
+    @Override
+    public Properties load(String[] baseNames) {
+        return load(Arrays.asList(baseNames), false);
+    }
+
+    private Properties load(List<String> baseNames, boolean rememberSearchedFiles) {
+        ProbeIndex.getSharedIndex().startRound();
+        List<ResourceOpener> openers = getResourceOpeners();
+        if (openers == null) {
+            return super.load(baseNames.toArray(new String[baseNames.size()]));
+        }
+        List<String> suffixes = ImmutableList.copyOf(getSuffixes().getSuffixes());
+        List<PropertyFile> files = new ArrayList<PropertyFile>();
+        Set<String> fileNames = new LinkedHashSet<String>();
+        collectFiles(baseNames, suffixes, openers, new LinkedList<String>(), files, fileNames);
+        if (rememberSearchedFiles) {
+            searchedFileNames = ImmutableSet.copyOf(fileNames);
+            searchedDirectories = getDirectories(openers, files);
+        }
+
+        Snapshot snapshot = getSnapshot(baseNames, suffixes, openers, files);
+        Properties properties = new Properties();
+        properties.putAll(snapshot.getProperties());
+        ImmutableList.Builder<Object> filters = ImmutableList.builder();
+        for (PropertyLoaderFilter filter : getFilters().getFilters()) {
+            filter.filter(properties);
+            filters.add(Equivalence.identity().wrap(filter));
+        }
+        if (rememberSearchedFiles) {
+            lastFilters = filters.build();
+            lastSnapshot = snapshot;
+        }
+        return properties;
+    }
+
+    /**
+     * Gets the lookup of properties returned by {@link #load()}, extended by additional properties. The lookup is created
+     * only once per snapshot, filters, prefixes and instance of the additional properties, so the properties are indexed again only
+     * if the files changed or other additional properties are passed. The additional properties must not be changed afterwards.
+     *
+     * @param properties           the loaded properties, extended by the additional properties
+     * @param additionalProperties the additional properties
+     * @param propertyNamePrefixes the prefixes in the order in which they are tried
+     * @return the lookup for the properties
+     */
+    public PropertyLookup getPropertyLookup(Properties properties, Properties additionalProperties, String[] propertyNamePrefixes) {
+        Snapshot snapshot = lastSnapshot;
+        if (snapshot == null) {
+            return PropertyLookup.of(properties, propertyNamePrefixes);
+        }
+        List<Object> key = Arrays.<Object>asList(Equivalence.identity().wrap(additionalProperties), lastFilters, ImmutableList.copyOf(propertyNamePrefixes));
+        return snapshot.getPropertyLookup(key, properties, propertyNamePrefixes);
+    }
+
+    private List<ResourceOpener> getResourceOpeners() {
+        List<ResourceOpener> openers = new ArrayList<ResourceOpener>();
+        for (PropertyLoaderOpener opener : getLocations().getOpeners()) {
+            if (!(opener instanceof ResourceOpener)) {
+                return null;
+            }
+            openers.add((ResourceOpener) opener);
+        }
+        return openers;
+    }
+
+    private static Set<Path> getDirectories(List<ResourceOpener> openers, List<PropertyFile> files) {
+        Set<Path> directories = new LinkedHashSet<Path>();
+        for (ResourceOpener opener : openers) {
+            if (opener.getDirectory() != null) {
+                directories.add(opener.getDirectory());
+            }
+        }
+        for (PropertyFile file : files) {
+            URL url = file.getUrl();
+            if ("file".equals(url.getProtocol())) {
+                try {
+                    directories.add(Paths.get(url.toURI()).getParent());
+                } catch (URISyntaxException | IllegalArgumentException e) {
+                    // not a file of the local file system
+                }
+            }
+        }
+        return ImmutableSet.copyOf(directories);
+    }
+
+    private Snapshot getSnapshot(List<String> baseNames, List<String> suffixes, List<ResourceOpener> openers, List<PropertyFile> files) {
+        List<Object> locations = new ArrayList<Object>();
+        for (ResourceOpener opener : openers) {
+            locations.add(opener.getLocation());
+        }
+        List<Object> key = Arrays.<Object>asList(ImmutableList.copyOf(baseNames), suffixes, getExtension(), encoding, locations);
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        Cache<List<Object>, Snapshot> classLoaderSnapshots = snapshots.getUnchecked(contextClassLoader != null ? contextClassLoader : ClassLoader.getSystemClassLoader());
+        Snapshot snapshot = classLoaderSnapshots.getIfPresent(key);
+        if (snapshot == null || !snapshot.consistsOf(files)) {
+            snapshot = new Snapshot(files);
+            classLoaderSnapshots.put(key, snapshot);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Collects the files in the order the PropertyLoader merges them: for every file name and location, the file is followed
+     * by the files it includes, which override its properties.
+     */
+    private void collectFiles(List<String> baseNames, List<String> suffixes, List<ResourceOpener> openers, Deque<String> fileNameStack, List<PropertyFile> files, Set<String> fileNames) {
+        List<String> candidateFileNames = propertyFileNameHelper.getFileNames(baseNames, suffixes, getExtension());
+        List<FutureTask<PropertyFile>> prefetchedFiles = prefetchFiles(candidateFileNames, openers);
+        int candidate = 0;
+        for (String fileName : candidateFileNames) {
+            throwIfRecursionInIncludes(fileName, fileNameStack);
+            fileNames.add(fileName);
+            fileNameStack.addLast(fileName);
+            for (ResourceOpener opener : openers) {
+                PropertyFile propertyFile = prefetchedFiles == null ? readFile(fileName, opener) : getPrefetchedFile(prefetchedFiles.get(candidate));
+                candidate++;
+                if (propertyFile == null) {
+                    continue;
+                }
+                files.add(propertyFile);
+                collectFiles(propertyFile.getIncludes(), suffixes, openers, fileNameStack, files, fileNames);
+            }
+            fileNameStack.removeLast();
+        }
+    }
+
+    private PropertyFile readFile(String fileName, ResourceOpener opener) {
+        URL url = opener.locate(fileName);
+        return url == null ? null : propertyFileCache.get(url, fileName, encoding, opener);
+    }
+
+    /**
+     * Submits every combination of file name and opener to the executor, in the order in which the files are merged.
+     * The tasks run with the context class loader of the loading thread, which is searched by {@link ResourceOpener#atContextClassLoader()}.
+     *
+     * @return the submitted tasks, or null if the files are read one after the other
+     */
+    private List<FutureTask<PropertyFile>> prefetchFiles(List<String> candidateFileNames, List<ResourceOpener> openers) {
+        if (executor == null || candidateFileNames.size() * openers.size() < 2) {
+            return null;
+        }
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        List<FutureTask<PropertyFile>> tasks = new ArrayList<FutureTask<PropertyFile>>();
+        for (final String fileName : candidateFileNames) {
+            for (final ResourceOpener opener : openers) {
+                FutureTask<PropertyFile> task = new FutureTask<PropertyFile>(new Callable<PropertyFile>() {
+                    @Override
+                    public PropertyFile call() {
+                        Thread thread = Thread.currentThread();
+                        ClassLoader threadContextClassLoader = thread.getContextClassLoader();
+                        thread.setContextClassLoader(contextClassLoader);
+                        try {
+                            return readFile(fileName, opener);
+                        } finally {
+                            thread.setContextClassLoader(threadContextClassLoader);
+                        }
+                    }
+                });
+                executor.execute(task);
+                tasks.add(task);
+            }
+        }
+        return tasks;
+    }
+
+    private static PropertyFile getPrefetchedFile(FutureTask<PropertyFile> task) {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw propertyLoaderException("interrupted while reading properties files", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw propertyLoaderException("error while reading properties files", e.getCause());
+        }
+    }
+
+    private static PropertyLoaderException propertyLoaderException(String message, Throwable cause) {
+        PropertyLoaderException exception = new PropertyLoaderException(message);
+        exception.initCause(cause);
+        return exception;
+    }
+
+    private void throwIfRecursionInIncludes(String fileName, Deque<String> fileNameStack) {
+        if (fileNameStack.contains(fileName)) {
+            StringBuilder message = new StringBuilder("property file include recursion: ");
+            for (String stackedFileName : fileNameStack) {
+                message.append(stackedFileName).append(" -> ");
+            }
+            message.append(fileName);
+            throw new PropertyLoaderException(message.toString());
+        }
+    }
+
+    /**
+     * The unfiltered properties merged from a list of files, together with the lookups of the properties most recently built from them.
+     */
+    private static class Snapshot {
+        private final List<PropertyFile> files;
+        private final Properties properties = new Properties();
+        private final Cache<List<Object>, PropertyLookup> lookups = CacheBuilder.newBuilder().maximumSize(MAXIMUM_LOOKUPS_PER_SNAPSHOT).build();
+
+        private Snapshot(List<PropertyFile> files) {
+            this.files = files;
+            for (PropertyFile file : files) {
+                properties.putAll(file.getProperties());
+            }
+        }
+
+        private boolean consistsOf(List<PropertyFile> otherFiles) {
+            if (files.size() != otherFiles.size()) {
+                return false;
+            }
+            for (int i = 0; i < files.size(); i++) {
+                if (files.get(i) != otherFiles.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private Properties getProperties() {
+            return properties;
+        }
+
+        /**
+         * @param key the identities of the additional properties and the filters, and the prefixes
+         */
+        private PropertyLookup getPropertyLookup(List<Object> key, Properties properties, String[] propertyNamePrefixes) {
+            PropertyLookup lookup = lookups.getIfPresent(key);
+            if (lookup == null) {
+                lookup = PropertyLookup.of(properties, propertyNamePrefixes);
+                lookups.put(key, lookup);
+            }
+            return lookup;
+        }
+    }
+}
@@ -8,57 +8,101 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
 
+/**
+ * Parses command line arguments with the options defined by the {@link CommandLineValue} annotations of a config class.<p>
+ *
+ * The options of a config class are built only once and shared by all builds. They are parsed with a {@link DefaultParser},
+ * which never modifies the options it parses with, so the shared options can be used by concurrent builds.<p>
+ *
+ * Arguments are parsed like by the former GnuParser, including values of multi-character short options given with '=', e.g. {@code -rl=3}.
+ * Unlike the GnuParser, the DefaultParser also accepts unambiguous prefixes of long options and several flags in one argument, e.g. {@code -tu}.
+ */
 public class CommandLineHelper {
 
     private final static Logger log = LoggerFactory.getLogger(CommandLineHelper.class);
 
+    private static final ClassValue<Options> sharedOptions = new ClassValue<Options>() {
+        @Override
+        protected Options computeValue(Class<?> configClass) {
+            Options options = new Options();
+            for (FieldPlan fieldPlan : ConfigPlan.of(configClass).getFieldPlans()) {
+                Field field = fieldPlan.getField();
+                if (field.isAnnotationPresent(CommandLineValue.class)) {
+                    options.addOption(getOption(field));
+                }
+            }
+            return options;
+        }
+    };
+
     private final ConfigBuilderFactory configBuilderFactory;
-    private final AnnotationHelper annotationHelper;
     private final ErrorMessageSetup errorMessageSetup;
 
     public CommandLineHelper(ConfigBuilderFactory configBuilderFactory) {
         this.configBuilderFactory = configBuilderFactory;
-        this.annotationHelper = configBuilderFactory.getInstance(AnnotationHelper.class);
         this.errorMessageSetup = configBuilderFactory.getInstance(ErrorMessageSetup.class);
     }
 
     public CommandLine getCommandLine(Class configClass, String[] args) {
-        log.info("getting command line options from fields and parsing command line arguments");
-        Options options = getOptions(configClass);
-        return parseCommandLine(args, options);
+        log.info("parsing command line arguments");
+        return parseCommandLine(args, sharedOptions.get(configClass));
     }
 
+    /**
+     * @param configClass the config class
+     * @return a copy of the command line options of the config class, which may be modified by the caller
+     */
     public Options getOptions(Class configClass) {
         Options options = configBuilderFactory.createInstance(Options.class);
-        for (Field field : annotationHelper.getFieldsAnnotatedWith(configClass, CommandLineValue.class)) {
-            if (field.isSynthetic()) {
-                continue;
-            }
-            options.addOption(getOption(field));
+        for (Option option : sharedOptions.get(configClass).getOptions()) {
+            options.addOption((Option) option.clone());
         }
         return options;
     }
 
-    @SuppressWarnings("AccessStaticViaInstance")
-    private Option getOption(Field field) {
+    private static Option getOption(Field field) {
         CommandLineValue commandLineValue = field.getAnnotation(CommandLineValue.class);
         log.debug("adding command line option {} for field {}", commandLineValue.shortOpt(), field.getName());
-        return OptionBuilder.withLongOpt(commandLineValue.longOpt())
-                .hasArg()
-                .isRequired(commandLineValue.required())
-                .withDescription(commandLineValue.description())
+        return Option.builder(commandLineValue.shortOpt())
+                .longOpt(commandLineValue.longOpt())
+                .required(commandLineValue.required())
+                .desc(commandLineValue.description())
                 .hasArg(commandLineValue.hasArg())
-                .create(commandLineValue.shortOpt());
+                .build();
     }
 
     private CommandLine parseCommandLine(String[] args, Options options) {
         CommandLine commandLine;
         try {
-            commandLine = configBuilderFactory.createInstance(GnuParser.class).parse(options, args);
+            commandLine = configBuilderFactory.createInstance(DefaultParser.class).parse(options, splitShortOptionValues(args, options));
         } catch (ParseException e) {
             throw new ConfigBuilderException(errorMessageSetup.getErrorMessage(e.getClass().getSuperclass()), e);
         }
         return commandLine;
     }
+
+    /**
+     * Splits arguments like {@code -rl=3} into the option and its value, as the GnuParser did. The DefaultParser splits them only
+     * for short options of one character.
+     */
+    private static String[] splitShortOptionValues(String[] args, Options options) {
+        List<String> result = new ArrayList<String>(args.length);
+        boolean split = false;
+        boolean optionsEnded = false;
+        for (String arg : args) {
+            optionsEnded |= "--".equals(arg);
+            int separator = arg.indexOf('=');
+            if (!optionsEnded && separator > 2 && arg.startsWith("-") && !arg.startsWith("--") && options.hasShortOption(arg.substring(1, separator))) {
+                result.add(arg.substring(0, separator));
+                result.add(arg.substring(separator + 1));
+                split = true;
+            } else {
+                result.add(arg);
+            }
+        }
+        return split ? result.toArray(new String[result.size()]) : args;
+    }
 }
\ No newline at end of file
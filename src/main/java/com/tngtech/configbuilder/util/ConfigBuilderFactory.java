@@ -5,7 +5,6 @@ import com.tngtech.configbuilder.annotation.propertyloaderconfiguration.Properti
 import com.tngtech.configbuilder.annotation.propertyloaderconfiguration.PropertyExtensionProcessor;
 import com.tngtech.configbuilder.annotation.propertyloaderconfiguration.PropertyLocationsProcessor;
 import com.tngtech.configbuilder.annotation.propertyloaderconfiguration.PropertySuffixProcessor;
-import com.tngtech.configbuilder.annotation.typetransformer.*;
 import com.tngtech.configbuilder.annotation.valueextractor.*;
 import com.tngtech.configbuilder.configuration.BuilderConfiguration;
 import com.tngtech.configbuilder.configuration.ErrorMessageSetup;
@@ -18,7 +17,36 @@ import java.util.Map;
 
 public class ConfigBuilderFactory {
 
-    private Map<Class,Object> singletonMap = Maps.newHashMap();
+    private final Map<Class,Object> singletonMap;
+    private final BuilderConfiguration builderConfiguration;
+
+    /**
+     * Building the validator factory is expensive, so it is built only when a config is validated for the first time
+     * and then shared by all factories. ValidatorFactory instances are thread-safe.
+     */
+    private static class ValidatorFactoryHolder {
+        private static final ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory();
+    }
+
+    public ConfigBuilderFactory() {
+        this(Maps.<Class,Object>newHashMap(), null);
+    }
+
+    private ConfigBuilderFactory(Map<Class,Object> singletonMap, BuilderConfiguration builderConfiguration) {
+        this.singletonMap = singletonMap;
+        this.builderConfiguration = builderConfiguration;
+    }
+
+    /**
+     * Creates a view of this factory for a single build, which shares the instances of this factory and returns the
+     * {@link BuilderConfiguration} of the build, so the same processors can serve concurrent builds.
+     *
+     * @param builderConfiguration the configuration of the build
+     * @return the view of this factory for the build
+     */
+    public ConfigBuilderFactory forBuild(BuilderConfiguration builderConfiguration) {
+        return new ConfigBuilderFactory(singletonMap, builderConfiguration);
+    }
 
     public <T> void initialize() {
 
@@ -26,7 +54,6 @@ public class ConfigBuilderFactory {
 
         //configuration
         singletonMap.put(ErrorMessageSetup.class, new ErrorMessageSetup());
-        singletonMap.put(BuilderConfiguration.class, new BuilderConfiguration());
 
         //util
         singletonMap.put(AnnotationHelper.class, new AnnotationHelper());
@@ -49,21 +76,28 @@ public class ConfigBuilderFactory {
         singletonMap.put(PropertyExtensionProcessor.class, new PropertyExtensionProcessor());
         singletonMap.put(PropertiesFilesProcessor.class, new PropertiesFilesProcessor());
         singletonMap.put(DefaultValueProcessor.class, new DefaultValueProcessor());
-
-        //TypeTransformers
-        singletonMap.put(StringOrPrimitiveToPrimitiveTransformer.class, new StringOrPrimitiveToPrimitiveTransformer());
-        singletonMap.put(CollectionToArrayListTransformer.class, new CollectionToArrayListTransformer());
-        singletonMap.put(CollectionToHashSetTransformer.class, new CollectionToHashSetTransformer());
-        singletonMap.put(CharacterSeparatedStringToStringListTransformer.class, new CharacterSeparatedStringToStringListTransformer());
-        singletonMap.put(CharacterSeparatedStringToStringSetTransformer.class, new CharacterSeparatedStringToStringSetTransformer());
-        singletonMap.put(StringCollectionToCommaSeparatedStringTransformer.class, new StringCollectionToCommaSeparatedStringTransformer());
-        singletonMap.put(StringToPathTransformer.class, new StringToPathTransformer());
-
-        //other
-        singletonMap.put(ValidatorFactory.class, Validation.buildDefaultValidatorFactory());
     }
 
+    /**
+     * Gets the shared instance of a class, or a new instance if there is none. The {@link BuilderConfiguration} is only
+     * available from the view of a build, see {@link #forBuild(BuilderConfiguration)}, since a new, empty configuration
+     * would silently hide the values of the build.
+     *
+     * @param clazz the class
+     * @return the instance
+     * @throws FactoryInstantiationException if the {@link BuilderConfiguration} is requested outside of a build
+     */
     public <K> K getInstance(Class<K> clazz) {
+        if(clazz == ValidatorFactory.class) {
+            return (K)ValidatorFactoryHolder.validatorFactory;
+        }
+        if(clazz == BuilderConfiguration.class) {
+            if(builderConfiguration == null) {
+                ErrorMessageSetup errorMessageSetup = (ErrorMessageSetup)singletonMap.get(ErrorMessageSetup.class);
+                throw new FactoryInstantiationException(errorMessageSetup.getErrorMessage(FactoryInstantiationException.class, clazz.toString()));
+            }
+            return (K)builderConfiguration;
+        }
         if(singletonMap.get(clazz) != null) {
             return (K)singletonMap.get(clazz);
         }
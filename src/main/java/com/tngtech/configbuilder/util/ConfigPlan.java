@@ -0,0 +1,396 @@
+package com.tngtech.configbuilder.util;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.tngtech.configbuilder.annotation.configuration.LoadingOrder;
+import com.tngtech.configbuilder.annotation.configuration.PropertyNamePrefix;
+import com.tngtech.configbuilder.annotation.validation.Validation;
+import com.tngtech.configbuilder.annotation.valueextractor.CommandLineValue;
+import com.tngtech.configbuilder.annotation.valueextractor.DefaultValue;
+import com.tngtech.configbuilder.annotation.valueextractor.EnvironmentVariablePrefix;
+import com.tngtech.configbuilder.annotation.valueextractor.EnvironmentVariableValue;
+import com.tngtech.configbuilder.annotation.valueextractor.ImportedValue;
+import com.tngtech.configbuilder.annotation.valueextractor.PropertyMap;
+import com.tngtech.configbuilder.annotation.valueextractor.PropertyValue;
+import com.tngtech.configbuilder.annotation.valueextractor.SystemPropertyValue;
+import com.tngtech.configbuilder.annotation.valueextractor.ValueExtractorAnnotation;
+import com.tngtech.configbuilder.binder.ConfigBinder;
+import com.tngtech.configbuilder.binder.ConfigBinderProcessor;
+import com.tngtech.configbuilder.binder.FieldBinder;
+import com.tngtech.configbuilder.binder.RuntimeBinder;
+import com.tngtech.configbuilder.configuration.BuilderConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.validation.Constraint;
+import javax.validation.Valid;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable description of a config class: its global annotation processing order, its property name prefixes
+ * a {@link FieldPlan} for every field annotated with a {@link ValueExtractorAnnotation} annotation and the properties, system properties
+ * and environment variables it may be read from,
+ * the {@link FieldBinder}s of the {@link ConfigBinder} generated for the class, if there is one, and what has to be validated after an instance is built.<p>
+ *
+ * The plan is computed only once per class and shared by all ConfigBuilder instances and threads,
+ * so building an instance does not need to scan the fields and annotations of the config class again.
+ */
+public class ConfigPlan {
+
+    private final static Logger log = LoggerFactory.getLogger(ConfigPlan.class);
+
+    private static final String VALIDATION_XML = "META-INF/validation.xml";
+
+    /**
+     * The value annotations whose values only change with the inputs the plan indexes, or with the command line arguments
+     * and the imported configuration, which make a rebuild start from scratch.
+     */
+    private static final Set<Class<? extends Annotation>> indexedAnnotations = ImmutableSet.<Class<? extends Annotation>>of(
+            PropertyValue.class, PropertyMap.class, SystemPropertyValue.class, EnvironmentVariableValue.class, EnvironmentVariablePrefix.class,
+            DefaultValue.class, CommandLineValue.class, ImportedValue.class);
+
+    private static final ClassValue<ConfigPlan> configPlans = new ClassValue<ConfigPlan>() {
+        @Override
+        protected ConfigPlan computeValue(Class<?> configClass) {
+            return new ConfigPlan(configClass);
+        }
+    };
+
+    private final Class<?> configClass;
+    private final Class<? extends Annotation>[] annotationOrder;
+    private final String[] propertyNamePrefixes;
+    private final String environmentVariablePrefix;
+    private final List<FieldPlan> fieldPlans;
+    private final ImmutableListMultimap<String, FieldPlan> fieldPlansByPropertyName;
+    private final ImmutableListMultimap<String, FieldPlan> fieldPlansByPropertyNamePrefix;
+    private final ImmutableListMultimap<String, FieldPlan> fieldPlansBySystemPropertyName;
+    private final ImmutableListMultimap<String, FieldPlan> fieldPlansByEnvironmentVariableName;
+    private final ImmutableListMultimap<String, FieldPlan> fieldPlansByEnvironmentVariablePrefix;
+    private final Set<FieldPlan> unindexedFieldPlans;
+    private final ConfigBinder<Object> binder;
+    private final Map<FieldPlan, FieldBinder<Object>> fieldBinders;
+    private final List<Method> validationMethods;
+    private final boolean constrained;
+    private volatile RuntimeBinder runtimeBinder;
+
+    private ConfigPlan(Class<?> configClass) {
+        log.debug("computing config plan for {}", configClass.getName());
+        AnnotationHelper annotationHelper = new AnnotationHelper();
+        this.configClass = configClass;
+        this.annotationOrder = configClass.isAnnotationPresent(LoadingOrder.class) ? configClass.getAnnotation(LoadingOrder.class).value() : BuilderConfiguration.getDefaultAnnotationOrder();
+        this.propertyNamePrefixes = configClass.isAnnotationPresent(PropertyNamePrefix.class) ? configClass.getAnnotation(PropertyNamePrefix.class).value() : new String[]{""};
+        this.environmentVariablePrefix = configClass.isAnnotationPresent(EnvironmentVariablePrefix.class) ? configClass.getAnnotation(EnvironmentVariablePrefix.class).value() : "";
+
+        ImmutableList.Builder<FieldPlan> builder = ImmutableList.builder();
+        ImmutableListMultimap.Builder<String, FieldPlan> propertyNameBuilder = ImmutableListMultimap.builder();
+        ImmutableListMultimap.Builder<String, FieldPlan> propertyNamePrefixBuilder = ImmutableListMultimap.builder();
+        ImmutableListMultimap.Builder<String, FieldPlan> systemPropertyNameBuilder = ImmutableListMultimap.builder();
+        ImmutableListMultimap.Builder<String, FieldPlan> environmentVariableNameBuilder = ImmutableListMultimap.builder();
+        ImmutableListMultimap.Builder<String, FieldPlan> environmentVariablePrefixBuilder = ImmutableListMultimap.builder();
+        ImmutableSet.Builder<FieldPlan> unindexedBuilder = ImmutableSet.builder();
+        for (Field field : FieldSetter.getInheritedPrivateFields(configClass)) {
+            if (field.isSynthetic()) {
+                continue;
+            }
+            if (annotationHelper.fieldHasAnnotationAnnotatedWith(field, ValueExtractorAnnotation.class)) {
+                FieldPlan fieldPlan = new FieldPlan(field, annotationOrder);
+                builder.add(fieldPlan);
+                if (field.isAnnotationPresent(PropertyValue.class)) {
+                    for (String propertyNamePrefix : propertyNamePrefixes) {
+                        propertyNameBuilder.put(propertyNamePrefix + field.getAnnotation(PropertyValue.class).value(), fieldPlan);
+                    }
+                }
+                if (field.isAnnotationPresent(PropertyMap.class)) {
+                    for (String propertyNamePrefix : propertyNamePrefixes) {
+                        propertyNamePrefixBuilder.put(propertyNamePrefix + field.getAnnotation(PropertyMap.class).value(), fieldPlan);
+                    }
+                }
+                if (field.isAnnotationPresent(SystemPropertyValue.class)) {
+                    systemPropertyNameBuilder.put(field.getAnnotation(SystemPropertyValue.class).value(), fieldPlan);
+                }
+                if (field.isAnnotationPresent(EnvironmentVariableValue.class)) {
+                    environmentVariableNameBuilder.put(environmentVariablePrefix + field.getAnnotation(EnvironmentVariableValue.class).value(), fieldPlan);
+                }
+                if (field.isAnnotationPresent(EnvironmentVariablePrefix.class)) {
+                    environmentVariablePrefixBuilder.put(field.getAnnotation(EnvironmentVariablePrefix.class).value(), fieldPlan);
+                }
+                for (Annotation annotation : annotationHelper.getAnnotationsAnnotatedWith(field.getDeclaredAnnotations(), ValueExtractorAnnotation.class)) {
+                    if (!indexedAnnotations.contains(annotation.annotationType())) {
+                        unindexedBuilder.add(fieldPlan);
+                    }
+                }
+            } else {
+                log.debug("field {} is not annotated with any ValueExtractorAnnotation: skipping field", field.getName());
+            }
+        }
+        this.fieldPlans = builder.build();
+        this.fieldPlansByPropertyName = propertyNameBuilder.build();
+        this.fieldPlansByPropertyNamePrefix = propertyNamePrefixBuilder.build();
+        this.fieldPlansBySystemPropertyName = systemPropertyNameBuilder.build();
+        this.fieldPlansByEnvironmentVariableName = environmentVariableNameBuilder.build();
+        this.fieldPlansByEnvironmentVariablePrefix = environmentVariablePrefixBuilder.build();
+        this.unindexedFieldPlans = unindexedBuilder.build();
+        this.binder = findBinder(configClass);
+        this.fieldBinders = getFieldBinders(configClass, binder, fieldPlans);
+
+        ImmutableList.Builder<Method> validationMethodsBuilder = ImmutableList.builder();
+        for (Method method : annotationHelper.getMethodsAnnotatedWith(configClass, Validation.class)) {
+            method.setAccessible(true);
+            validationMethodsBuilder.add(method);
+        }
+        this.validationMethods = validationMethodsBuilder.build();
+        this.constrained = isConstrained(configClass);
+    }
+
+    /**
+     * Checks whether JSR303 validation may find constraints for the class, i.e. whether the class, one of its superclasses or interfaces
+     * or one of their fields or methods is annotated with a constraint or with {@link Valid}. Constraints declared in a validation.xml
+     * cannot be checked here, so if there is one, every class is considered to be constrained.
+     */
+    private static boolean isConstrained(Class<?> configClass) {
+        ClassLoader classLoader = configClass.getClassLoader() != null ? configClass.getClassLoader() : ClassLoader.getSystemClassLoader();
+        if (classLoader.getResource(VALIDATION_XML) != null) {
+            return true;
+        }
+        return isConstrainedType(configClass);
+    }
+
+    private static boolean isConstrainedType(Class<?> type) {
+        if (type == null || type == Object.class) {
+            return false;
+        }
+        if (hasConstraintAnnotation(type.getDeclaredAnnotations())
+                || hasConstrainedMember(type.getDeclaredFields())
+                || hasConstrainedMember(type.getDeclaredMethods())
+                || isConstrainedType(type.getSuperclass())) {
+            return true;
+        }
+        for (Class<?> interfaceType : type.getInterfaces()) {
+            if (isConstrainedType(interfaceType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasConstrainedMember(AccessibleObject[] members) {
+        for (AccessibleObject member : members) {
+            if (hasConstraintAnnotation(member.getDeclaredAnnotations())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasConstraintAnnotation(Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            if (annotation instanceof Valid || isConstraint(annotation.annotationType()) || isConstraintList(annotation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isConstraint(Class<? extends Annotation> annotationType) {
+        return annotationType.isAnnotationPresent(Constraint.class);
+    }
+
+    /**
+     * Checks for containers of repeated constraints like {@code @NotNull.List}.
+     */
+    private static boolean isConstraintList(Annotation annotation) {
+        try {
+            Method valueMethod = annotation.annotationType().getDeclaredMethod("value");
+            Class<?> componentType = valueMethod.getReturnType().getComponentType();
+            return componentType != null && componentType.isAnnotation() && isConstraint(componentType.asSubclass(Annotation.class));
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ConfigBinder<Object> findBinder(Class<?> configClass) {
+        String binderName = configClass.getName() + ConfigBinderProcessor.BINDER_SUFFIX;
+        try {
+            Class<?> binderClass = Class.forName(binderName, false, configClass.getClassLoader());
+            if (!ConfigBinder.class.isAssignableFrom(binderClass)) {
+                return null;
+            }
+            log.debug("using binder {} for {}", binderName, configClass.getName());
+            return (ConfigBinder<Object>) binderClass.newInstance();
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            log.warn("could not instantiate binder {}: fields of {} will be set by reflection", binderName, configClass.getName());
+            return null;
+        }
+    }
+
+    private static Map<FieldPlan, FieldBinder<Object>> getFieldBinders(Class<?> configClass, ConfigBinder<Object> binder, List<FieldPlan> fieldPlans) {
+        if (binder == null) {
+            return ImmutableMap.of();
+        }
+        ImmutableMap.Builder<FieldPlan, FieldBinder<Object>> builder = ImmutableMap.builder();
+        for (FieldPlan fieldPlan : fieldPlans) {
+            FieldBinder<Object> fieldBinder = fieldPlan.getField().getDeclaringClass() == configClass ? binder.getFieldBinder(fieldPlan.getName()) : null;
+            if (fieldBinder != null) {
+                builder.put(fieldPlan, fieldBinder);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Gets the plan of a config class, computing it if the class has not been planned yet.
+     *
+     * @param configClass the config class
+     * @return the shared plan of the config class
+     */
+    public static ConfigPlan of(Class<?> configClass) {
+        return configPlans.get(configClass);
+    }
+
+    public Class<?> getConfigClass() {
+        return configClass;
+    }
+
+    public Class<? extends Annotation>[] getAnnotationOrder() {
+        return annotationOrder.clone();
+    }
+
+    public String[] getPropertyNamePrefixes() {
+        return propertyNamePrefixes.clone();
+    }
+
+    /**
+     * @return the prefix of the names of environment variables given by an {@link EnvironmentVariablePrefix} annotation of the class, or an empty String
+     */
+    public String getEnvironmentVariablePrefix() {
+        return environmentVariablePrefix;
+    }
+
+    public List<FieldPlan> getFieldPlans() {
+        return fieldPlans;
+    }
+
+    /**
+     * Gets the plans of the fields annotated with a {@link PropertyValue} or {@link PropertyMap} which is read from one of the given properties,
+     * taking the property name prefixes into account, and of the fields which are always resolved again, see {@link #getFieldPlansFor(Collection, Collection, Collection)}.
+     *
+     * @param propertyNames the full names of the properties
+     * @return the field plans in the order of {@link #getFieldPlans()}
+     */
+    public List<FieldPlan> getFieldPlansForProperties(Collection<String> propertyNames) {
+        return getFieldPlansFor(propertyNames, Collections.<String>emptySet(), Collections.<String>emptySet());
+    }
+
+    /**
+     * Gets the plans of the fields which are read from one of the given properties, system properties or environment variables
+     * by a {@link PropertyValue}, {@link PropertyMap}, {@link SystemPropertyValue}, {@link EnvironmentVariableValue} or {@link EnvironmentVariablePrefix} annotation.
+     * Fields with other value annotations, e.g. user-defined ones, may read anything and are always included, except for the
+     * built-in {@link DefaultValue}, {@link CommandLineValue} and {@link ImportedValue} annotations.
+     *
+     * @param propertyNames            the full names of the properties
+     * @param systemPropertyNames      the names of the system properties
+     * @param environmentVariableNames the full names of the environment variables
+     * @return the field plans in the order of {@link #getFieldPlans()}
+     */
+    public List<FieldPlan> getFieldPlansFor(Collection<String> propertyNames, Collection<String> systemPropertyNames, Collection<String> environmentVariableNames) {
+        Set<FieldPlan> affectedFieldPlans = new LinkedHashSet<FieldPlan>(unindexedFieldPlans);
+        for (String propertyName : propertyNames) {
+            affectedFieldPlans.addAll(fieldPlansByPropertyName.get(propertyName));
+            addFieldPlansForPrefixes(fieldPlansByPropertyNamePrefix, propertyName, affectedFieldPlans);
+        }
+        for (String systemPropertyName : systemPropertyNames) {
+            affectedFieldPlans.addAll(fieldPlansBySystemPropertyName.get(systemPropertyName));
+        }
+        for (String environmentVariableName : environmentVariableNames) {
+            affectedFieldPlans.addAll(fieldPlansByEnvironmentVariableName.get(environmentVariableName));
+            addFieldPlansForPrefixes(fieldPlansByEnvironmentVariablePrefix, environmentVariableName, affectedFieldPlans);
+        }
+        ImmutableList.Builder<FieldPlan> builder = ImmutableList.builder();
+        for (FieldPlan fieldPlan : fieldPlans) {
+            if (affectedFieldPlans.contains(fieldPlan)) {
+                builder.add(fieldPlan);
+            }
+        }
+        return builder.build();
+    }
+
+    private static void addFieldPlansForPrefixes(ImmutableListMultimap<String, FieldPlan> fieldPlansByPrefix, String name, Set<FieldPlan> affectedFieldPlans) {
+        for (Map.Entry<String, FieldPlan> entry : fieldPlansByPrefix.entries()) {
+            if (name.startsWith(entry.getKey())) {
+                affectedFieldPlans.add(entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * @return true if a field is annotated with {@link PropertyValue} or {@link PropertyMap}
+     */
+    public boolean readsProperties() {
+        return !fieldPlansByPropertyName.isEmpty() || !fieldPlansByPropertyNamePrefix.isEmpty();
+    }
+
+    /**
+     * @return true if a field is annotated with {@link SystemPropertyValue}, {@link EnvironmentVariableValue} or {@link EnvironmentVariablePrefix}
+     */
+    public boolean readsSystemSnapshot() {
+        return !fieldPlansBySystemPropertyName.isEmpty() || !fieldPlansByEnvironmentVariableName.isEmpty() || !fieldPlansByEnvironmentVariablePrefix.isEmpty();
+    }
+
+    /**
+     * @return the binder generated for the config class, or null if the class has no binder
+     */
+    public ConfigBinder<Object> getBinder() {
+        return binder;
+    }
+
+    /**
+     * @param fieldPlan the plan of a field of the config class
+     * @return the binder which sets the field directly, or null if the field is set by its {@link FieldWriter}
+     */
+    public FieldBinder<Object> getFieldBinder(FieldPlan fieldPlan) {
+        return fieldBinders.get(fieldPlan);
+    }
+
+    /**
+     * Gets the runtime binder of the config class, creating it on first use.
+     *
+     * @return the runtime binder of the config class
+     */
+    public RuntimeBinder getRuntimeBinder() {
+        RuntimeBinder result = runtimeBinder;
+        if (result == null) {
+            result = RuntimeBinder.of(this);
+            runtimeBinder = result;
+            log.debug("created runtime binder for {}", configClass.getName());
+        }
+        return result;
+    }
+
+    /**
+     * @return the accessible methods of the config class and its superclasses which are annotated with {@link Validation}
+     */
+    public List<Method> getValidationMethods() {
+        return validationMethods;
+    }
+
+    /**
+     * @return false if JSR303 validation can not find any constraint for instances of the config class and can be skipped
+     */
+    public boolean isConstrained() {
+        return constrained;
+    }
+}
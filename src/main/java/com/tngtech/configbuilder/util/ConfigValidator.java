@@ -1,7 +1,6 @@
 package com.tngtech.configbuilder.util;
 
 
-import com.tngtech.configbuilder.annotation.validation.Validation;
 import com.tngtech.configbuilder.configuration.ErrorMessageSetup;
 import com.tngtech.configbuilder.exception.ValidatorException;
 import org.slf4j.Logger;
@@ -18,24 +17,26 @@ public class ConfigValidator<T> {
 
     private final ConfigBuilderFactory configBuilderFactory;
     private final ErrorMessageSetup errorMessageSetup;
-    private final AnnotationHelper annotationHelper;
 
     public ConfigValidator(ConfigBuilderFactory miscFactory) {
         this.configBuilderFactory = miscFactory;
-        this.annotationHelper = configBuilderFactory.getInstance(AnnotationHelper.class);
         this.errorMessageSetup = configBuilderFactory.getInstance(ErrorMessageSetup.class);
     }
 
     public void validate(T instanceOfConfigClass) {
         log.debug("validating instance of {}", instanceOfConfigClass.getClass());
-        callValidationMethods(instanceOfConfigClass);
-        callJSRValidation(instanceOfConfigClass);
+        ConfigPlan configPlan = ConfigPlan.of(instanceOfConfigClass.getClass());
+        callValidationMethods(configPlan, instanceOfConfigClass);
+        if (configPlan.isConstrained()) {
+            callJSRValidation(instanceOfConfigClass);
+        } else {
+            log.debug("{} has no constraints: skipping JSR303 validation", instanceOfConfigClass.getClass());
+        }
     }
 
-    private void callValidationMethods(T instanceOfConfigClass) {
-        for (Method method : annotationHelper.getMethodsAnnotatedWith(instanceOfConfigClass.getClass(), Validation.class)) {
+    private void callValidationMethods(ConfigPlan configPlan, T instanceOfConfigClass) {
+        for (Method method : configPlan.getValidationMethods()) {
             try {
-                method.setAccessible(true);
                 method.invoke(instanceOfConfigClass);
             } catch (Exception e) {
                 throw new ValidatorException(errorMessageSetup.getErrorMessage(e), e);
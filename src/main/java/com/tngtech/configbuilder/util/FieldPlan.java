@@ -0,0 +1,139 @@
+package com.tngtech.configbuilder.util;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.tngtech.configbuilder.annotation.configuration.DoNotLogValue;
+import com.tngtech.configbuilder.annotation.configuration.LoadingOrder;
+import com.tngtech.configbuilder.annotation.configuration.Separator;
+import com.tngtech.configbuilder.annotation.typetransformer.StringSplitter;
+import com.tngtech.configbuilder.annotation.typetransformer.TypeTransformer;
+import com.tngtech.configbuilder.annotation.typetransformer.TypeTransformers;
+import com.tngtech.configbuilder.annotation.valueextractor.ValueExtractorAnnotation;
+import com.tngtech.configbuilder.annotation.valueextractor.ValueExtractorProcessor;
+import com.tngtech.configbuilder.configuration.BuilderConfiguration;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable description of how a single field of a config class is configured: the {@link ValueExtractorAnnotation} annotations
+ * in processing order together with their processors, the transformers to try, the separator and whether the value may be logged.
+ */
+public class FieldPlan {
+
+    private static final AnnotationHelper annotationHelper = new AnnotationHelper();
+
+    private final Field field;
+    private final FieldWriter writer;
+    private final Type genericType;
+    private final boolean doNotLogValue;
+    private final String separator;
+    private final StringSplitter splitter;
+    private final List<Class<? extends TypeTransformer>> transformerClasses;
+    private final boolean hasFieldLoadingOrder;
+    private final Class<? extends Annotation>[] plannedAnnotationOrder;
+    private final List<Annotation> valueAnnotations;
+    private final ImmutableMap<Class<? extends Annotation>, Class<? extends ValueExtractorProcessor>> processorClasses;
+
+    /**
+     * @param field                  the field to describe
+     * @param globalAnnotationOrder the order of the config class which applies if the field has no {@link LoadingOrder} of its own
+     */
+    public FieldPlan(Field field, Class<? extends Annotation>[] globalAnnotationOrder) {
+        field.setAccessible(true);
+        this.field = field;
+        this.writer = new FieldWriter(field);
+        this.genericType = field.getGenericType();
+        this.doNotLogValue = field.isAnnotationPresent(DoNotLogValue.class);
+        this.separator = field.isAnnotationPresent(Separator.class) ? field.getAnnotation(Separator.class).value() : ",";
+        this.splitter = field.isAnnotationPresent(Separator.class) ? createSplitter(field.getAnnotation(Separator.class)) : new StringSplitter(separator, false, false);
+        this.transformerClasses = collectTransformerClasses(field);
+        this.hasFieldLoadingOrder = field.isAnnotationPresent(LoadingOrder.class);
+        this.plannedAnnotationOrder = hasFieldLoadingOrder ? field.getAnnotation(LoadingOrder.class).value() : globalAnnotationOrder.clone();
+        this.valueAnnotations = ImmutableList.copyOf(annotationHelper.getAnnotationsInOrder(field, plannedAnnotationOrder));
+        this.processorClasses = collectProcessorClasses(field);
+    }
+
+    public FieldPlan(Field field) {
+        this(field, BuilderConfiguration.getDefaultAnnotationOrder());
+    }
+
+    private static StringSplitter createSplitter(Separator separator) {
+        return new StringSplitter(separator.value(), separator.regex(), separator.trim());
+    }
+
+    private static List<Class<? extends TypeTransformer>> collectTransformerClasses(Field field) {
+        ImmutableList.Builder<Class<? extends TypeTransformer>> builder = ImmutableList.builder();
+        if (field.isAnnotationPresent(TypeTransformers.class)) {
+            builder.add(field.getAnnotation(TypeTransformers.class).value());
+        }
+        return builder.addAll(FieldValueTransformer.getDefaultTransformers()).build();
+    }
+
+    private static ImmutableMap<Class<? extends Annotation>, Class<? extends ValueExtractorProcessor>> collectProcessorClasses(Field field) {
+        ImmutableMap.Builder<Class<? extends Annotation>, Class<? extends ValueExtractorProcessor>> builder = ImmutableMap.builder();
+        for (Annotation annotation : annotationHelper.getAnnotationsAnnotatedWith(field.getDeclaredAnnotations(), ValueExtractorAnnotation.class)) {
+            builder.put(annotation.annotationType(), annotation.annotationType().getAnnotation(ValueExtractorAnnotation.class).value());
+        }
+        return builder.build();
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    public FieldWriter getWriter() {
+        return writer;
+    }
+
+    public String getName() {
+        return field.getName();
+    }
+
+    public Type getGenericType() {
+        return genericType;
+    }
+
+    public boolean isDoNotLogValue() {
+        return doNotLogValue;
+    }
+
+    public String getSeparator() {
+        return separator;
+    }
+
+    /**
+     * @return the splitter for the separator and options of the {@link Separator} annotation
+     */
+    public StringSplitter getSplitter() {
+        return splitter;
+    }
+
+    /**
+     * @return the transformers suggested by a {@link TypeTransformers} annotation, followed by the default transformers
+     */
+    public List<Class<? extends TypeTransformer>> getTransformerClasses() {
+        return transformerClasses;
+    }
+
+    /**
+     * Gets the {@link ValueExtractorAnnotation} annotations of the field in processing order.
+     * The planned list is returned unless the field has no {@link LoadingOrder} of its own and the given global order differs from the planned one.
+     *
+     * @param globalAnnotationOrder the global order of the current build
+     * @return the annotations in processing order
+     */
+    public List<Annotation> getValueAnnotations(Class<? extends Annotation>[] globalAnnotationOrder) {
+        if (hasFieldLoadingOrder || Arrays.equals(plannedAnnotationOrder, globalAnnotationOrder)) {
+            return valueAnnotations;
+        }
+        return annotationHelper.getAnnotationsInOrder(field, globalAnnotationOrder);
+    }
+
+    public Class<? extends ValueExtractorProcessor> getProcessorClass(Annotation annotation) {
+        return processorClasses.get(annotation.annotationType());
+    }
+}
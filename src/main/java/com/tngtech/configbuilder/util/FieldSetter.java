@@ -2,47 +2,191 @@ package com.tngtech.configbuilder.util;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
-import com.tngtech.configbuilder.annotation.valueextractor.ValueExtractorAnnotation;
+import com.tngtech.configbuilder.binder.FieldBinder;
+import com.tngtech.configbuilder.binder.RuntimeBinder;
 import com.tngtech.configbuilder.configuration.BuilderConfiguration;
 import com.tngtech.configbuilder.configuration.ErrorMessageSetup;
 import com.tngtech.configbuilder.exception.ConfigBuilderException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.reflect.Array;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class FieldSetter<T> {
 
     private final static Logger log = LoggerFactory.getLogger(FieldSetter.class);
 
+    private final ConfigBuilderFactory configBuilderFactory;
     private final FieldValueTransformer fieldValueTransformer;
     private final FieldValueExtractor fieldValueExtractor;
     private final ErrorMessageSetup errorMessageSetup;
-    private final AnnotationHelper annotationHelper;
+    private final ConcurrentMap<Class<?>, AtomicInteger> builds = new ConcurrentHashMap<Class<?>, AtomicInteger>();
+    private volatile int runtimeBinderThreshold = -1;
 
     public FieldSetter(ConfigBuilderFactory configBuilderFactory) {
-        this.annotationHelper = configBuilderFactory.getInstance(AnnotationHelper.class);
+        this.configBuilderFactory = configBuilderFactory;
         this.errorMessageSetup = configBuilderFactory.getInstance(ErrorMessageSetup.class);
         this.fieldValueTransformer = configBuilderFactory.getInstance(FieldValueTransformer.class);
         this.fieldValueExtractor = configBuilderFactory.getInstance(FieldValueExtractor.class);
     }
 
     public void setFields(T instanceOfConfigClass, BuilderConfiguration builderConfiguration) {
+        setFields(instanceOfConfigClass, builderConfiguration, ConfigPlan.of(instanceOfConfigClass.getClass()).getFieldPlans());
+    }
 
-        for (Field field : getInheritedPrivateFields(instanceOfConfigClass.getClass())) {
-            if (field.isSynthetic()) {
+    /**
+     * Sets only the given fields of the instance.
+     *
+     * @param instanceOfConfigClass the instance to configure
+     * @param builderConfiguration  the configuration of the current build
+     * @param fieldPlans            the plans of the fields to set
+     */
+    public void setFields(T instanceOfConfigClass, BuilderConfiguration builderConfiguration, Collection<FieldPlan> fieldPlans) {
+        ConfigPlan configPlan = ConfigPlan.of(instanceOfConfigClass.getClass());
+        int buildThreshold = runtimeBinderThreshold;
+        RuntimeBinder runtimeBinder = buildThreshold >= 0 && countBuild(configPlan.getConfigClass(), buildThreshold) ? configPlan.getRuntimeBinder() : null;
+        ConfigBuilderFactory buildFactory = configBuilderFactory.forBuild(builderConfiguration);
+        for (FieldPlan fieldPlan : fieldPlans) {
+            Object value = fieldValueExtractor.extractValue(fieldPlan, builderConfiguration, buildFactory);
+            if (runtimeBinder != null && runtimeBinder.bind(instanceOfConfigClass, fieldPlan, value)) {
                 continue;
             }
+            value = fieldValueTransformer.transformFieldValue(fieldPlan, value);
+            setField(instanceOfConfigClass, configPlan, fieldPlan, value);
+        }
+    }
+
+    /**
+     * Counts a build of the config class by this field setter, until the class has been built more than the given number of times.
+     *
+     * @return true if the class has been built more than the given number of times
+     */
+    private boolean countBuild(Class<?> configClass, int buildThreshold) {
+        AtomicInteger counter = builds.get(configClass);
+        if (counter == null) {
+            AtomicInteger newCounter = new AtomicInteger();
+            counter = builds.putIfAbsent(configClass, newCounter);
+            if (counter == null) {
+                counter = newCounter;
+            }
+        }
+        return counter.get() > buildThreshold || counter.incrementAndGet() > buildThreshold;
+    }
+
+    /**
+     * Sets fields through the {@link RuntimeBinder} of the config class once the class has been built by this field setter more than the given number of times.
+     *
+     * @param buildThreshold the number of builds after which the runtime binder is used, or a negative number to disable runtime binders
+     */
+    public void setRuntimeBinderThreshold(int buildThreshold) {
+        this.runtimeBinderThreshold = buildThreshold;
+    }
 
-            if (annotationHelper.fieldHasAnnotationAnnotatedWith(field, ValueExtractorAnnotation.class)) {
-                Object value = fieldValueExtractor.extractValue(field, builderConfiguration);
-                value = fieldValueTransformer.transformFieldValue(field, value);
-                setField(instanceOfConfigClass, field, value);
-            } else {
-                log.debug("field {} is not annotated with any ValueExtractorAnnotation: skipping field", field.getName());
+    /**
+     * Copies the values of the given fields which can be copied safely. Immutable values, see {@link TransformedValueCache}, are shared.
+     * Arrays of primitives, and lists, sets and maps of the standard collection classes, enum sets and maps and arrays holding immutable
+     * values are copied, so the instances do not share them. Other values, e.g. instances of user-defined classes, may be mutable and
+     * are not copied; their fields have to be set again. All other fields of the target keep the values set by its constructor.
+     *
+     * @param source     the instance to copy from
+     * @param target     an instance of the same class
+     * @param fieldPlans the plans of the fields to copy
+     * @return the plans of the fields which were not copied, in the given order
+     */
+    public List<FieldPlan> copyFields(T source, T target, Collection<FieldPlan> fieldPlans) {
+        List<FieldPlan> fieldPlansNotCopied = new ArrayList<FieldPlan>();
+        for (FieldPlan fieldPlan : fieldPlans) {
+            Field field = fieldPlan.getField();
+            Object value = null;
+            try {
+                value = field.get(source);
+                Object copy = copyValue(value);
+                if (value != null && copy == null) {
+                    fieldPlansNotCopied.add(fieldPlan);
+                } else {
+                    field.set(target, copy);
+                }
+            } catch (IllegalAccessException | IllegalArgumentException e) {
+                throw new ConfigBuilderException(errorMessageSetup.getErrorMessage(e, field.getName(), field.getType().getName(), value == null ? "null" : value.toString()), e);
             }
         }
+        return fieldPlansNotCopied;
+    }
+
+    /**
+     * @return the immutable value itself, a copy of the value, or null if the value is null or cannot be copied safely
+     */
+    @SuppressWarnings("unchecked")
+    private static Object copyValue(Object value) {
+        if (value == null || TransformedValueCache.isImmutableValue(value)) {
+            return value;
+        }
+        Class<?> valueClass = value.getClass();
+        if (valueClass.isArray()) {
+            if (!valueClass.getComponentType().isPrimitive() && !TransformedValueCache.areImmutable(Arrays.asList((Object[]) value))) {
+                return null;
+            }
+            int length = Array.getLength(value);
+            Object copy = Array.newInstance(valueClass.getComponentType(), length);
+            System.arraycopy(value, 0, copy, 0, length);
+            return copy;
+        }
+        if (value instanceof EnumSet) {
+            return ((EnumSet<?>) value).clone();
+        }
+        if (value instanceof Collection && !TransformedValueCache.areImmutable((Collection<?>) value)) {
+            return null;
+        }
+        if (value instanceof Map && !(TransformedValueCache.areImmutable(((Map<?, ?>) value).keySet())
+                && TransformedValueCache.areImmutable(((Map<?, ?>) value).values()))) {
+            return null;
+        }
+        if (valueClass == ArrayList.class) {
+            return new ArrayList<Object>((Collection<Object>) value);
+        }
+        if (valueClass == LinkedList.class) {
+            return new LinkedList<Object>((Collection<Object>) value);
+        }
+        if (valueClass == HashSet.class) {
+            return new HashSet<Object>((Collection<Object>) value);
+        }
+        if (valueClass == LinkedHashSet.class) {
+            return new LinkedHashSet<Object>((Collection<Object>) value);
+        }
+        if (valueClass == TreeSet.class) {
+            return new TreeSet<Object>((TreeSet<Object>) value);
+        }
+        if (valueClass == HashMap.class) {
+            return new HashMap<Object, Object>((Map<Object, Object>) value);
+        }
+        if (valueClass == LinkedHashMap.class) {
+            return new LinkedHashMap<Object, Object>((Map<Object, Object>) value);
+        }
+        if (valueClass == TreeMap.class) {
+            return new TreeMap<Object, Object>((TreeMap<Object, Object>) value);
+        }
+        if (valueClass == EnumMap.class) {
+            return ((EnumMap<?, ?>) value).clone();
+        }
+        return null;
     }
 
     public static List<Field> getInheritedPrivateFields(Class type) {
@@ -57,18 +201,31 @@ public class FieldSetter<T> {
         return listBuilder.build();
     }
 
-    private void setField(T instanceOfConfigClass, Field field, Object value) {
+    private void setField(T instanceOfConfigClass, ConfigPlan configPlan, FieldPlan fieldPlan, Object value) {
+        Field field = fieldPlan.getField();
         try {
-            field.setAccessible(true);
             if(value == null && field.getType().isPrimitive()) {
                 log.warn("no value found for field {} of primitive type {}: field will be initialized to default", field.getName(), field.getType().getName());
             }
             else {
-                field.set(instanceOfConfigClass, value);
+                writeField(instanceOfConfigClass, configPlan, fieldPlan, value);
                 log.debug("set field {} of type {} to a value of type {}", field.getName(), field.getType().getName(), value == null ? "null" : value.getClass().getName());
             }
         } catch (Exception e) {
             throw new ConfigBuilderException(errorMessageSetup.getErrorMessage(e, field.getName(), field.getType().getName(), value == null ? "null" : value.toString()), e);
         }
     }
-}
\ No newline at end of file
+
+    private void writeField(T instanceOfConfigClass, ConfigPlan configPlan, FieldPlan fieldPlan, Object value) throws IllegalAccessException {
+        FieldBinder<Object> fieldBinder = configPlan.getFieldBinder(fieldPlan);
+        if (fieldBinder == null) {
+            fieldPlan.getWriter().write(instanceOfConfigClass, value);
+            return;
+        }
+        try {
+            fieldBinder.set(instanceOfConfigClass, value);
+        } catch (ClassCastException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}
@@ -27,19 +27,48 @@ public class FieldValueExtractor {
         Object value = null;
         boolean doNotLogValue = field.isAnnotationPresent(DoNotLogValue.class);
         Class<? extends Annotation>[] annotationOrderOfField = field.isAnnotationPresent(LoadingOrder.class) ? field.getAnnotation(LoadingOrder.class).value() : builderConfiguration.getAnnotationOrder();
+        ConfigBuilderFactory buildFactory = configBuilderFactory.forBuild(builderConfiguration);
         for (Annotation annotation : annotationHelper.getAnnotationsInOrder(field, annotationOrderOfField)) {
-            log.debug("trying to find a value for field {} with {} annotation", field.getName(), annotation.annotationType());
             Class<? extends ValueExtractorProcessor> processor = annotation.annotationType().getAnnotation(ValueExtractorAnnotation.class).value();
-            value = configBuilderFactory.getInstance(processor).getValue(annotation, configBuilderFactory);
+            value = getValue(field.getName(), annotation, processor, doNotLogValue, buildFactory);
             if (value != null) {
-                if (doNotLogValue) {
-                    log.debug("found value for field {} from {} annotation", field.getName(), annotation.annotationType());
-                } else {
-                    log.debug("found value \"{}\" for field {} from {} annotation", value, field.getName(), annotation.annotationType());
-                }
                 break;
             }
         }
         return value;
     }
+
+    public Object extractValue(FieldPlan fieldPlan, BuilderConfiguration builderConfiguration) {
+        return extractValue(fieldPlan, builderConfiguration, configBuilderFactory.forBuild(builderConfiguration));
+    }
+
+    /**
+     * @param fieldPlan            the plan of the field to extract the value for
+     * @param builderConfiguration the configuration of the current build
+     * @param buildFactory         the view of the factory for the current build, see {@link ConfigBuilderFactory#forBuild(BuilderConfiguration)}
+     * @return the first value found by the processors of the field, or null
+     */
+    public Object extractValue(FieldPlan fieldPlan, BuilderConfiguration builderConfiguration, ConfigBuilderFactory buildFactory) {
+        Object value = null;
+        for (Annotation annotation : fieldPlan.getValueAnnotations(builderConfiguration.getAnnotationOrder())) {
+            value = getValue(fieldPlan.getName(), annotation, fieldPlan.getProcessorClass(annotation), fieldPlan.isDoNotLogValue(), buildFactory);
+            if (value != null) {
+                break;
+            }
+        }
+        return value;
+    }
+
+    private Object getValue(String fieldName, Annotation annotation, Class<? extends ValueExtractorProcessor> processor, boolean doNotLogValue, ConfigBuilderFactory buildFactory) {
+        log.debug("trying to find a value for field {} with {} annotation", fieldName, annotation.annotationType());
+        Object value = configBuilderFactory.getInstance(processor).getValue(annotation, buildFactory);
+        if (value != null) {
+            if (doNotLogValue) {
+                log.debug("found value for field {} from {} annotation", fieldName, annotation.annotationType());
+            } else {
+                log.debug("found value \"{}\" for field {} from {} annotation", value, fieldName, annotation.annotationType());
+            }
+        }
+        return value;
+    }
 }
\ No newline at end of file
@@ -1,7 +1,7 @@
 package com.tngtech.configbuilder.util;
 
-import com.google.common.collect.Lists;
-import com.tngtech.configbuilder.annotation.configuration.Separator;
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
 import com.tngtech.configbuilder.annotation.typetransformer.*;
 import com.tngtech.configbuilder.configuration.ErrorMessageSetup;
 import com.tngtech.configbuilder.exception.TypeTransformerException;
@@ -10,63 +10,117 @@ import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Type;
-import java.util.ArrayList;
-
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Transforms field values to the type of the field.<p>
+ *
+ * The instance created by the factory transforms with the default transformers and delegates each field to a context for the
+ * transformers and separator options of the field. A context and the transformers it resolves are never modified after their creation,
+ * so a FieldValueTransformer can be used by concurrent builds.
+ */
 //TODO: Content transformers (transform even if types already match, allow null as argument)
 public class FieldValueTransformer {
 
     private final static Logger log = LoggerFactory.getLogger(FieldValueTransformer.class);
 
-    private final ConfigBuilderFactory configBuilderFactory;
-    private final ErrorMessageSetup errorMessageSetup;
-    private final GenericsAndCastingHelper genericsAndCastingHelper;
-    private Object[] additionalOptions;
+    private static final String DEFAULT_SEPARATOR = ",";
 
-    //Order is important: Prefer List over Set if both apply!
-    private final ArrayList<Class<? extends TypeTransformer>> defaultTransformers = Lists.<Class<? extends TypeTransformer>>newArrayList(
+    //Order is important: Prefer List over Set if both apply, and EnumSet and EnumMap over other sets and maps of enums!
+    private static final List<Class<? extends TypeTransformer>> defaultTransformers = ImmutableList.<Class<? extends TypeTransformer>>of(
             StringOrPrimitiveToPrimitiveTransformer.class,
             CharacterSeparatedStringToStringListTransformer.class,
+            CharacterSeparatedStringToEnumSetTransformer.class,
             CharacterSeparatedStringToStringSetTransformer.class,
+            CharacterSeparatedStringToImmutableStringListTransformer.class,
+            CharacterSeparatedStringToPrimitiveArrayTransformer.class,
             CollectionToArrayListTransformer.class,
+            CollectionToEnumSetTransformer.class,
             CollectionToHashSetTransformer.class,
+            MapToEnumMapTransformer.class,
+            MapToLinkedHashMapTransformer.class,
             StringCollectionToCommaSeparatedStringTransformer.class,
             StringToPathTransformer.class);
 
-    private ArrayList<TypeTransformer> availableTransformers = Lists.newArrayList();
+    private final ConfigBuilderFactory configBuilderFactory;
+    private final ErrorMessageSetup errorMessageSetup;
+    private final GenericsAndCastingHelper genericsAndCastingHelper;
+    private final List<Class<? extends TypeTransformer>> transformerClasses;
+    private final Object[] additionalOptions;
+    private final ConcurrentMap<List<Object>, FieldValueTransformer> contexts;
+    private final ConcurrentMap<ResolutionKey, Optional<TypeTransformer>> resolvedTransformers = new ConcurrentHashMap<ResolutionKey, Optional<TypeTransformer>>();
+    private volatile TransformedValueCache valueCache;
 
     public FieldValueTransformer(ConfigBuilderFactory configBuilderFactory) {
         this.configBuilderFactory = configBuilderFactory;
         this.errorMessageSetup = configBuilderFactory.getInstance(ErrorMessageSetup.class);
         this.genericsAndCastingHelper = configBuilderFactory.getInstance(GenericsAndCastingHelper.class);
+        this.transformerClasses = defaultTransformers;
+        this.additionalOptions = new Object[]{DEFAULT_SEPARATOR};
+        this.contexts = new ConcurrentHashMap<List<Object>, FieldValueTransformer>();
+    }
+
+    private FieldValueTransformer(FieldValueTransformer parent, List<Class<? extends TypeTransformer>> transformerClasses, String separator, StringSplitter splitter) {
+        this.configBuilderFactory = parent.configBuilderFactory;
+        this.errorMessageSetup = parent.errorMessageSetup;
+        this.genericsAndCastingHelper = parent.genericsAndCastingHelper;
+        this.transformerClasses = transformerClasses;
+        this.additionalOptions = new Object[]{separator, splitter};
+        this.contexts = parent.contexts;
+    }
+
+    public static List<Class<? extends TypeTransformer>> getDefaultTransformers() {
+        return defaultTransformers;
     }
 
     public Object transformFieldValue(Field field, Object sourceValue) {
-        initialize(field);
-        sourceValue = performNecessaryTransformations(sourceValue, field.getGenericType());
-        reset();
-        return sourceValue;
+        return transformFieldValue(new FieldPlan(field), sourceValue);
     }
 
-    private void initialize(Field field) {
-        for(Class<? extends TypeTransformer> transformerClass : getAllTransformers(field)) {
-            availableTransformers.add(configBuilderFactory.getInstance(transformerClass));
+    /**
+     * Values transformed from Strings are taken from and put into the value cache, if one is set.
+     * Strings which need no transformation are returned without using the cache.
+     */
+    public Object transformFieldValue(FieldPlan fieldPlan, Object sourceValue) {
+        TransformedValueCache cache = valueCache;
+        if (cache == null || !(sourceValue instanceof String) || genericsAndCastingHelper.typesMatch(sourceValue, fieldPlan.getGenericType())) {
+            return getContext(fieldPlan).performNecessaryTransformations(sourceValue, fieldPlan.getGenericType());
+        }
+        List<Object> transformation = getTransformation(fieldPlan);
+        Class<?> declaringClass = fieldPlan.getField().getDeclaringClass();
+        Object value = cache.get(declaringClass, (String) sourceValue, fieldPlan.getGenericType(), transformation);
+        if (value == null) {
+            value = getContext(fieldPlan).performNecessaryTransformations(sourceValue, fieldPlan.getGenericType());
+            cache.put(declaringClass, (String) sourceValue, fieldPlan.getGenericType(), transformation, value);
         }
-        additionalOptions = field.isAnnotationPresent(Separator.class)? new Object[]{field.getAnnotation(Separator.class).value()} : new Object[]{","};
+        return value;
+    }
+
+    /**
+     * @param valueCache the cache for transformed values shared by all fields, or null to transform every value
+     */
+    public void setValueCache(TransformedValueCache valueCache) {
+        this.valueCache = valueCache;
     }
 
-    private ArrayList<Class<? extends TypeTransformer>> getAllTransformers(Field field) {
-        ArrayList<Class<? extends TypeTransformer>> allTransformers = getUserSuggestedTransformers(field);
-        allTransformers.addAll(defaultTransformers);
-        return  allTransformers;
+    private static List<Object> getTransformation(FieldPlan fieldPlan) {
+        return Arrays.<Object>asList(fieldPlan.getTransformerClasses(), fieldPlan.getSplitter());
     }
 
-    private ArrayList<Class<? extends TypeTransformer>> getUserSuggestedTransformers(Field field) {
-        if(field.isAnnotationPresent(TypeTransformers.class)) {
-            TypeTransformers annotation =  field.getAnnotation(TypeTransformers.class);
-            return Lists.newArrayList(annotation.value());
-        } else {
-            return Lists.newArrayList();
+    private FieldValueTransformer getContext(FieldPlan fieldPlan) {
+        List<Object> key = getTransformation(fieldPlan);
+        FieldValueTransformer context = contexts.get(key);
+        if(context == null) {
+            FieldValueTransformer newContext = new FieldValueTransformer(this, fieldPlan.getTransformerClasses(), fieldPlan.getSeparator(), fieldPlan.getSplitter());
+            context = contexts.putIfAbsent(key, newContext);
+            if(context == null) {
+                context = newContext;
+            }
         }
+        return context;
     }
 
     public Object performNecessaryTransformations(Object sourceValue, Type targetType) {
@@ -74,28 +128,85 @@ public class FieldValueTransformer {
             return sourceValue;
         }
         Class<?> sourceClass = genericsAndCastingHelper.getWrapperClassIfPrimitive(sourceValue.getClass());
-        Class<?> targetClass = genericsAndCastingHelper.castTypeToClass(targetType);
-
-        log.debug("Searching for a transformer from {} to {}", sourceClass.getSimpleName(), targetClass.getSimpleName());
 
-        TypeTransformer<Object, ?> transformer = findApplicableTransformer(sourceClass, targetType);
+        TypeTransformer<Object, ?> transformer = getApplicableTransformer(sourceClass, targetType);
         sourceValue = transformer.transform(sourceValue);
         return performNecessaryTransformations(sourceValue, targetType);
     }
 
-    private TypeTransformer findApplicableTransformer(Class<?> sourceClass, Type targetType) {
+    /**
+     * @param sourceClass the class of the value to transform
+     * @param targetType  the type to transform the value to
+     * @return true if one of the transformers of this context transforms the source class to the target type directly
+     */
+    public boolean hasApplicableTransformer(Class<?> sourceClass, Type targetType) {
+        return resolveTransformer(genericsAndCastingHelper.getWrapperClassIfPrimitive(sourceClass), targetType).isPresent();
+    }
+
+    /**
+     * Looks up the transformer for one step of the transformation chain. The result of the search, including the absence of a transformer,
+     * is cached for the source class and the target type, so the search runs only once e.g. for all elements of a collection.
+     */
+    private TypeTransformer getApplicableTransformer(Class<?> sourceClass, Type targetType) {
+        Optional<TypeTransformer> resolvedTransformer = resolveTransformer(sourceClass, targetType);
+        if(!resolvedTransformer.isPresent()) {
+            throw new TypeTransformerException(errorMessageSetup.getErrorMessage(TypeTransformerException.class, sourceClass.toString(), targetType.toString()));
+        }
+        return resolvedTransformer.get();
+    }
+
+    private Optional<TypeTransformer> resolveTransformer(Class<?> sourceClass, Type targetType) {
+        ResolutionKey key = new ResolutionKey(sourceClass, targetType);
+        Optional<TypeTransformer> resolvedTransformer = resolvedTransformers.get(key);
+        if(resolvedTransformer == null) {
+            resolvedTransformer = findApplicableTransformer(sourceClass, targetType);
+            Optional<TypeTransformer> existingTransformer = resolvedTransformers.putIfAbsent(key, resolvedTransformer);
+            if(existingTransformer != null) {
+                resolvedTransformer = existingTransformer;
+            }
+        }
+        return resolvedTransformer;
+    }
+
+    private Optional<TypeTransformer> findApplicableTransformer(Class<?> sourceClass, Type targetType) {
         Class<?> targetClass = genericsAndCastingHelper.getWrapperClassIfPrimitive(genericsAndCastingHelper.castTypeToClass(targetType));
-        for(TypeTransformer<?,?> transformer: availableTransformers) {
+        log.debug("Searching for a transformer from {} to {}", sourceClass.getSimpleName(), targetClass.getSimpleName());
+
+        for(Class<? extends TypeTransformer> transformerClass : transformerClasses) {
+            TypeTransformer<?,?> transformer = configBuilderFactory.createInstance(transformerClass);
             transformer.initialize(this, configBuilderFactory, additionalOptions);
+            transformer.setTargetType(targetType);
             if(transformer.isMatching(sourceClass, targetClass)) {
-                transformer.setTargetType(targetType);
-                return transformer;
+                return Optional.<TypeTransformer>of(transformer);
             }
         }
-        throw new TypeTransformerException(errorMessageSetup.getErrorMessage(TypeTransformerException.class, sourceClass.toString(), targetType.toString()));
+        return Optional.absent();
     }
 
-    private void reset() {
-        availableTransformers = Lists.newArrayList();
+    private static final class ResolutionKey {
+        private final Class<?> sourceClass;
+        private final Type targetType;
+
+        private ResolutionKey(Class<?> sourceClass, Type targetType) {
+            this.sourceClass = sourceClass;
+            this.targetType = targetType;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ResolutionKey)) {
+                return false;
+            }
+            ResolutionKey other = (ResolutionKey) o;
+            return sourceClass.equals(other.sourceClass) && targetType.equals(other.targetType);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * sourceClass.hashCode() + targetType.hashCode();
+        }
     }
 }
@@ -0,0 +1,87 @@
+package com.tngtech.configbuilder.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * Writes values to a field of config instances through a method handle which is bound once per field,
+ * so that no access checks are performed when the field is set.
+ * Final fields and fields for which no method handle can be created are set by reflection.
+ */
+public class FieldWriter {
+
+    private final static Logger log = LoggerFactory.getLogger(FieldWriter.class);
+
+    private static final MethodType GENERIC_SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Field field;
+    private final MethodHandle setter;
+    private final MethodHandle genericSetter;
+
+    /**
+     * @param field the field to write, which must already be accessible
+     */
+    public FieldWriter(Field field) {
+        this.field = field;
+        this.setter = createSetter(field);
+        this.genericSetter = setter == null ? null : setter.asType(GENERIC_SETTER_TYPE);
+    }
+
+    private static MethodHandle createSetter(Field field) {
+        if (Modifier.isFinal(field.getModifiers())) {
+            return null;
+        }
+        try {
+            MethodHandle setter = MethodHandles.lookup().unreflectSetter(field);
+            if (Modifier.isStatic(field.getModifiers())) {
+                setter = MethodHandles.dropArguments(setter, 0, Object.class);
+            }
+            return setter.asType(MethodType.methodType(void.class, Object.class, field.getType()));
+        } catch (IllegalAccessException e) {
+            log.debug("could not bind a method handle to field {}: falling back to reflection", field.getName());
+            return null;
+        }
+    }
+
+    /**
+     * Sets the field of the given instance. Values for primitive fields must be instances of the matching wrapper class.
+     *
+     * @throws IllegalArgumentException if the value cannot be assigned to the field
+     * @throws IllegalAccessException   if the field can only be set by reflection and is not accessible
+     */
+    public void write(Object instance, Object value) throws IllegalAccessException {
+        if (genericSetter == null) {
+            field.set(instance, value);
+            return;
+        }
+        try {
+            genericSetter.invokeExact(instance, value);
+        } catch (ClassCastException e) {
+            throw new IllegalArgumentException(String.format("cannot set field %s of type %s to %s", field.getName(), field.getType().getName(), value), e);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    /**
+     * @return a method handle of type {@code (Object, <field type>)void} which sets the field without boxing primitive values,
+     * or {@code null} if the field can only be set by reflection
+     */
+    public MethodHandle getSetter() {
+        return setter;
+    }
+
+    public Field getField() {
+        return field;
+    }
+}
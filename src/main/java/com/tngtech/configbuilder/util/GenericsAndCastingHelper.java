@@ -54,9 +54,32 @@ public class GenericsAndCastingHelper {
                 return false;
             }
         }
+        else if(Map.class.isAssignableFrom((Class<?>)((ParameterizedType)targetType).getRawType())) {
+            if(Map.class.isAssignableFrom(sourceClass)) {
+                Type[] typeArguments = ((ParameterizedType) targetType).getActualTypeArguments();
+                return itemsMatch(((Map) sourceValue).keySet(), typeArguments[0])
+                        && itemsMatch(((Map) sourceValue).values(), typeArguments[1])
+                        && castTypeToClass(targetType).isAssignableFrom(sourceClass);
+            }
+            else {
+                return false;
+            }
+        }
         return (castTypeToClass(targetType)).isAssignableFrom(sourceClass);
     }
 
+    private boolean itemsMatch(Collection<?> items, Type typeArgument) {
+        if(!(typeArgument instanceof Class)) {
+            return true;
+        }
+        for(Object item : items) {
+            if(!((Class<?>) typeArgument).isAssignableFrom(item.getClass())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public boolean isPrimitiveOrWrapper(Class targetClass) {
         return primitiveToWrapperMapping.containsKey(targetClass) || primitiveToWrapperMapping.containsValue(targetClass);
     }
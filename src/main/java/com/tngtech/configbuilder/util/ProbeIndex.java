@@ -0,0 +1,200 @@
+package com.tngtech.configbuilder.util;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.text.Normalizer;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-wide index of the file names in the directories searched for properties files. Instead of probing every combination
+ * of base name, suffix and location with a separate lookup, each directory is listed once and candidate names are matched
+ * in memory, so most failing lookups are answered without touching the file system. Names are matched ignoring case and
+ * Unicode normalization, so a name which the file system might resolve is always passed on to the real lookup.<p>
+ *
+ * Lookups are grouped in rounds, e.g. one per load of properties files, see {@link #startRound()}. Within a round, every directory
+ * is checked for changes only once. A directory listing is reused as long as the modification time of the directory
+ * does not change, which happens whenever a file is created or deleted in it. Listings taken shortly after the directory was modified
+ * are only used within their round, since a file system with a coarse time resolution might not change the modification time again.<p>
+ *
+ * Class loaders are only indexed if they and their parents are plain instances of URLClassLoader whose class path consists of
+ * directories. The bootstrap class loader is assumed not to contain properties files of applications. For all other class loaders,
+ * e.g. with jar files on their class path or overriding the lookup of resources, {@link #mayContain(ClassLoader, String)} always
+ * returns true, so the real lookup is used.
+ */
+public class ProbeIndex {
+
+    private final static Logger log = LoggerFactory.getLogger(ProbeIndex.class);
+
+    private static final long RACY_LISTING_MILLIS = 2000;
+
+    private static final ProbeIndex sharedIndex = new ProbeIndex();
+
+    private final AtomicLong round = new AtomicLong();
+    private final ConcurrentMap<Path, Listing> listings = new ConcurrentHashMap<Path, Listing>();
+    private final LoadingCache<ClassLoader, List<Path>> classPathDirectories = CacheBuilder.newBuilder().weakKeys().build(new CacheLoader<ClassLoader, List<Path>>() {
+        @Override
+        public List<Path> load(ClassLoader classLoader) {
+            return getClassPathDirectories(classLoader);
+        }
+    });
+
+    public static ProbeIndex getSharedIndex() {
+        return sharedIndex;
+    }
+
+    /**
+     * Starts a new round of lookups, in which every directory is checked for changes again before it is used.
+     */
+    public void startRound() {
+        round.incrementAndGet();
+    }
+
+    /**
+     * @param directory    the directory to search
+     * @param relativeName the name of the file relative to the directory
+     * @return false if the file does not exist, true if it may be listed in its directory
+     */
+    public boolean mayContain(Path directory, String relativeName) {
+        Path file = directory.resolve(relativeName).normalize();
+        Path parent = file.getParent();
+        return parent == null || getListing(parent).contains(file.getFileName().toString());
+    }
+
+    /**
+     * @param classLoader  the class loader to search, or null for the system class loader
+     * @param resourceName the name of the resource as passed to {@link ClassLoader#getResource(String)}
+     * @return false if the class loader can not find the resource, true if it may find it
+     */
+    public boolean mayContain(ClassLoader classLoader, String resourceName) {
+        List<Path> directories = classPathDirectories.getUnchecked(classLoader != null ? classLoader : ClassLoader.getSystemClassLoader());
+        if (directories.isEmpty()) {
+            return true;
+        }
+        for (Path directory : directories) {
+            if (mayContain(directory, resourceName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void clear() {
+        listings.clear();
+        classPathDirectories.invalidateAll();
+    }
+
+    private Listing getListing(Path directory) {
+        long currentRound = round.get();
+        Listing listing = listings.get(directory);
+        if (listing != null && listing.checkedRound == currentRound) {
+            return listing;
+        }
+        long lastModified = getLastModified(directory);
+        if (listing == null || !listing.isValid(lastModified)) {
+            listing = listDirectory(directory, lastModified);
+            listings.put(directory, listing);
+        }
+        listing.checkedRound = currentRound;
+        return listing;
+    }
+
+    private static Listing listDirectory(Path directory, long lastModified) {
+        log.debug("listing directory {}", directory);
+        ImmutableSet.Builder<String> fileNames = ImmutableSet.builder();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                fileNames.add(normalizeName(file.getFileName().toString()));
+            }
+        } catch (NoSuchFileException e) {
+            return new Listing(ImmutableSet.<String>of(), lastModified);
+        } catch (IOException e) {
+            return new Listing(null, lastModified);
+        }
+        return new Listing(fileNames.build(), lastModified);
+    }
+
+    private static String normalizeName(String name) {
+        return Normalizer.normalize(name, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+    }
+
+    private static long getLastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * @return the directories searched by the class loader and its parents, or an empty list if the class loader can not be indexed
+     */
+    private static List<Path> getClassPathDirectories(ClassLoader classLoader) {
+        Set<Path> directories = new LinkedHashSet<Path>();
+        try {
+            for (ClassLoader currentClassLoader = classLoader; currentClassLoader != null; currentClassLoader = currentClassLoader.getParent()) {
+                if (currentClassLoader.getClass() != URLClassLoader.class) {
+                    return ImmutableList.of();
+                }
+                for (URL url : ((URLClassLoader) currentClassLoader).getURLs()) {
+                    if (!"file".equals(url.getProtocol())) {
+                        return ImmutableList.of();
+                    }
+                    Path path = Paths.get(url.toURI());
+                    if (!Files.isDirectory(path)) {
+                        return ImmutableList.of();
+                    }
+                    directories.add(path);
+                }
+            }
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            log.debug("cannot index class loader {}", classLoader, e);
+            return ImmutableList.of();
+        }
+        return ImmutableList.copyOf(directories);
+    }
+
+    /**
+     * The normalized names listed in a directory, together with the modification time it was listed at.
+     * If the names could not be listed, every name is considered to be contained.
+     */
+    private static class Listing {
+        private final Set<String> names;
+        private final long lastModified;
+        private final long listedAt = System.currentTimeMillis();
+        private volatile long checkedRound;
+
+        private Listing(Set<String> names, long lastModified) {
+            this.names = names;
+            this.lastModified = lastModified;
+        }
+
+        private boolean isValid(long currentLastModified) {
+            return names != null && currentLastModified == lastModified && listedAt - lastModified > RACY_LISTING_MILLIS;
+        }
+
+        private boolean contains(String name) {
+            return names == null || names.contains(normalizeName(name));
+        }
+    }
+}
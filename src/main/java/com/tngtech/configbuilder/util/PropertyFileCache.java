@@ -0,0 +1,179 @@
+package com.tngtech.configbuilder.util;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import com.tngtech.propertyloader.impl.PropertyFileReader;
+import com.tngtech.propertyloader.impl.PropertyLoaderFactory;
+import com.tngtech.propertyloader.impl.interfaces.PropertyLoaderOpener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Process-wide cache of parsed properties files. A file is parsed again only if its modification time or size changed.
+ * Files in jar archives are checked by the modification time and size of the archive. Files with other protocols are not cached.
+ * The cache is bounded, the least recently used files are evicted first.
+ */
+public class PropertyFileCache {
+
+    private final static Logger log = LoggerFactory.getLogger(PropertyFileCache.class);
+
+    static final String INCLUDE_KEY = "$include";
+
+    private static final long DEFAULT_MAXIMUM_SIZE = 1000;
+
+    private static final PropertyFileCache sharedCache = new PropertyFileCache();
+
+    private final PropertyFileReader propertyFileReader = new PropertyFileReader(new PropertyLoaderFactory());
+    private final Cache<List<Object>, PropertyFile> files;
+
+    public PropertyFileCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * @param maximumSize the maximum number of cached files, beyond which the least recently used files are evicted
+     */
+    public PropertyFileCache(long maximumSize) {
+        this.files = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+    }
+
+    public static PropertyFileCache getSharedCache() {
+        return sharedCache;
+    }
+
+    /**
+     * Gets the parsed file, reading it only if it was not read before or it changed since.
+     *
+     * @param url      the located URL of the file
+     * @param fileName the file name the URL was located for, which determines the file format
+     * @param encoding the encoding of the file
+     * @param opener   the opener which located the file
+     * @return the parsed file
+     */
+    public PropertyFile get(URL url, String fileName, String encoding, PropertyLoaderOpener opener) {
+        List<Object> key = Arrays.<Object>asList(url.toExternalForm(), encoding);
+        Fingerprint fingerprint = Fingerprint.of(url);
+        PropertyFile cachedFile = files.getIfPresent(key);
+        if (cachedFile != null && fingerprint != null && fingerprint.equals(cachedFile.getFingerprint())) {
+            return cachedFile;
+        }
+
+        log.debug("reading properties file {}", url);
+        PropertyFile propertyFile = new PropertyFile(url, fingerprint, propertyFileReader.tryToReadPropertiesFromFile(fileName, encoding, opener));
+        if (fingerprint != null) {
+            files.put(key, propertyFile);
+        }
+        return propertyFile;
+    }
+
+    public void clear() {
+        files.invalidateAll();
+    }
+
+    /**
+     * An immutable parsed properties file. The include key is split off the properties of the file.
+     */
+    public static class PropertyFile {
+        private final URL url;
+        private final Fingerprint fingerprint;
+        private final Map<String, String> properties;
+        private final List<String> includes;
+
+        PropertyFile(URL url, Fingerprint fingerprint, Properties properties) {
+            this.url = url;
+            this.fingerprint = fingerprint;
+            String include = properties.getProperty(INCLUDE_KEY);
+            this.includes = include == null ? ImmutableList.<String>of() : ImmutableList.copyOf(include.split(","));
+            Map<String, String> fileProperties = Maps.newHashMap(Maps.fromProperties(properties));
+            fileProperties.remove(INCLUDE_KEY);
+            this.properties = ImmutableMap.copyOf(fileProperties);
+        }
+
+        public URL getUrl() {
+            return url;
+        }
+
+        public Fingerprint getFingerprint() {
+            return fingerprint;
+        }
+
+        public Map<String, String> getProperties() {
+            return properties;
+        }
+
+        public List<String> getIncludes() {
+            return includes;
+        }
+    }
+
+    /**
+     * Modification time and size of the file, or of the archive which contains the file.
+     */
+    public static final class Fingerprint {
+        private final long lastModified;
+        private final long size;
+
+        private Fingerprint(long lastModified, long size) {
+            this.lastModified = lastModified;
+            this.size = size;
+        }
+
+        /**
+         * @return the fingerprint of the file, or null if the file cannot be checked for changes
+         */
+        public static Fingerprint of(URL url) {
+            try {
+                Path path = getPath(url);
+                if (path == null) {
+                    return null;
+                }
+                return new Fingerprint(Files.getLastModifiedTime(path).toMillis(), Files.size(path));
+            } catch (IOException | URISyntaxException | IllegalArgumentException e) {
+                return null;
+            }
+        }
+
+        private static Path getPath(URL url) throws IOException, URISyntaxException {
+            if ("file".equals(url.getProtocol())) {
+                return Paths.get(url.toURI());
+            }
+            if ("jar".equals(url.getProtocol())) {
+                URL jarFileURL = ((JarURLConnection) url.openConnection()).getJarFileURL();
+                return "file".equals(jarFileURL.getProtocol()) ? Paths.get(jarFileURL.toURI()) : null;
+            }
+            return null;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Fingerprint)) {
+                return false;
+            }
+            Fingerprint other = (Fingerprint) o;
+            return lastModified == other.lastModified && size == other.size;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (int) (lastModified ^ (lastModified >>> 32)) + (int) (size ^ (size >>> 32));
+        }
+    }
+}
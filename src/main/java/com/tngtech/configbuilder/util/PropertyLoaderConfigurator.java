@@ -18,7 +18,7 @@ public class PropertyLoaderConfigurator {
 
     public PropertyLoader configurePropertyLoader(Class<?> configClass) {
 
-        PropertyLoader propertyLoader = configBuilderFactory.createInstance(PropertyLoader.class).withDefaultConfig();
+        PropertyLoader propertyLoader = configBuilderFactory.createInstance(CachingPropertyLoader.class).withDefaultConfig();
         for (Annotation annotation : annotationHelper.getAnnotationsAnnotatedWith(configClass.getDeclaredAnnotations(), PropertyLoaderConfigurationAnnotation.class)) {
             Class<? extends PropertyLoaderConfigurationProcessor> processorClass = annotation.annotationType().getAnnotation(PropertyLoaderConfigurationAnnotation.class).value();
             configBuilderFactory.getInstance(processorClass).configurePropertyLoader(annotation, propertyLoader);
@@ -0,0 +1,59 @@
+package com.tngtech.configbuilder.util;
+
+import com.tngtech.propertyloader.impl.DefaultPropertyLocationContainer;
+import com.tngtech.propertyloader.impl.PropertyLoaderFactory;
+
+import java.net.URL;
+
+/**
+ * A location container which searches the same locations as the default container of the PropertyLoader,
+ * but with {@link ResourceOpener}s, so the {@link CachingPropertyLoader} can cache the files it finds.
+ */
+public class ResourceLocationContainer extends DefaultPropertyLocationContainer {
+
+    public ResourceLocationContainer() {
+        super(new PropertyLoaderFactory());
+    }
+
+    @Override
+    public DefaultPropertyLocationContainer atCurrentDirectory() {
+        getOpeners().add(ResourceOpener.atDirectory(""));
+        return this;
+    }
+
+    @Override
+    public DefaultPropertyLocationContainer atHomeDirectory() {
+        getOpeners().add(ResourceOpener.atDirectory(System.getProperty("user.home")));
+        return this;
+    }
+
+    @Override
+    public DefaultPropertyLocationContainer atDirectory(String directory) {
+        getOpeners().add(ResourceOpener.atDirectory(directory));
+        return this;
+    }
+
+    @Override
+    public DefaultPropertyLocationContainer atContextClassPath() {
+        getOpeners().add(ResourceOpener.atContextClassLoader());
+        return this;
+    }
+
+    @Override
+    public DefaultPropertyLocationContainer atRelativeToClass(Class<?> reference) {
+        getOpeners().add(ResourceOpener.relativeToClass(reference));
+        return this;
+    }
+
+    @Override
+    public DefaultPropertyLocationContainer atClassLoader(ClassLoader classLoader) {
+        getOpeners().add(ResourceOpener.atClassLoader(classLoader));
+        return this;
+    }
+
+    @Override
+    public DefaultPropertyLocationContainer atBaseURL(URL url) {
+        getOpeners().add(ResourceOpener.atBaseURL(url));
+        return this;
+    }
+}
@@ -0,0 +1,265 @@
+package com.tngtech.configbuilder.util;
+
+import com.tngtech.propertyloader.impl.interfaces.PropertyLoaderOpener;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * A PropertyLoaderOpener which can tell where a file would be opened from without opening it.
+ * This allows the {@link CachingPropertyLoader} to check whether a properties file changed since it was read.<p>
+ *
+ * Files which are not listed in the {@link ProbeIndex} are not looked up at all, so the results may be outdated until
+ * the next round of lookups is started with {@link ProbeIndex#startRound()}.<p>
+ *
+ * Openers are equal if they search the same location, so equally configured PropertyLoaders share their cached files.
+ * Class loaders and classes are only referenced weakly by the location, so cached snapshots do not keep them from being unloaded.
+ * The opener of the context class loader searches the context class loader of the calling thread, which is also its location.
+ */
+public abstract class ResourceOpener implements PropertyLoaderOpener {
+
+    /**
+     * @param fileName the name of the file
+     * @return the URL of the file, or null if the file does not exist at this location
+     */
+    public abstract URL locate(String fileName);
+
+    /**
+     * @return the object which identifies the location searched at the time of the call, used for equals and hashCode
+     * and as part of the key of cached snapshots, so it must not reference class loaders strongly
+     */
+    protected abstract Object getLocation();
+
+    /**
+     * @return the directory of the local file system which is searched, or null if the location is not a directory
+     */
+    public Path getDirectory() {
+        return null;
+    }
+
+    @Override
+    public InputStream open(String fileName) {
+        URL url = locate(fileName);
+        if (url == null) {
+            return null;
+        }
+        try {
+            return url.openStream();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        Object location = getLocation();
+        Object otherLocation = ((ResourceOpener) o).getLocation();
+        return location == null ? otherLocation == null : location.equals(otherLocation);
+    }
+
+    @Override
+    public int hashCode() {
+        Object location = getLocation();
+        return 31 * getClass().hashCode() + (location == null ? 0 : location.hashCode());
+    }
+
+    public static ResourceOpener atDirectory(String directory) {
+        try {
+            return atBaseURL(new File(directory.replace('\\', '/')).toURI().toURL());
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException(directory, e);
+        }
+    }
+
+    public static ResourceOpener atBaseURL(URL baseURL) {
+        return new BaseURLOpener(baseURL);
+    }
+
+    public static ResourceOpener atClassLoader(ClassLoader classLoader) {
+        return new ClassLoaderOpener(classLoader);
+    }
+
+    public static ResourceOpener atContextClassLoader() {
+        return new ContextClassLoaderOpener();
+    }
+
+    public static ResourceOpener relativeToClass(Class<?> reference) {
+        return new RelativeToClassOpener(reference);
+    }
+
+    /**
+     * Identifies an object, e.g. a class loader, by identity without keeping it from being garbage collected.
+     */
+    private static final class WeakIdentity {
+        private final WeakReference<Object> referent;
+        private final int hashCode;
+
+        private WeakIdentity(Object referent) {
+            this.referent = new WeakReference<Object>(referent);
+            this.hashCode = System.identityHashCode(referent);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof WeakIdentity)) {
+                return false;
+            }
+            Object object = referent.get();
+            return object != null && object == ((WeakIdentity) o).referent.get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    private static class BaseURLOpener extends ResourceOpener {
+        private final URL baseURL;
+        private final Path directory;
+
+        private BaseURLOpener(URL baseURL) {
+            this.baseURL = baseURL;
+            this.directory = toDirectory(baseURL);
+        }
+
+        private static Path toDirectory(URL baseURL) {
+            if (!"file".equals(baseURL.getProtocol())) {
+                return null;
+            }
+            try {
+                return Paths.get(baseURL.toURI());
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public URL locate(String fileName) {
+            if (directory != null && !ProbeIndex.getSharedIndex().mayContain(directory, fileName)) {
+                return null;
+            }
+            URL url;
+            try {
+                url = new URL(baseURL, fileName);
+            } catch (MalformedURLException e) {
+                throw new RuntimeException(String.format("error while forming new URL from URL %s and filename %s", baseURL.getPath(), fileName), e);
+            }
+            if (!"file".equals(url.getProtocol())) {
+                return url;
+            }
+            try {
+                return new File(url.toURI()).isFile() ? url : null;
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                return url;
+            }
+        }
+
+        @Override
+        protected Object getLocation() {
+            return baseURL.toExternalForm();
+        }
+
+        @Override
+        public Path getDirectory() {
+            return directory;
+        }
+
+        @Override
+        public String toString() {
+            return "in path " + baseURL.getPath();
+        }
+    }
+
+    private static class ClassLoaderOpener extends ResourceOpener {
+        private final ClassLoader classLoader;
+
+        private ClassLoaderOpener(ClassLoader classLoader) {
+            this.classLoader = classLoader;
+        }
+
+        @Override
+        public URL locate(String fileName) {
+            return ProbeIndex.getSharedIndex().mayContain(classLoader, fileName) ? classLoader.getResource(fileName) : null;
+        }
+
+        @Override
+        protected Object getLocation() {
+            return new WeakIdentity(classLoader);
+        }
+
+        @Override
+        public String toString() {
+            return "by classloader " + classLoader;
+        }
+    }
+
+    private static class ContextClassLoaderOpener extends ResourceOpener {
+        @Override
+        public URL locate(String fileName) {
+            ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+            return ProbeIndex.getSharedIndex().mayContain(contextClassLoader, fileName) ? contextClassLoader.getResource(fileName) : null;
+        }
+
+        @Override
+        protected Object getLocation() {
+            return new WeakIdentity(Thread.currentThread().getContextClassLoader());
+        }
+
+        @Override
+        public String toString() {
+            return "in classpath";
+        }
+    }
+
+    private static class RelativeToClassOpener extends ResourceOpener {
+        private final Class<?> reference;
+
+        private RelativeToClassOpener(Class<?> reference) {
+            this.reference = reference;
+        }
+
+        @Override
+        public URL locate(String fileName) {
+            return ProbeIndex.getSharedIndex().mayContain(reference.getClassLoader(), resolveName(fileName)) ? reference.getResource(fileName) : null;
+        }
+
+        /**
+         * Resolves the name like {@link Class#getResource(String)}: names which are not absolute are relative to the package of the class.
+         */
+        private String resolveName(String fileName) {
+            if (fileName.startsWith("/")) {
+                return fileName.substring(1);
+            }
+            String className = reference.getName();
+            int packageEnd = className.lastIndexOf('.');
+            return packageEnd < 0 ? fileName : className.substring(0, packageEnd).replace('.', '/') + "/" + fileName;
+        }
+
+        @Override
+        protected Object getLocation() {
+            return new WeakIdentity(reference);
+        }
+
+        @Override
+        public String toString() {
+            return "near " + reference;
+        }
+    }
+}
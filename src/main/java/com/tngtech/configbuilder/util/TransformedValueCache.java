@@ -0,0 +1,127 @@
+package com.tngtech.configbuilder.util;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableCollection;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+import java.io.File;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bounded cache of field values transformed from Strings, keyed by the String, the target type and the transformers and separator
+ * used for the transformation, so repeated builds reuse the converted values instead of transforming the same String again.<p>
+ *
+ * Only immutable values are cached, e.g. Strings, numbers, enum constants, paths, files and locales, as well as Guava's immutable
+ * lists, sets and maps of such values, so cached values can be shared by all config instances. Mutable results, e.g. the
+ * ArrayLists, HashSets, enum sets and arrays created by the default transformers, are transformed again for every build.
+ * The transformers used with a cache are assumed to return equal values for equal Strings.<p>
+ *
+ * The values are cached separately for every class declaring a field, and are attached to that class like a {@link ClassValue},
+ * so the cache neither keeps the class loaders of the config classes, their types and transformers nor the values alive.
+ */
+public class TransformedValueCache {
+
+    private static final long DEFAULT_MAXIMUM_SIZE = 10000;
+
+    private static final Set<Class<?>> immutableClasses = ImmutableSet.<Class<?>>of(
+            String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class,
+            BigInteger.class, BigDecimal.class, File.class, Locale.class, URI.class);
+
+    /**
+     * Names of immutable classes which may not be available at runtime, so they are not referenced directly.
+     */
+    private static final Set<String> immutableClassNames = ImmutableSet.of("java.awt.Color");
+
+    private static final TransformedValueCache sharedCache = new TransformedValueCache(DEFAULT_MAXIMUM_SIZE);
+
+    private final long maximumSize;
+    private volatile ClassValue<Cache<List<Object>, Object>> values;
+
+    /**
+     * @param maximumSize the maximum number of cached values per class declaring a field, beyond which the least recently used values are evicted
+     */
+    public TransformedValueCache(long maximumSize) {
+        this.maximumSize = maximumSize;
+        this.values = createValues();
+    }
+
+    private ClassValue<Cache<List<Object>, Object>> createValues() {
+        return new ClassValue<Cache<List<Object>, Object>>() {
+            @Override
+            protected Cache<List<Object>, Object> computeValue(Class<?> declaringClass) {
+                return CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+            }
+        };
+    }
+
+    public static TransformedValueCache getSharedCache() {
+        return sharedCache;
+    }
+
+    /**
+     * @param declaringClass the class declaring the field the value is transformed for
+     * @return the cached value, or null if none is cached
+     */
+    public Object get(Class<?> declaringClass, String sourceValue, Type targetType, List<Object> transformation) {
+        return values.get(declaringClass).getIfPresent(createKey(sourceValue, targetType, transformation));
+    }
+
+    /**
+     * Caches the transformed value if it is immutable.
+     *
+     * @param declaringClass the class declaring the field the value is transformed for
+     */
+    public void put(Class<?> declaringClass, String sourceValue, Type targetType, List<Object> transformation, Object value) {
+        if (isImmutableValue(value)) {
+            values.get(declaringClass).put(createKey(sourceValue, targetType, transformation), value);
+        }
+    }
+
+    public void clear() {
+        values = createValues();
+    }
+
+    private static List<Object> createKey(String sourceValue, Type targetType, List<Object> transformation) {
+        return Arrays.<Object>asList(sourceValue, targetType, transformation);
+    }
+
+    /**
+     * @return true if the value is known to be immutable: an instance of a known immutable class, an enum constant, a path or
+     * one of Guava's immutable collections and maps of such values
+     */
+    static boolean isImmutableValue(Object value) {
+        if (value instanceof ImmutableCollection) {
+            return areImmutable((Collection<?>) value);
+        }
+        if (value instanceof ImmutableMap) {
+            return areImmutable(((Map<?, ?>) value).keySet()) && areImmutable(((Map<?, ?>) value).values());
+        }
+        return isImmutable(value);
+    }
+
+    static boolean areImmutable(Collection<?> values) {
+        for (Object value : values) {
+            if (!isImmutable(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isImmutable(Object value) {
+        return value != null && (immutableClasses.contains(value.getClass()) || value instanceof Enum || value instanceof Path
+                || immutableClassNames.contains(value.getClass().getName()));
+    }
+}
@@ -1,10 +1,16 @@
 package com.tngtech.configbuilder;
 
+import com.tngtech.configbuilder.testclasses.TestConfigPropertyMap;
 import com.tngtech.configbuilder.testclasses.TestConfigPropertyNamePrefix;
 import com.tngtech.configbuilder.testclasses.TestConfigWithoutDefaultConstructor;
 import org.junit.Test;
 
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 
 public class ConfigBuilderFeatureIntegrationTest {
     @Test
@@ -20,4 +26,20 @@ public class ConfigBuilderFeatureIntegrationTest {
 
         assertThat(config.getFoo()).isEqualTo("first property");
     }
+
+    @Test
+    public void testConfigBuilderWithPropertyMap() {
+        TestConfigPropertyMap config = ConfigBuilder.on(TestConfigPropertyMap.class).build();
+
+        assertThat(config.getPool()).containsExactly(entry("size", 10), entry("timeout", 30));
+        assertThat(config.getTenants()).containsExactly(entry("a.url", "http://a.example.com"), entry("b.url", "http://b.example.com"));
+    }
+
+    @Test
+    public void testConfigBuilderWithEnumCollections() {
+        TestConfigPropertyMap config = ConfigBuilder.on(TestConfigPropertyMap.class).build();
+
+        assertThat(config.getTimeouts()).isInstanceOf(EnumMap.class).containsExactly(entry(TimeUnit.SECONDS, 5), entry(TimeUnit.MINUTES, 2));
+        assertThat(config.getUnits()).isInstanceOf(EnumSet.class).containsExactly(TimeUnit.SECONDS, TimeUnit.MINUTES);
+    }
 }
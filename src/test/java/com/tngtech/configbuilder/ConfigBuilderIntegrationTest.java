@@ -10,6 +10,10 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Sets.newHashSet;
@@ -42,6 +46,15 @@ public class ConfigBuilderIntegrationTest {
         assertThat(systemOut.getLog()).contains("config validated");
     }
 
+    @Test
+    public void testConfigBuilderWithParallelLoading() {
+        Object expectedTestConfig = ConfigBuilder.on(TestConfig.class).build();
+
+        Object result = ConfigBuilder.on(TestConfig.class).withParallelLoading(4).build();
+
+        assertThat(result).isEqualToComparingFieldByField(expectedTestConfig);
+    }
+
     @Test
     public void testWithImportedConfig() {
         ArrayList<String> arrayList = newArrayList("collection", "two");
@@ -71,4 +84,29 @@ public class ConfigBuilderIntegrationTest {
         assertThat(result).isEqualToComparingFieldByField(expectedTestConfig);
         assertThat(systemOut.getLog()).contains("config validated");
     }
+
+    @Test
+    public void testConcurrentBuilds() throws Exception {
+        String[] args = {"-u", "--collection", "first entry,second entry"};
+        final ConfigBuilder<TestConfig> sharedConfigBuilder = ConfigBuilder.on(TestConfig.class).withCommandLineArgs(args);
+        final TestConfig expectedTestConfig = sharedConfigBuilder.build();
+
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<TestConfig>> results = newArrayList();
+            for (int i = 0; i < 40; i++) {
+                results.add(executorService.submit(new Callable<TestConfig>() {
+                    @Override
+                    public TestConfig call() {
+                        return sharedConfigBuilder.build();
+                    }
+                }));
+            }
+            for (Future<TestConfig> result : results) {
+                assertThat(result.get()).isEqualToComparingFieldByField(expectedTestConfig);
+            }
+        } finally {
+            executorService.shutdown();
+        }
+    }
 }
@@ -2,7 +2,9 @@ package com.tngtech.configbuilder;
 
 import com.tngtech.configbuilder.configuration.BuilderConfiguration;
 import com.tngtech.configbuilder.configuration.ErrorMessageSetup;
+import com.tngtech.configbuilder.configuration.SystemSnapshot;
 import com.tngtech.configbuilder.testclasses.TestConfig;
+import com.tngtech.configbuilder.testclasses.TestConfigPropertyMap;
 import com.tngtech.configbuilder.testutil.SystemOutRule;
 import com.tngtech.configbuilder.util.*;
 import com.tngtech.propertyloader.PropertyLoader;
@@ -22,6 +24,8 @@ import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Properties;
 
@@ -72,9 +76,11 @@ public class ConfigBuilderTest {
     @Mock
     private Properties properties;
 
+    private final SystemSnapshot systemSnapshot = SystemSnapshot.take();
+
     @Before
     public void setUp() {
-        when(configBuilderFactory.getInstance(BuilderConfiguration.class)).thenReturn(builderConfiguration);
+        when(configBuilderFactory.createInstance(BuilderConfiguration.class)).thenReturn(builderConfiguration);
         when(configBuilderFactory.getInstance(CommandLineHelper.class)).thenReturn(commandLineHelper);
         when(configBuilderFactory.getInstance(ConfigValidator.class)).thenReturn(configValidator);
         when(configBuilderFactory.getInstance(FieldSetter.class)).thenReturn(fieldSetter);
@@ -104,6 +110,23 @@ public class ConfigBuilderTest {
         verify(propertyLoader).withBaseNames(baseNames);
     }
 
+    @Test
+    public void testWithTransformedValueCache() {
+        FieldValueTransformer fieldValueTransformer = mock(FieldValueTransformer.class);
+        when(configBuilderFactory.getInstance(FieldValueTransformer.class)).thenReturn(fieldValueTransformer);
+
+        assertThat(configBuilder.withTransformedValueCache()).isSameAs(configBuilder);
+
+        verify(fieldValueTransformer).setValueCache(TransformedValueCache.getSharedCache());
+    }
+
+    @Test
+    public void testWithRuntimeBinders() {
+        assertThat(configBuilder.withRuntimeBinders(10)).isSameAs(configBuilder);
+
+        verify(fieldSetter).setRuntimeBinderThreshold(10);
+    }
+
     @Test
     public void testPrintCommandLineHelp() {
         configBuilder.printCommandLineHelp();
@@ -125,6 +148,113 @@ public class ConfigBuilderTest {
         verify(configValidator).validate(same(testConfig));
     }
 
+    @Test
+    public void testIncrementalRebuild() {
+        TestConfig previousConfig = new TestConfig();
+        TestConfig testConfig = new TestConfig();
+        when(constructionHelper.getInstance(TestConfig.class)).thenReturn(testConfig);
+        Properties previousProperties = new Properties();
+        previousProperties.setProperty("a", "previous");
+        previousProperties.setProperty("removed", "value");
+        Properties newProperties = new Properties();
+        newProperties.setProperty("a", "new");
+
+        TestConfig rebuiltConfig = configBuilder.rebuild(previousConfig,
+                new ConfigBuilder.BuildInput(previousProperties, systemSnapshot, new String[]{"-u"}, null),
+                new ConfigBuilder.BuildInput(newProperties, systemSnapshot, new String[]{"-u"}, null), new Object[0]);
+
+        assertThat(rebuiltConfig).isSameAs(testConfig);
+        verify(builderConfiguration).setProperties(newProperties);
+        verify(builderConfiguration).setSystemSnapshot(systemSnapshot);
+        List<FieldPlan> changedFieldPlans = ConfigPlan.of(TestConfig.class).getFieldPlansForProperties(Collections.singleton("a"));
+        List<FieldPlan> unchangedFieldPlans = new ArrayList<FieldPlan>(ConfigPlan.of(TestConfig.class).getFieldPlans());
+        unchangedFieldPlans.removeAll(changedFieldPlans);
+        verify(fieldSetter).copyFields(previousConfig, testConfig, unchangedFieldPlans);
+        verify(fieldSetter).setFields(testConfig, builderConfiguration, changedFieldPlans);
+        verify(configValidator).validate(testConfig);
+        verifyNoMoreInteractions(propertyLoader);
+    }
+
+    @Test
+    public void testThatRebuildSetsFieldsWhichCouldNotBeCopied() {
+        TestConfig previousConfig = new TestConfig();
+        TestConfig testConfig = new TestConfig();
+        when(constructionHelper.getInstance(TestConfig.class)).thenReturn(testConfig);
+        List<FieldPlan> fieldPlans = ConfigPlan.of(TestConfig.class).getFieldPlans();
+        when(fieldSetter.copyFields(same(previousConfig), same(testConfig), anyCollectionOf(FieldPlan.class)))
+                .thenReturn(Collections.singletonList(fieldPlans.get(0)));
+        Properties properties = new Properties();
+
+        configBuilder.rebuild(previousConfig,
+                new ConfigBuilder.BuildInput(properties, systemSnapshot, new String[0], null),
+                new ConfigBuilder.BuildInput(properties, systemSnapshot, new String[0], null), new Object[0]);
+
+        verify(fieldSetter).copyFields(previousConfig, testConfig, fieldPlans);
+        verify(fieldSetter).setFields(testConfig, builderConfiguration, Collections.singletonList(fieldPlans.get(0)));
+    }
+
+    @Test
+    public void testThatSystemSnapshotIsTakenOnlyForConfigsWhichReadIt() {
+        when(propertyLoader.load()).thenReturn(new Properties());
+
+        assertThat(configBuilder.loadBuildInput().getSystemSnapshot()).isNotNull();
+        assertThat(ConfigBuilder.on(TestConfigPropertyMap.class).loadBuildInput().getSystemSnapshot()).isNull();
+    }
+
+    @Test
+    public void testThatRebuildWithoutSystemSnapshotsResolvesChangedProperties() {
+        TestConfig testConfig = new TestConfig();
+        when(constructionHelper.getInstance(TestConfig.class)).thenReturn(testConfig);
+        Properties newProperties = new Properties();
+        newProperties.setProperty("a", "changed");
+
+        configBuilder.rebuild(new TestConfig(),
+                new ConfigBuilder.BuildInput(new Properties(), null, new String[0], null),
+                new ConfigBuilder.BuildInput(newProperties, null, new String[0], null), new Object[0]);
+
+        verify(fieldSetter).setFields(testConfig, builderConfiguration, ConfigPlan.of(TestConfig.class).getFieldPlansForProperties(Collections.singleton("a")));
+    }
+
+    @Test
+    public void testThatRebuildResolvesChangedSystemProperties() {
+        TestConfig testConfig = new TestConfig();
+        when(constructionHelper.getInstance(TestConfig.class)).thenReturn(testConfig);
+        Properties properties = new Properties();
+        String language = System.getProperty("user.language");
+        SystemSnapshot newSystemSnapshot;
+        try {
+            System.setProperty("user.language", "changed-" + language);
+            newSystemSnapshot = SystemSnapshot.take();
+        } finally {
+            System.setProperty("user.language", language);
+        }
+
+        configBuilder.rebuild(new TestConfig(),
+                new ConfigBuilder.BuildInput(properties, systemSnapshot, new String[0], null),
+                new ConfigBuilder.BuildInput(properties, newSystemSnapshot, new String[0], null), new Object[0]);
+
+        List<FieldPlan> changedFieldPlans = ConfigPlan.of(TestConfig.class).getFieldPlansFor(Collections.<String>emptySet(),
+                Collections.singleton("user.language"), Collections.<String>emptySet());
+        assertThat(changedFieldPlans).hasSize(1);
+        verify(builderConfiguration).setSystemSnapshot(newSystemSnapshot);
+        verify(fieldSetter).setFields(testConfig, builderConfiguration, changedFieldPlans);
+    }
+
+    @Test
+    public void testThatRebuildWithChangedArgumentsIsComplete() {
+        TestConfig testConfig = new TestConfig();
+        when(constructionHelper.getInstance(TestConfig.class)).thenReturn(testConfig);
+        Properties newProperties = new Properties();
+
+        configBuilder.rebuild(new TestConfig(),
+                new ConfigBuilder.BuildInput(new Properties(), systemSnapshot, new String[]{"-u"}, null),
+                new ConfigBuilder.BuildInput(newProperties, systemSnapshot, new String[0], null), new Object[0]);
+
+        verify(fieldSetter).setFields(same(testConfig), any(BuilderConfiguration.class));
+        verify(fieldSetter, never()).copyFields(any(TestConfig.class), any(TestConfig.class), anyCollectionOf(FieldPlan.class));
+        verify(configValidator).validate(testConfig);
+    }
+
     @Test
     public void testMerge() {
         TestConfig importedConfig = new TestConfig();
@@ -133,6 +263,7 @@ public class ConfigBuilderTest {
         configBuilder.withImportedConfiguration(importedConfig).build();
 
         verify(propertyLoader).load();
+        verify(builderConfiguration).setImportedConfiguration(importedConfig);
         verify(builderConfiguration).setProperties(properties);
         verify(errorMessageSetup).initialize(null, propertyLoader);
     }
@@ -140,12 +271,33 @@ public class ConfigBuilderTest {
     @Test
     public void testAddProperties() {
         Properties properties = mock(Properties.class);
+        Properties mergedProperties = mock(Properties.class);
+        when(configBuilderFactory.createInstance(Properties.class)).thenReturn(mergedProperties);
         assertThat(configBuilder.addProperties(properties)).isSameAs(configBuilder);
 
-        verify(additionalProperties).putAll(properties);
+        verify(mergedProperties).putAll(additionalProperties);
+        verify(mergedProperties).putAll(properties);
+        verifyZeroInteractions(additionalProperties);
         verifyNoMoreInteractions(propertyLoader);
     }
 
+    @Test
+    public void testThatAddedPropertiesAreLoadedWithoutChangingPreviousBuildInputs() {
+        when(propertyLoader.load()).thenReturn(new Properties(), new Properties());
+        Properties properties = new Properties();
+        properties.setProperty("a", "added");
+        Properties mergedProperties = new Properties();
+        ConfigBuilder.BuildInput previousBuildInput = configBuilder.loadBuildInput();
+        when(configBuilderFactory.createInstance(Properties.class)).thenReturn(mergedProperties);
+
+        configBuilder.addProperties(properties);
+        ConfigBuilder.BuildInput buildInput = configBuilder.loadBuildInput();
+
+        assertThat(previousBuildInput.getAdditionalProperties()).isSameAs(additionalProperties);
+        assertThat(buildInput.getAdditionalProperties()).isSameAs(mergedProperties);
+        assertThat(buildInput.getProperties().getProperty("a")).isEqualTo("added");
+    }
+
     @Test
     public void testWithExtension() {
         final String propertyExtension = "<propertyExtension>";
@@ -153,6 +305,7 @@ public class ConfigBuilderTest {
 
         verify(propertyLoader).withExtension(propertyExtension);
         verifyNoMoreInteractions(propertyLoader);
+        verify(errorMessageSetup).clearCache();
     }
 
     @Test
@@ -0,0 +1,113 @@
+package com.tngtech.configbuilder;
+
+import com.tngtech.configbuilder.configuration.SystemSnapshot;
+import com.tngtech.configbuilder.exception.ValidatorException;
+import com.tngtech.configbuilder.testclasses.TestConfig;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ConfigHandleTest {
+
+    @Mock
+    private ConfigBuilder<TestConfig> configBuilder;
+
+    private final Object[] constructorArguments = {"argument"};
+    private final TestConfig initialConfig = new TestConfig();
+    private final SystemSnapshot systemSnapshot = SystemSnapshot.take();
+    private final ConfigBuilder.BuildInput initialBuildInput = new ConfigBuilder.BuildInput(new Properties(), systemSnapshot, new String[0], null);
+    private final ConfigBuilder.BuildInput newBuildInput = new ConfigBuilder.BuildInput(new Properties(), systemSnapshot, new String[0], null);
+    private ConfigHandle<TestConfig> configHandle;
+
+    @Before
+    public void setUp() {
+        configHandle = new ConfigHandle<TestConfig>(configBuilder, initialConfig, initialBuildInput, constructorArguments);
+    }
+
+    @Test
+    public void testGet() {
+        assertThat(configHandle.get()).isSameAs(initialConfig);
+    }
+
+    @Test
+    public void testRebuild() {
+        TestConfig rebuiltConfig = new TestConfig();
+        when(configBuilder.loadBuildInput()).thenReturn(newBuildInput);
+        when(configBuilder.rebuild(initialConfig, initialBuildInput, newBuildInput, constructorArguments)).thenReturn(rebuiltConfig);
+
+        assertThat(configHandle.rebuild()).isSameAs(rebuiltConfig);
+        assertThat(configHandle.get()).isSameAs(rebuiltConfig);
+    }
+
+    @Test
+    public void testThatRebuildComparesWithInputOfCurrentConfig() {
+        TestConfig rebuiltConfig = new TestConfig();
+        TestConfig secondRebuiltConfig = new TestConfig();
+        ConfigBuilder.BuildInput secondBuildInput = new ConfigBuilder.BuildInput(new Properties(), systemSnapshot, new String[0], null);
+        when(configBuilder.loadBuildInput()).thenReturn(newBuildInput);
+        when(configBuilder.rebuild(initialConfig, initialBuildInput, newBuildInput, constructorArguments)).thenReturn(rebuiltConfig);
+        when(configBuilder.rebuild(rebuiltConfig, newBuildInput, secondBuildInput, constructorArguments)).thenReturn(secondRebuiltConfig);
+
+        configHandle.rebuild();
+        when(configBuilder.loadBuildInput()).thenReturn(secondBuildInput);
+
+        assertThat(configHandle.rebuild()).isSameAs(secondRebuiltConfig);
+    }
+
+    @Test
+    public void testThatFailedRebuildKeepsCurrentConfig() {
+        ValidatorException exception = new ValidatorException("invalid", (Throwable) null);
+        when(configBuilder.loadBuildInput()).thenReturn(newBuildInput);
+        when(configBuilder.rebuild(initialConfig, initialBuildInput, newBuildInput, constructorArguments)).thenThrow(exception);
+
+        try {
+            configHandle.rebuild();
+            fail("rebuild should throw");
+        } catch (ValidatorException e) {
+            assertThat(e).isSameAs(exception);
+        }
+        assertThat(configHandle.get()).isSameAs(initialConfig);
+    }
+
+    @Test
+    public void testThatGetSeesRebuiltConfigsWhileRebuilding() throws Exception {
+        final TestConfig rebuiltConfig = new TestConfig();
+        when(configBuilder.loadBuildInput()).thenReturn(newBuildInput);
+        when(configBuilder.rebuild(initialConfig, initialBuildInput, newBuildInput, constructorArguments)).thenReturn(rebuiltConfig);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<TestConfig>> results = new ArrayList<Future<TestConfig>>();
+            for (int i = 0; i < 100; i++) {
+                results.add(executorService.submit(new Callable<TestConfig>() {
+                    @Override
+                    public TestConfig call() {
+                        return configHandle.get();
+                    }
+                }));
+            }
+            configHandle.rebuild();
+            for (Future<TestConfig> result : results) {
+                assertThat(result.get()).isIn(initialConfig, rebuiltConfig);
+            }
+        } finally {
+            executorService.shutdown();
+        }
+        assertThat(configHandle.get()).isSameAs(rebuiltConfig);
+    }
+}
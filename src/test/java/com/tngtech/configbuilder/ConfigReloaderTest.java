@@ -0,0 +1,136 @@
+package com.tngtech.configbuilder;
+
+import com.tngtech.configbuilder.annotation.valueextractor.PropertyValue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.validation.constraints.Pattern;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConfigReloaderTest {
+
+    public static class ReloadableConfig {
+        @PropertyValue("value")
+        @Pattern(regexp = "[a-z]+")
+        private String value;
+
+        @PropertyValue("values")
+        private List<String> values;
+
+        public String getValue() {
+            return value;
+        }
+
+        public List<String> getValues() {
+            return values;
+        }
+    }
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final BlockingQueue<ReloadableConfig> reloadedConfigs = new LinkedBlockingQueue<ReloadableConfig>();
+    private ConfigReloader<ReloadableConfig> configReloader;
+
+    @Before
+    public void setUp() throws Exception {
+        writeFile("reloadable.properties", "value=initial\nvalues=a,b\n");
+        configReloader = ConfigBuilder.on(ReloadableConfig.class)
+                .withPropertyLocations(temporaryFolder.getRoot().getPath())
+                .withPropertiesFile("reloadable")
+                .withReloadDelay(50, TimeUnit.MILLISECONDS)
+                .buildAndWatch();
+        configReloader.addListener(new ConfigReloader.Listener<ReloadableConfig>() {
+            @Override
+            public void configReloaded(ReloadableConfig config) {
+                reloadedConfigs.add(config);
+            }
+        });
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        configReloader.close();
+    }
+
+    private void writeFile(String fileName, String content) throws Exception {
+        Files.write(new File(temporaryFolder.getRoot(), fileName).toPath(), content.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    @Test
+    public void testThatInitialConfigIsBuilt() {
+        assertThat(configReloader.get().getValue()).isEqualTo("initial");
+    }
+
+    @Test
+    public void testThatConfigIsReloadedWhenFileChanges() throws Exception {
+        writeFile("reloadable.properties", "value=reloaded\n");
+
+        ReloadableConfig reloadedConfig = reloadedConfigs.poll(10, TimeUnit.SECONDS);
+
+        assertThat(reloadedConfig).isNotNull();
+        assertThat(reloadedConfig.getValue()).isEqualTo("reloaded");
+        assertThat(configReloader.get()).isSameAs(reloadedConfig);
+        assertThat(configReloader.getHandle().get()).isSameAs(reloadedConfig);
+    }
+
+    @Test
+    public void testThatConfigIsReloadedWhenOverridingFileIsCreated() throws Exception {
+        writeFile("reloadable.override.properties", "value=overridden\n");
+
+        ReloadableConfig reloadedConfig = reloadedConfigs.poll(10, TimeUnit.SECONDS);
+
+        assertThat(reloadedConfig).isNotNull();
+        assertThat(reloadedConfig.getValue()).isEqualTo("overridden");
+    }
+
+    @Test
+    public void testThatOnlyFieldsOfChangedPropertiesAreResolvedAgain() throws Exception {
+        ReloadableConfig initialConfig = configReloader.get();
+        writeFile("reloadable.properties", "value=reloaded\nvalues=a,b\n");
+
+        assertThat(configReloader.reload()).isTrue();
+
+        ReloadableConfig reloadedConfig = configReloader.get();
+        assertThat(reloadedConfig).isNotSameAs(initialConfig);
+        assertThat(reloadedConfig.getValue()).isEqualTo("reloaded");
+        assertThat(reloadedConfig.getValues()).containsExactly("a", "b").isNotSameAs(initialConfig.getValues());
+    }
+
+    @Test
+    public void testThatInvalidConfigIsNotPublished() throws Exception {
+        ReloadableConfig initialConfig = configReloader.get();
+        writeFile("reloadable.properties", "value=INVALID\n");
+
+        assertThat(configReloader.reload()).isFalse();
+        assertThat(configReloader.get()).isSameAs(initialConfig);
+    }
+
+    @Test
+    public void testThatUnrelatedFilesAreIgnored() throws Exception {
+        writeFile("unrelated.properties", "value=unrelated\n");
+
+        assertThat(reloadedConfigs.poll(500, TimeUnit.MILLISECONDS)).isNull();
+        assertThat(configReloader.get().getValue()).isEqualTo("initial");
+    }
+
+    @Test
+    public void testThatClosedReloaderStopsWatching() throws Exception {
+        configReloader.close();
+        writeFile("reloadable.properties", "value=reloaded\n");
+
+        assertThat(reloadedConfigs.poll(500, TimeUnit.MILLISECONDS)).isNull();
+        assertThat(configReloader.get().getValue()).isEqualTo("initial");
+    }
+}
@@ -0,0 +1,71 @@
+package com.tngtech.configbuilder.annotation.typetransformer;
+
+import com.tngtech.configbuilder.configuration.ErrorMessageSetup;
+import com.tngtech.configbuilder.util.ConfigBuilderFactory;
+import com.tngtech.configbuilder.util.FieldValueTransformer;
+import com.tngtech.configbuilder.util.GenericsAndCastingHelper;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CharacterSeparatedStringToEnumSetTransformerTest {
+
+    enum TestEnum {
+        ONE, TWO, THREE
+    }
+
+    private Set<TestEnum> enumSet;
+    private Set<String> stringSet;
+
+    private CharacterSeparatedStringToEnumSetTransformer transformer = new CharacterSeparatedStringToEnumSetTransformer();
+
+    @Mock
+    private FieldValueTransformer fieldValueTransformer;
+    @Mock
+    private ConfigBuilderFactory configBuilderFactory;
+
+    @Before
+    public void setUp() throws Exception {
+        when(configBuilderFactory.getInstance(ErrorMessageSetup.class)).thenReturn(new ErrorMessageSetup());
+        when(configBuilderFactory.getInstance(GenericsAndCastingHelper.class)).thenReturn(new GenericsAndCastingHelper());
+        transformer.initialize(fieldValueTransformer, configBuilderFactory, ",", new StringSplitter(",", false, true));
+        transformer.setTargetType(getClass().getDeclaredField("enumSet").getGenericType());
+    }
+
+    @Test
+    public void testTransform() {
+        EnumSet result = transformer.transform("three, one,ONE");
+
+        assertThat(result).containsExactly(TestEnum.ONE, TestEnum.THREE);
+    }
+
+    @Test
+    public void testThatUnknownNamesAreTransformedByFieldValueTransformer() {
+        when(fieldValueTransformer.performNecessaryTransformations("2", TestEnum.class)).thenReturn(TestEnum.TWO);
+
+        assertThat(transformer.transform("one,2")).containsExactly(TestEnum.ONE, TestEnum.TWO);
+    }
+
+    @Test
+    public void testIsMatching() throws Exception {
+        assertThat(transformer.isMatching(String.class, Set.class)).isTrue();
+        assertThat(transformer.isMatching(String.class, EnumSet.class)).isTrue();
+        assertThat(transformer.isMatching(String.class, Collection.class)).isTrue();
+        assertThat(transformer.isMatching(String.class, List.class)).isFalse();
+        assertThat(transformer.isMatching(Integer.class, Set.class)).isFalse();
+
+        transformer.setTargetType(getClass().getDeclaredField("stringSet").getGenericType());
+        assertThat(transformer.isMatching(String.class, Set.class)).isFalse();
+    }
+}
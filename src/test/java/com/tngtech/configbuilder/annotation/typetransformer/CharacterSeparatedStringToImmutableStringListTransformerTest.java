@@ -0,0 +1,42 @@
+package com.tngtech.configbuilder.annotation.typetransformer;
+
+import com.google.common.collect.ImmutableList;
+import com.tngtech.configbuilder.util.ConfigBuilderFactory;
+import com.tngtech.configbuilder.util.FieldValueTransformer;
+import com.tngtech.configbuilder.util.GenericsAndCastingHelper;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CharacterSeparatedStringToImmutableStringListTransformerTest {
+    private CharacterSeparatedStringToImmutableStringListTransformer transformer = new CharacterSeparatedStringToImmutableStringListTransformer();
+
+    @Mock
+    private FieldValueTransformer fieldValueTransformer;
+    @Mock
+    private ConfigBuilderFactory configBuilderFactory;
+
+    @Test
+    public void testTransformer() {
+        transformer.initialize(fieldValueTransformer, configBuilderFactory, ";");
+
+        assertThat(transformer.transform("Wayne;André;Kanye;Lebron")).isEqualTo(ImmutableList.of("Wayne", "André", "Kanye", "Lebron"));
+    }
+
+    @Test
+    public void testIsMatching() {
+        when(configBuilderFactory.getInstance(GenericsAndCastingHelper.class)).thenReturn(new GenericsAndCastingHelper());
+        transformer.initialize(fieldValueTransformer, configBuilderFactory, ",");
+
+        assertThat(transformer.isMatching(String.class, ImmutableList.class)).isTrue();
+        assertThat(transformer.isMatching(String.class, List.class)).isTrue();
+        assertThat(transformer.isMatching(Object.class, ImmutableList.class)).isFalse();
+    }
+}
@@ -0,0 +1,100 @@
+package com.tngtech.configbuilder.annotation.typetransformer;
+
+import com.tngtech.configbuilder.configuration.ErrorMessageSetup;
+import com.tngtech.configbuilder.exception.PrimitiveParsingException;
+import com.tngtech.configbuilder.util.ConfigBuilderFactory;
+import com.tngtech.configbuilder.util.FieldValueTransformer;
+import com.tngtech.configbuilder.util.GenericsAndCastingHelper;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CharacterSeparatedStringToPrimitiveArrayTransformerTest {
+
+    private CharacterSeparatedStringToPrimitiveArrayTransformer transformer = new CharacterSeparatedStringToPrimitiveArrayTransformer();
+
+    @Mock
+    private FieldValueTransformer fieldValueTransformer;
+    @Mock
+    private ConfigBuilderFactory configBuilderFactory;
+    @Mock
+    private ErrorMessageSetup errorMessageSetup;
+
+    @Before
+    public void setUp() {
+        when(configBuilderFactory.getInstance(GenericsAndCastingHelper.class)).thenReturn(new GenericsAndCastingHelper());
+        when(configBuilderFactory.getInstance(ErrorMessageSetup.class)).thenReturn(errorMessageSetup);
+        transformer.initialize(fieldValueTransformer, configBuilderFactory, ",");
+    }
+
+    @Test
+    public void testTransformToIntArray() {
+        transformer.setTargetType(int[].class);
+
+        assertThat((int[]) transformer.transform("1, 0x10,-3")).containsExactly(1, 16, -3);
+    }
+
+    @Test
+    public void testTransformToLongArray() {
+        transformer.setTargetType(long[].class);
+
+        assertThat((long[]) transformer.transform("9000000000,1")).containsExactly(9000000000L, 1L);
+    }
+
+    @Test
+    public void testTransformToDoubleArray() {
+        transformer.setTargetType(double[].class);
+
+        assertThat((double[]) transformer.transform("0.5,1e3")).containsExactly(0.5, 1000.0);
+    }
+
+    @Test
+    public void testTransformToBooleanArray() {
+        transformer.setTargetType(boolean[].class);
+
+        assertThat((boolean[]) transformer.transform("true,FALSE")).containsExactly(true, false);
+    }
+
+    @Test
+    public void testTransformWithSplitter() {
+        transformer.initialize(fieldValueTransformer, configBuilderFactory, ";", new StringSplitter("\\s+", true, false));
+        transformer.setTargetType(int[].class);
+
+        assertThat((int[]) transformer.transform("1 2   3")).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    public void testThatBlankStringIsEmptyArray() {
+        transformer.setTargetType(int[].class);
+
+        assertThat((int[]) transformer.transform(" ")).isEmpty();
+    }
+
+    @Test(expected = PrimitiveParsingException.class)
+    public void testThatInvalidValueThrowsException() {
+        when(errorMessageSetup.getErrorMessage(PrimitiveParsingException.class, "1,x", "int[]")).thenReturn("unable to parse");
+        transformer.setTargetType(int[].class);
+
+        transformer.transform("1,x");
+    }
+
+    @Test
+    public void testIsMatching() {
+        assertThat(transformer.isMatching(String.class, int[].class)).isTrue();
+        assertThat(transformer.isMatching(String.class, long[].class)).isTrue();
+        assertThat(transformer.isMatching(String.class, double[].class)).isTrue();
+        assertThat(transformer.isMatching(String.class, boolean[].class)).isTrue();
+        assertThat(transformer.isMatching(String.class, char[].class)).isFalse();
+        assertThat(transformer.isMatching(String.class, Integer[].class)).isFalse();
+        assertThat(transformer.isMatching(String.class, List.class)).isFalse();
+        assertThat(transformer.isMatching(Object.class, int[].class)).isFalse();
+    }
+}
@@ -38,6 +38,13 @@ public class CharacterSeparatedStringToStringListTransformerTest {
         assertThat(actualResult).isEqualTo(expectedResult);
     }
 
+    @Test
+    public void testTransformerWithSplitter() {
+        transformer.initialize(fieldValueTransformer, configBuilderFactory, "|", new StringSplitter("|", false, true));
+
+        assertThat(transformer.transform(" Wayne | André|Kanye ")).containsExactly("Wayne", "André", "Kanye");
+    }
+
     @Test
     public void testIsMatching() {
         initializeFactoryAndHelperMocks();
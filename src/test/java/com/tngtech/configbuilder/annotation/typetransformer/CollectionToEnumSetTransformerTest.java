@@ -0,0 +1,66 @@
+package com.tngtech.configbuilder.annotation.typetransformer;
+
+import com.tngtech.configbuilder.configuration.ErrorMessageSetup;
+import com.tngtech.configbuilder.util.ConfigBuilderFactory;
+import com.tngtech.configbuilder.util.FieldValueTransformer;
+import com.tngtech.configbuilder.util.GenericsAndCastingHelper;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CollectionToEnumSetTransformerTest {
+
+    enum TestEnum {
+        ONE, TWO, THREE
+    }
+
+    private EnumSet<TestEnum> enumSet;
+    private Set<Integer> integerSet;
+
+    private CollectionToEnumSetTransformer transformer = new CollectionToEnumSetTransformer();
+
+    @Mock
+    private FieldValueTransformer fieldValueTransformer;
+    @Mock
+    private ConfigBuilderFactory configBuilderFactory;
+
+    @Before
+    public void setUp() throws Exception {
+        when(configBuilderFactory.getInstance(ErrorMessageSetup.class)).thenReturn(new ErrorMessageSetup());
+        when(configBuilderFactory.getInstance(GenericsAndCastingHelper.class)).thenReturn(new GenericsAndCastingHelper());
+        transformer.initialize(fieldValueTransformer, configBuilderFactory);
+        transformer.setTargetType(getClass().getDeclaredField("enumSet").getGenericType());
+    }
+
+    @Test
+    public void testTransform() {
+        when(fieldValueTransformer.performNecessaryTransformations(2, TestEnum.class)).thenReturn(TestEnum.TWO);
+
+        EnumSet result = transformer.transform(newArrayList("three", TestEnum.ONE, 2));
+
+        assertThat(result).containsExactly(TestEnum.ONE, TestEnum.TWO, TestEnum.THREE);
+    }
+
+    @Test
+    public void testIsMatching() throws Exception {
+        assertThat(transformer.isMatching(List.class, Set.class)).isTrue();
+        assertThat(transformer.isMatching(Set.class, EnumSet.class)).isTrue();
+        assertThat(transformer.isMatching(String.class, Set.class)).isFalse();
+        assertThat(transformer.isMatching(Collection.class, List.class)).isFalse();
+
+        transformer.setTargetType(getClass().getDeclaredField("integerSet").getGenericType());
+        assertThat(transformer.isMatching(List.class, Set.class)).isFalse();
+    }
+}
@@ -0,0 +1,80 @@
+package com.tngtech.configbuilder.annotation.typetransformer;
+
+import com.tngtech.configbuilder.util.FieldValueTransformer;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.lang.reflect.Type;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class EnumLookupTest {
+
+    enum TestEnum {
+        ONE, TWO_WORDS
+    }
+
+    private EnumSet<TestEnum> enumSet;
+    private Map<String, TestEnum> stringKeyedMap;
+    private List<?> wildcardList;
+
+    @Mock
+    private FieldValueTransformer fieldValueTransformer;
+
+    @Test
+    public void testGet() {
+        EnumLookup<TestEnum> enumLookup = EnumLookup.forClass(TestEnum.class);
+
+        assertThat(enumLookup.get("ONE")).isSameAs(TestEnum.ONE);
+        assertThat(enumLookup.get(" two words ")).isSameAs(TestEnum.TWO_WORDS);
+        assertThat(enumLookup.get("THREE")).isNull();
+        assertThat(enumLookup.getEnumClass()).isEqualTo(TestEnum.class);
+    }
+
+    @Test
+    public void testThatLookupIsCreatedOncePerEnumClass() {
+        assertThat(EnumLookup.forClass(TestEnum.class)).isSameAs(EnumLookup.forClass(TestEnum.class));
+    }
+
+    @Test
+    public void testForTypeArgument() throws Exception {
+        assertThat(EnumLookup.forTypeArgument(getClass().getDeclaredField("enumSet").getGenericType(), 0)).isSameAs(EnumLookup.forClass(TestEnum.class));
+        assertThat(EnumLookup.forTypeArgument(getClass().getDeclaredField("stringKeyedMap").getGenericType(), 0)).isNull();
+        assertThat(EnumLookup.forTypeArgument(getClass().getDeclaredField("wildcardList").getGenericType(), 0)).isNull();
+        assertThat(EnumLookup.forTypeArgument(TestEnum.class, 0)).isNull();
+    }
+
+    @Test
+    public void testConvert() {
+        EnumLookup<TestEnum> enumLookup = EnumLookup.forClass(TestEnum.class);
+
+        assertThat(enumLookup.convert(TestEnum.ONE, fieldValueTransformer)).isSameAs(TestEnum.ONE);
+        assertThat(enumLookup.convert("two words", fieldValueTransformer)).isSameAs(TestEnum.TWO_WORDS);
+        verify(fieldValueTransformer, never()).performNecessaryTransformations(any(), any(Type.class));
+    }
+
+    @Test
+    public void testThatOtherValuesAreTransformed() {
+        when(fieldValueTransformer.performNecessaryTransformations("first", TestEnum.class)).thenReturn(TestEnum.ONE);
+
+        assertThat(EnumLookup.forClass(TestEnum.class).convert("first", fieldValueTransformer)).isSameAs(TestEnum.ONE);
+    }
+
+    @Test
+    public void testThatTransformersOfFieldArePreferredToNames() {
+        when(fieldValueTransformer.hasApplicableTransformer(String.class, TestEnum.class)).thenReturn(true);
+        when(fieldValueTransformer.performNecessaryTransformations("ONE", TestEnum.class)).thenReturn(TestEnum.TWO_WORDS);
+
+        assertThat(EnumLookup.forClass(TestEnum.class).convert("ONE", fieldValueTransformer)).isSameAs(TestEnum.TWO_WORDS);
+    }
+}
@@ -0,0 +1,69 @@
+package com.tngtech.configbuilder.annotation.typetransformer;
+
+import com.google.common.collect.ImmutableMap;
+import com.tngtech.configbuilder.configuration.ErrorMessageSetup;
+import com.tngtech.configbuilder.util.ConfigBuilderFactory;
+import com.tngtech.configbuilder.util.FieldValueTransformer;
+import com.tngtech.configbuilder.util.GenericsAndCastingHelper;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SortedMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MapToEnumMapTransformerTest {
+
+    enum TestEnum {
+        ONE, TWO
+    }
+
+    private Map<TestEnum, Integer> enumMap;
+    private Map<String, Integer> stringMap;
+
+    private MapToEnumMapTransformer transformer = new MapToEnumMapTransformer();
+
+    @Mock
+    private FieldValueTransformer fieldValueTransformer;
+    @Mock
+    private ConfigBuilderFactory configBuilderFactory;
+
+    @Before
+    public void setUp() throws Exception {
+        when(configBuilderFactory.getInstance(ErrorMessageSetup.class)).thenReturn(new ErrorMessageSetup());
+        when(configBuilderFactory.getInstance(GenericsAndCastingHelper.class)).thenReturn(new GenericsAndCastingHelper());
+        transformer.initialize(fieldValueTransformer, configBuilderFactory);
+        transformer.setTargetType(getClass().getDeclaredField("enumMap").getGenericType());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testTransform() {
+        when(fieldValueTransformer.performNecessaryTransformations("1", Integer.class)).thenReturn(1);
+        when(fieldValueTransformer.performNecessaryTransformations("2", Integer.class)).thenReturn(2);
+
+        Map<TestEnum, Integer> result = transformer.transform(ImmutableMap.of("two", "2", "ONE", "1"));
+
+        assertThat(result).isInstanceOf(EnumMap.class).containsExactly(entry(TestEnum.ONE, 1), entry(TestEnum.TWO, 2));
+    }
+
+    @Test
+    public void testIsMatching() throws Exception {
+        assertThat(transformer.isMatching(Map.class, Map.class)).isTrue();
+        assertThat(transformer.isMatching(Map.class, EnumMap.class)).isTrue();
+        assertThat(transformer.isMatching(Map.class, SortedMap.class)).isFalse();
+        assertThat(transformer.isMatching(Collection.class, Map.class)).isFalse();
+
+        transformer.setTargetType(getClass().getDeclaredField("stringMap").getGenericType());
+        assertThat(transformer.isMatching(Map.class, Map.class)).isFalse();
+    }
+}
@@ -0,0 +1,72 @@
+package com.tngtech.configbuilder.annotation.typetransformer;
+
+import com.google.common.collect.ImmutableMap;
+import com.tngtech.configbuilder.configuration.ErrorMessageSetup;
+import com.tngtech.configbuilder.util.ConfigBuilderFactory;
+import com.tngtech.configbuilder.util.FieldValueTransformer;
+import com.tngtech.configbuilder.util.GenericsAndCastingHelper;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.lang.reflect.ParameterizedType;
+import java.util.Collection;
+import java.util.Map;
+import java.util.SortedMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MapToLinkedHashMapTransformerTest {
+
+    private MapToLinkedHashMapTransformer mapToLinkedHashMapTransformer = new MapToLinkedHashMapTransformer();
+
+    @Mock
+    private ParameterizedType type;
+    @Mock
+    private FieldValueTransformer fieldValueTransformer;
+    @Mock
+    private ConfigBuilderFactory configBuilderFactory;
+    @Mock
+    private ErrorMessageSetup errorMessageSetup;
+
+    @Before
+    public void setUp() {
+        when(configBuilderFactory.getInstance(ErrorMessageSetup.class)).thenReturn(errorMessageSetup);
+        when(configBuilderFactory.getInstance(GenericsAndCastingHelper.class)).thenReturn(new GenericsAndCastingHelper());
+        mapToLinkedHashMapTransformer.initialize(fieldValueTransformer, configBuilderFactory);
+        mapToLinkedHashMapTransformer.setTargetType(type);
+    }
+
+    @Test
+    public void testTransform() {
+        Map<String, String> input = ImmutableMap.of("b", "2", "a", "1");
+        when(type.getActualTypeArguments()).thenReturn(new Class[]{String.class, Integer.class});
+        when(fieldValueTransformer.performNecessaryTransformations("1", Integer.class)).thenReturn(1);
+        when(fieldValueTransformer.performNecessaryTransformations("2", Integer.class)).thenReturn(2);
+        assertThat(mapToLinkedHashMapTransformer.transform(input)).containsExactly(entry("b", 2), entry("a", 1));
+    }
+
+    @Test
+    public void testTransformToRawMap() {
+        Map<String, String> input = ImmutableMap.of("b", "2", "a", "1");
+        when(fieldValueTransformer.performNecessaryTransformations("1", Object.class)).thenReturn("1");
+        when(fieldValueTransformer.performNecessaryTransformations("2", Object.class)).thenReturn("2");
+        mapToLinkedHashMapTransformer.setTargetType(Map.class);
+
+        assertThat(mapToLinkedHashMapTransformer.transform(input)).containsExactly(entry("b", "2"), entry("a", "1"));
+    }
+
+    @Test
+    public void testIsMatching() {
+        mapToLinkedHashMapTransformer.initialize(fieldValueTransformer, configBuilderFactory);
+
+        assertThat(mapToLinkedHashMapTransformer.isMatching(Map.class, Map.class)).isTrue();
+        assertThat(mapToLinkedHashMapTransformer.isMatching(Map.class, SortedMap.class)).isFalse();
+        assertThat(mapToLinkedHashMapTransformer.isMatching(Collection.class, Map.class)).isFalse();
+    }
+}
@@ -0,0 +1,84 @@
+package com.tngtech.configbuilder.annotation.typetransformer;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PrimitiveParserTest {
+
+    @Test
+    public void testForClass() {
+        assertThat(PrimitiveParser.forClass(int.class)).isSameAs(PrimitiveParser.INTEGER);
+        assertThat(PrimitiveParser.forClass(Integer.class)).isSameAs(PrimitiveParser.INTEGER);
+        assertThat(PrimitiveParser.forClass(char.class)).isSameAs(PrimitiveParser.CHARACTER);
+        assertThat(PrimitiveParser.forClass(String.class)).isNull();
+    }
+
+    @Test
+    public void testParseIntegralValues() {
+        assertThat(PrimitiveParser.INTEGER.parse("42")).isEqualTo(42);
+        assertThat(PrimitiveParser.INTEGER.parse("-42")).isEqualTo(-42);
+        assertThat(PrimitiveParser.INTEGER.parse("+5")).isEqualTo(5);
+        assertThat(PrimitiveParser.INTEGER.parse("0")).isEqualTo(0);
+        assertThat(PrimitiveParser.INTEGER.parse("0x10")).isEqualTo(16);
+        assertThat(PrimitiveParser.INTEGER.parse("#10")).isEqualTo(16);
+        assertThat(PrimitiveParser.INTEGER.parse("010")).isEqualTo(8);
+        assertThat(PrimitiveParser.LONG.parse("9000000000")).isEqualTo(9000000000L);
+        assertThat(PrimitiveParser.SHORT.parse("-0x10")).isEqualTo((short) -16);
+        assertThat(PrimitiveParser.BYTE.parse("127")).isEqualTo((byte) 127);
+    }
+
+    @Test
+    public void testParseFloatingPointValues() {
+        assertThat(PrimitiveParser.DOUBLE.parse("1e3")).isEqualTo(1000.0);
+        assertThat(PrimitiveParser.DOUBLE.parse("010")).isEqualTo(10.0);
+        assertThat(PrimitiveParser.FLOAT.parse("1.5")).isEqualTo(1.5f);
+    }
+
+    @Test
+    public void testParseBooleanAndCharacter() {
+        assertThat(PrimitiveParser.BOOLEAN.parse("TRUE")).isEqualTo(true);
+        assertThat(PrimitiveParser.BOOLEAN.parse("false")).isEqualTo(false);
+        assertThat(PrimitiveParser.CHARACTER.parse("x")).isEqualTo('x');
+    }
+
+    @Test
+    public void testParseWithoutBoxing() {
+        assertThat(PrimitiveParser.parseInt("-0x10")).isEqualTo(-16);
+        assertThat(PrimitiveParser.parseInt("-0x80000000")).isEqualTo(Integer.MIN_VALUE);
+        assertThat(PrimitiveParser.parseInt("017")).isEqualTo(15);
+        assertThat(PrimitiveParser.parseLong("#ff")).isEqualTo(255L);
+        assertThat(PrimitiveParser.parseDouble("2.5")).isEqualTo(2.5);
+        assertThat(PrimitiveParser.parseBoolean("True")).isTrue();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParseSignAfterRadixPrefix() {
+        PrimitiveParser.parseInt("0x-5");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParseInvalidInteger() {
+        PrimitiveParser.INTEGER.parse("1.0");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParseOverflow() {
+        PrimitiveParser.BYTE.parse("128");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParseInvalidBoolean() {
+        PrimitiveParser.BOOLEAN.parse("yes");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParseInvalidCharacter() {
+        PrimitiveParser.CHARACTER.parse("xy");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParseSignOnly() {
+        PrimitiveParser.INTEGER.parse("-");
+    }
+}
@@ -0,0 +1,69 @@
+package com.tngtech.configbuilder.annotation.typetransformer;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StringSplitterTest {
+
+    private final StringSplitter literalSplitter = new StringSplitter(".", false, false);
+
+    @Test
+    public void testThatSeparatorIsMatchedLiterally() {
+        assertThat(literalSplitter.splitToList("a.b.c")).containsExactly("a", "b", "c");
+        assertThat(new StringSplitter("||", false, false).splitToList("a||b|c")).containsExactly("a", "b|c");
+    }
+
+    @Test
+    public void testThatEmptyPartsAreHandledLikeStringSplit() {
+        assertSplitLikeStringSplit("a..b", "\\.");
+        assertSplitLikeStringSplit(".a.b..", "\\.");
+        assertSplitLikeStringSplit("...", "\\.");
+        assertSplitLikeStringSplit("", "\\.");
+        assertSplitLikeStringSplit("abc", "\\.");
+    }
+
+    @Test
+    public void testThatResultHasExactCapacity() {
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            value.append(i).append(',');
+        }
+
+        List<String> parts = new StringSplitter(",", false, false).splitToList(value.toString());
+
+        assertThat(parts).hasSize(100000);
+        assertThat(parts.get(99999)).isEqualTo("99999");
+    }
+
+    @Test
+    public void testTrim() {
+        StringSplitter splitter = new StringSplitter(",", false, true);
+
+        assertThat(splitter.splitToList(" a , b,c ,  ,")).containsExactly("a", "b", "c");
+        assertThat(splitter.splitToSet(" a , a")).containsOnly("a");
+        assertThat(splitter.splitToImmutableList(" a ")).containsExactly("a");
+    }
+
+    @Test
+    public void testRegex() {
+        StringSplitter splitter = new StringSplitter("[,;]", true, false);
+
+        assertThat(splitter.splitToList("a,b;c")).containsExactly("a", "b", "c");
+        assertThat(new StringSplitter("\\s*,\\s*", true, true).splitToImmutableList(" a , b ")).containsExactly("a", "b");
+    }
+
+    @Test
+    public void testFromOptions() {
+        StringSplitter splitter = new StringSplitter(";", true, true);
+
+        assertThat(StringSplitter.fromOptions(new Object[]{";", splitter})).isSameAs(splitter);
+        assertThat(StringSplitter.fromOptions(new Object[]{"."})).isEqualTo(literalSplitter);
+    }
+
+    private void assertSplitLikeStringSplit(String value, String regex) {
+        assertThat(literalSplitter.splitToList(value)).containsExactly(value.split(regex));
+    }
+}
@@ -47,6 +47,16 @@ public class StringToEnumTypeTransformerTest {
         assertThat(transformer.transform(TestEnum.ONE.name())).isSameAs(TestEnum.ONE);
     }
 
+    @Test
+    public void testThatNamesAreNormalized() {
+        assertThat(transformer.transform(" one ")).isSameAs(TestEnum.ONE);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThatUnknownNameThrowsException() {
+        transformer.transform("TWO");
+    }
+
     @Test
     public void testIsMatching() {
         assertThat(transformer.isMatching(String.class, TestEnum.class)).isTrue();
@@ -9,6 +9,8 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.util.ArrayList;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
 
@@ -117,4 +119,18 @@ public class TypeTransformerTest {
         //noinspection uncheckedy
         assertThat(typeTransformer.isMatching(String.class, Integer.class)).isTrue();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testSourceAndTargetClassesOfTransformerClasses() {
+        assertThat(TypeTransformer.getSourceClass(TestTypeTransformer.class)).isEqualTo(String.class);
+        assertThat(TypeTransformer.getTargetClass(TestTypeTransformer.class)).isEqualTo(Integer.class);
+        assertThat(TypeTransformer.getSourceClass(TestUntypedRevertedInheritedTypeTransformer.class)).isEqualTo(String.class);
+        assertThat(TypeTransformer.getTargetClass(TestUntypedRevertedInheritedTypeTransformer.class)).isEqualTo(Integer.class);
+        assertThat(TypeTransformer.getTargetClass(CharacterSeparatedStringToStringListTransformer.class)).isEqualTo(ArrayList.class);
+    }
+
+    @Test
+    public void testThatUnresolvedTypeVariableIsResolvedToItsBound() {
+        assertThat(TypeTransformer.getTargetClass(StringToEnumTypeTransformer.class)).isEqualTo(Enum.class);
+    }
+}
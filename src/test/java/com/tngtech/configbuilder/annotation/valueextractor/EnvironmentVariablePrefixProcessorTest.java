@@ -0,0 +1,51 @@
+package com.tngtech.configbuilder.annotation.valueextractor;
+
+import com.google.common.collect.ImmutableMap;
+import com.tngtech.configbuilder.configuration.BuilderConfiguration;
+import com.tngtech.configbuilder.configuration.SystemSnapshot;
+import com.tngtech.configbuilder.util.ConfigBuilderFactory;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class EnvironmentVariablePrefixProcessorTest {
+
+    private EnvironmentVariablePrefixProcessor environmentVariablePrefixProcessor = new EnvironmentVariablePrefixProcessor();
+
+    @Mock
+    private EnvironmentVariablePrefix environmentVariablePrefix;
+    @Mock
+    private BuilderConfiguration builderConfiguration;
+    @Mock
+    private ConfigBuilderFactory configBuilderFactory;
+    @Mock
+    private SystemSnapshot systemSnapshot;
+
+    @Test
+    public void testGetValue() {
+        Map<String, String> environmentVariables = ImmutableMap.of("PORT", "8080");
+        when(environmentVariablePrefix.value()).thenReturn("APP_");
+        when(configBuilderFactory.getInstance(BuilderConfiguration.class)).thenReturn(builderConfiguration);
+        when(builderConfiguration.getSystemSnapshot()).thenReturn(systemSnapshot);
+        when(systemSnapshot.getEnvironmentVariablesWithPrefix("APP_")).thenReturn(environmentVariables);
+
+        assertThat(environmentVariablePrefixProcessor.getValue(environmentVariablePrefix, configBuilderFactory)).isSameAs(environmentVariables);
+    }
+
+    @Test
+    public void testThatNullIsReturnedIfNoVariableMatches() {
+        when(environmentVariablePrefix.value()).thenReturn("MISSING_");
+        when(configBuilderFactory.getInstance(BuilderConfiguration.class)).thenReturn(builderConfiguration);
+        when(builderConfiguration.getSystemSnapshot()).thenReturn(systemSnapshot);
+        when(systemSnapshot.getEnvironmentVariablesWithPrefix("MISSING_")).thenReturn(ImmutableMap.<String, String>of());
+
+        assertThat(environmentVariablePrefixProcessor.getValue(environmentVariablePrefix, configBuilderFactory)).isNull();
+    }
+}
@@ -1,6 +1,7 @@
 package com.tngtech.configbuilder.annotation.valueextractor;
 
 import com.tngtech.configbuilder.configuration.BuilderConfiguration;
+import com.tngtech.configbuilder.configuration.SystemSnapshot;
 import com.tngtech.configbuilder.util.ConfigBuilderFactory;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -21,10 +22,28 @@ public class EnvironmentVariableProcessorTest {
     private BuilderConfiguration builderConfiguration;
     @Mock
     private ConfigBuilderFactory configBuilderFactory;
+    @Mock
+    private SystemSnapshot systemSnapshot;
 
     @Test
     public void testGetValue() {
         when(environmentVariableValue.value()).thenReturn("PATH");
-        assertThat(environmentVariableProcessor.getValue(environmentVariableValue, configBuilderFactory)).isEqualTo(System.getenv("PATH"));
+        when(configBuilderFactory.getInstance(BuilderConfiguration.class)).thenReturn(builderConfiguration);
+        when(builderConfiguration.getEnvironmentVariablePrefix()).thenReturn("");
+        when(builderConfiguration.getSystemSnapshot()).thenReturn(systemSnapshot);
+        when(systemSnapshot.getEnvironmentVariable("PATH")).thenReturn("snapshot value");
+
+        assertThat(environmentVariableProcessor.getValue(environmentVariableValue, configBuilderFactory)).isEqualTo("snapshot value");
+    }
+
+    @Test
+    public void testGetValueWithPrefix() {
+        when(environmentVariableValue.value()).thenReturn("PORT");
+        when(configBuilderFactory.getInstance(BuilderConfiguration.class)).thenReturn(builderConfiguration);
+        when(builderConfiguration.getEnvironmentVariablePrefix()).thenReturn("APP_");
+        when(builderConfiguration.getSystemSnapshot()).thenReturn(systemSnapshot);
+        when(systemSnapshot.getEnvironmentVariable("APP_PORT")).thenReturn("8080");
+
+        assertThat(environmentVariableProcessor.getValue(environmentVariableValue, configBuilderFactory)).isEqualTo("8080");
     }
 }
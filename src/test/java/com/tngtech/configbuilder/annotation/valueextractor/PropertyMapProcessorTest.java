@@ -0,0 +1,55 @@
+package com.tngtech.configbuilder.annotation.valueextractor;
+
+import com.tngtech.configbuilder.configuration.BuilderConfiguration;
+import com.tngtech.configbuilder.configuration.PropertyLookup;
+import com.tngtech.configbuilder.util.ConfigBuilderFactory;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Map;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PropertyMapProcessorTest {
+
+    private PropertyMapProcessor propertyMapProcessor = new PropertyMapProcessor();
+
+    @Mock
+    private BuilderConfiguration builderConfiguration;
+    @Mock
+    private ConfigBuilderFactory configBuilderFactory;
+    @Mock
+    private PropertyMap propertyMap;
+
+    private Properties properties;
+
+    @Before
+    public void setUp() {
+        when(configBuilderFactory.getInstance(BuilderConfiguration.class)).thenReturn(builderConfiguration);
+        when(propertyMap.value()).thenReturn("pool.");
+        properties = new Properties();
+        properties.setProperty("pool.size", "10");
+        properties.setProperty("other.size", "20");
+    }
+
+    @Test
+    public void testPropertyMapProcessor() {
+        when(builderConfiguration.getPropertyLookup()).thenReturn(PropertyLookup.of(properties, new String[]{""}));
+
+        assertThat((Map<String, String>) propertyMapProcessor.getValue(propertyMap, configBuilderFactory)).containsExactly(entry("size", "10"));
+    }
+
+    @Test
+    public void testPropertyMapProcessorWithPropertyNamePrefix() {
+        when(builderConfiguration.getPropertyLookup()).thenReturn(PropertyLookup.of(properties, new String[]{"other."}));
+
+        assertThat(propertyMapProcessor.getValue(propertyMap, configBuilderFactory)).isNull();
+    }
+}
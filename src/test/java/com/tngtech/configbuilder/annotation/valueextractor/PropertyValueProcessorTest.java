@@ -1,11 +1,11 @@
 package com.tngtech.configbuilder.annotation.valueextractor;
 
 import com.tngtech.configbuilder.configuration.BuilderConfiguration;
+import com.tngtech.configbuilder.configuration.PropertyLookup;
 import com.tngtech.configbuilder.util.ConfigBuilderFactory;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
@@ -24,62 +24,51 @@ public class PropertyValueProcessorTest {
     @Mock
     private ConfigBuilderFactory configBuilderFactory;
     @Mock
-    private Properties properties;
-    @Mock
     PropertyValue propertyValue;
 
+    private Properties properties;
+
     @Before
     public void setUp() {
         when(configBuilderFactory.getInstance(BuilderConfiguration.class)).thenReturn(builderConfiguration);
-        when(builderConfiguration.getProperties()).thenReturn(properties);
+        when(propertyValue.value()).thenReturn("test");
+        properties = new Properties();
+    }
+
+    private void usePropertyNamePrefixes(String... propertyNamePrefixes) {
+        when(builderConfiguration.getPropertyLookup()).thenReturn(PropertyLookup.of(properties, propertyNamePrefixes));
     }
 
     @Test
     public void testPropertyValueProcessor() {
-        when(builderConfiguration.getPropertyNamePrefixes()).thenReturn(new String[]{""});
-        when(propertyValue.value()).thenReturn("test");
-        when(properties.containsKey("test")).thenReturn(true);
-        when(properties.getProperty("test")).thenReturn("passed");
+        properties.setProperty("test", "passed");
+        usePropertyNamePrefixes("");
 
         assertThat(propertyValueProcessor.getValue(propertyValue, configBuilderFactory)).isEqualTo("passed");
     }
 
     @Test
     public void testPropertyValueProcessorWithPropertyNamePrefix() {
-        when(builderConfiguration.getPropertyNamePrefixes()).thenReturn(new String[]{"prefix."});
-        when(propertyValue.value()).thenReturn("test");
-        when(properties.containsKey("prefix.test")).thenReturn(true);
-        when(properties.getProperty("prefix.test")).thenReturn("passed");
+        properties.setProperty("prefix.test", "passed");
+        usePropertyNamePrefixes("prefix.");
 
         assertThat(propertyValueProcessor.getValue(propertyValue, configBuilderFactory)).isEqualTo("passed");
     }
 
     @Test
     public void testPropertyValueProcessorWithPropertyNamePrefixes() {
-        when(builderConfiguration.getPropertyNamePrefixes()).thenReturn(new String[]{"other.", "prefix."});
-        when(propertyValue.value()).thenReturn("test");
-        when(properties.containsKey("prefix.test")).thenReturn(true);
-        when(properties.getProperty("prefix.test")).thenReturn("passed");
+        properties.setProperty("prefix.test", "passed");
+        properties.setProperty("test", "failed");
+        usePropertyNamePrefixes("other.", "prefix.", "");
 
         assertThat(propertyValueProcessor.getValue(propertyValue, configBuilderFactory)).isEqualTo("passed");
-
-        final InOrder inOrder = inOrder(properties);
-        inOrder.verify(properties).containsKey("other.test");
-        inOrder.verify(properties).containsKey("prefix.test");
-        inOrder.verify(properties).getProperty("prefix.test");
-        inOrder.verifyNoMoreInteractions();
     }
 
     @Test
     public void testPropertyValueProcessorPropertyNotFound() {
-        when(builderConfiguration.getPropertyNamePrefixes()).thenReturn(new String[]{""});
-        when(propertyValue.value()).thenReturn("test");
-        when(properties.containsKey("test")).thenReturn(false);
+        properties.setProperty("other", "value");
+        usePropertyNamePrefixes("");
 
         assertThat(propertyValueProcessor.getValue(propertyValue, configBuilderFactory)).isNull();
-
-        verify(properties).containsKey("test");
-        verify(properties, never()).getProperty(anyString());
-        verifyNoMoreInteractions(properties);
     }
 }
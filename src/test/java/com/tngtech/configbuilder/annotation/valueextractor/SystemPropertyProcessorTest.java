@@ -1,5 +1,7 @@
 package com.tngtech.configbuilder.annotation.valueextractor;
 
+import com.tngtech.configbuilder.configuration.BuilderConfiguration;
+import com.tngtech.configbuilder.configuration.SystemSnapshot;
 import com.tngtech.configbuilder.util.ConfigBuilderFactory;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -17,11 +19,19 @@ public class SystemPropertyProcessorTest {
     @Mock
     private SystemPropertyValue systemPropertyValue;
     @Mock
+    private BuilderConfiguration builderConfiguration;
+    @Mock
     private ConfigBuilderFactory configBuilderFactory;
+    @Mock
+    private SystemSnapshot systemSnapshot;
 
     @Test
-    public void testGetValue() throws Exception {
+    public void testGetValue() {
         when(systemPropertyValue.value()).thenReturn("user.language");
-        assertThat(systemPropertyProcessor.getValue(systemPropertyValue, configBuilderFactory)).isEqualTo(System.getProperty("user.language"));
+        when(configBuilderFactory.getInstance(BuilderConfiguration.class)).thenReturn(builderConfiguration);
+        when(builderConfiguration.getSystemSnapshot()).thenReturn(systemSnapshot);
+        when(systemSnapshot.getSystemProperty("user.language")).thenReturn("snapshot value");
+
+        assertThat(systemPropertyProcessor.getValue(systemPropertyValue, configBuilderFactory)).isEqualTo("snapshot value");
     }
 }
@@ -0,0 +1,122 @@
+package com.tngtech.configbuilder.binder;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConfigBinderProcessorTest {
+
+    private static final String CONFIG_SOURCE = "package binder.test;\n" +
+            "import com.tngtech.configbuilder.annotation.valueextractor.DefaultValue;\n" +
+            "import com.tngtech.configbuilder.annotation.valueextractor.PropertyValue;\n" +
+            "import java.util.List;\n" +
+            "public class Config {\n" +
+            "    @DefaultValue(\"3\") int number;\n" +
+            "    @PropertyValue(\"list\") protected List<String> list;\n" +
+            "    @DefaultValue(\"value\") private String privateString;\n" +
+            "    @DefaultValue(\"value\") final String finalString = null;\n" +
+            "    @DefaultValue(\"FIRST\") PrivateEnum privateEnum;\n" +
+            "    @DefaultValue(\"FIRST\") PrivateEnum[] privateEnumArray;\n" +
+            "    @DefaultValue(\"FIRST\") PackageEnum packageEnum;\n" +
+            "    @DefaultValue(\"FIRST\") Hidden.PublicEnum hiddenPublicEnum;\n" +
+            "    String notAnnotated;\n" +
+            "    public static class Nested {\n" +
+            "        @DefaultValue(\"value\") public String string;\n" +
+            "    }\n" +
+            "    private enum PrivateEnum { FIRST }\n" +
+            "    enum PackageEnum { FIRST }\n" +
+            "    private static class Hidden {\n" +
+            "        public enum PublicEnum { FIRST }\n" +
+            "    }\n" +
+            "    private static class PrivateNested {\n" +
+            "        @DefaultValue(\"value\") public String string;\n" +
+            "    }\n" +
+            "}\n";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File classesDir;
+    private File generatedDir;
+
+    @Before
+    public void setUp() throws Exception {
+        File sourceFile = new File(temporaryFolder.newFolder("binder", "test"), "Config.java");
+        Files.write(sourceFile.toPath(), CONFIG_SOURCE.getBytes(StandardCharsets.UTF_8));
+        classesDir = temporaryFolder.newFolder("classes");
+        generatedDir = temporaryFolder.newFolder("generated");
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        int result = compiler.run(null, null, null,
+                "-classpath", System.getProperty("java.class.path"),
+                "-processor", ConfigBinderProcessor.class.getName(),
+                "-d", classesDir.getPath(),
+                "-s", generatedDir.getPath(),
+                sourceFile.getPath());
+        assertThat(result).isEqualTo(0);
+    }
+
+    @Test
+    public void testThatBindersAreGeneratedForAccessibleConfigClasses() {
+        assertThat(new File(generatedDir, "binder/test/ConfigBinder.java")).exists();
+        assertThat(new File(generatedDir, "binder/test/Config$NestedBinder.java")).exists();
+        assertThat(new File(generatedDir, "binder/test/Config$PrivateNestedBinder.java")).doesNotExist();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGeneratedBinder() throws Exception {
+        URLClassLoader classLoader = new URLClassLoader(new URL[]{classesDir.toURI().toURL()}, getClass().getClassLoader());
+        Class<?> configClass = classLoader.loadClass("binder.test.Config");
+        ConfigBinder<Object> binder = (ConfigBinder<Object>) classLoader.loadClass("binder.test.ConfigBinder").newInstance();
+        Object config = configClass.newInstance();
+
+        binder.getFieldBinder("number").set(config, 5);
+        binder.getFieldBinder("list").set(config, null);
+        assertThat(binder.getFieldBinder("privateString")).isNull();
+        assertThat(binder.getFieldBinder("finalString")).isNull();
+        assertThat(binder.getFieldBinder("notAnnotated")).isNull();
+        Field numberField = configClass.getDeclaredField("number");
+        numberField.setAccessible(true);
+        assertThat(numberField.get(config)).isEqualTo(5);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testThatGeneratedBinderSkipsFieldsOfTypesNotVisibleFromItsPackage() throws Exception {
+        URLClassLoader classLoader = new URLClassLoader(new URL[]{classesDir.toURI().toURL()}, getClass().getClassLoader());
+        Class<?> configClass = classLoader.loadClass("binder.test.Config");
+        ConfigBinder<Object> binder = (ConfigBinder<Object>) classLoader.loadClass("binder.test.ConfigBinder").newInstance();
+        Object config = configClass.newInstance();
+        Class<?> packageEnumClass = classLoader.loadClass("binder.test.Config$PackageEnum");
+
+        assertThat(binder.getFieldBinder("privateEnum")).isNull();
+        assertThat(binder.getFieldBinder("privateEnumArray")).isNull();
+        assertThat(binder.getFieldBinder("hiddenPublicEnum")).isNull();
+        binder.getFieldBinder("packageEnum").set(config, packageEnumClass.getEnumConstants()[0]);
+        Field packageEnumField = configClass.getDeclaredField("packageEnum");
+        packageEnumField.setAccessible(true);
+        assertThat(packageEnumField.get(config)).isSameAs(packageEnumClass.getEnumConstants()[0]);
+    }
+
+    @Test(expected = ClassCastException.class)
+    @SuppressWarnings("unchecked")
+    public void testGeneratedBinderWithValueOfWrongType() throws Exception {
+        URLClassLoader classLoader = new URLClassLoader(new URL[]{classesDir.toURI().toURL()}, getClass().getClassLoader());
+        ConfigBinder<Object> binder = (ConfigBinder<Object>) classLoader.loadClass("binder.test.ConfigBinder").newInstance();
+
+        binder.getFieldBinder("number").set(classLoader.loadClass("binder.test.Config").newInstance(), "notANumber");
+    }
+}
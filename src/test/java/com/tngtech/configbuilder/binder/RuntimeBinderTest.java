@@ -0,0 +1,121 @@
+package com.tngtech.configbuilder.binder;
+
+import com.tngtech.configbuilder.annotation.typetransformer.CharacterSeparatedStringToStringListTransformer;
+import com.tngtech.configbuilder.annotation.typetransformer.TypeTransformers;
+import com.tngtech.configbuilder.annotation.valueextractor.DefaultValue;
+import com.tngtech.configbuilder.testclasses.TestConfigWithBinder;
+import com.tngtech.configbuilder.testclasses.TestConfigWithBinderBinder;
+import com.tngtech.configbuilder.util.ConfigPlan;
+import com.tngtech.configbuilder.util.FieldPlan;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RuntimeBinderTest {
+
+    private static class TestConfig {
+        @DefaultValue("1")
+        private int intField;
+
+        @DefaultValue("2")
+        private Long longField;
+
+        @DefaultValue("0.5")
+        private double doubleField;
+
+        @DefaultValue("true")
+        private boolean booleanField;
+
+        @DefaultValue("value")
+        private String stringField;
+
+        @DefaultValue("/etc")
+        private Path pathField;
+
+        @DefaultValue("3")
+        @TypeTransformers(CharacterSeparatedStringToStringListTransformer.class)
+        private int transformedField;
+
+        @DefaultValue("4")
+        private final int finalField = 0;
+    }
+
+    private ConfigPlan configPlan;
+    private RuntimeBinder runtimeBinder;
+    private TestConfig testConfig;
+
+    @Before
+    public void setUp() {
+        configPlan = ConfigPlan.of(TestConfig.class);
+        runtimeBinder = RuntimeBinder.of(configPlan);
+        testConfig = new TestConfig();
+    }
+
+    @Test
+    public void testBind() {
+        assertThat(runtimeBinder.bind(testConfig, getFieldPlan("intField"), " 0x10 ")).isTrue();
+        assertThat(runtimeBinder.bind(testConfig, getFieldPlan("longField"), "9000000000")).isTrue();
+        assertThat(runtimeBinder.bind(testConfig, getFieldPlan("doubleField"), "0.5")).isTrue();
+        assertThat(runtimeBinder.bind(testConfig, getFieldPlan("booleanField"), "TRUE")).isTrue();
+        assertThat(runtimeBinder.bind(testConfig, getFieldPlan("stringField"), " value ")).isTrue();
+
+        assertThat(testConfig.intField).isEqualTo(16);
+        assertThat(testConfig.longField).isEqualTo(9000000000L);
+        assertThat(testConfig.doubleField).isEqualTo(0.5);
+        assertThat(testConfig.booleanField).isTrue();
+        assertThat(testConfig.stringField).isEqualTo(" value ");
+    }
+
+    @Test
+    public void testThatOnlyFieldsWithDefaultTransformersAndSettersAreBound() {
+        assertThat(runtimeBinder.isBound(getFieldPlan("intField"))).isTrue();
+        assertThat(runtimeBinder.isBound(getFieldPlan("stringField"))).isTrue();
+        assertThat(runtimeBinder.isBound(getFieldPlan("pathField"))).isFalse();
+        assertThat(runtimeBinder.isBound(getFieldPlan("transformedField"))).isFalse();
+        assertThat(runtimeBinder.isBound(getFieldPlan("finalField"))).isFalse();
+        assertThat(runtimeBinder.bind(testConfig, getFieldPlan("pathField"), "/etc")).isFalse();
+        assertThat(testConfig.pathField).isNull();
+    }
+
+    @Test
+    public void testThatValuesWhichAreNotParsedAreLeftToTransformers() {
+        assertThat(runtimeBinder.bind(testConfig, getFieldPlan("intField"), "one")).isFalse();
+        assertThat(runtimeBinder.bind(testConfig, getFieldPlan("booleanField"), "yes")).isFalse();
+        assertThat(runtimeBinder.bind(testConfig, getFieldPlan("intField"), 1)).isFalse();
+        assertThat(runtimeBinder.bind(testConfig, getFieldPlan("intField"), null)).isFalse();
+
+        assertThat(testConfig.intField).isZero();
+        assertThat(testConfig.booleanField).isFalse();
+    }
+
+    @Test
+    public void testThatFieldBindersArePreferred() {
+        ConfigPlan binderConfigPlan = ConfigPlan.of(TestConfigWithBinder.class);
+        RuntimeBinder binderRuntimeBinder = RuntimeBinder.of(binderConfigPlan);
+        TestConfigWithBinder binderTestConfig = new TestConfigWithBinder();
+        TestConfigWithBinderBinder.boundFieldNames.clear();
+
+        assertThat(binderRuntimeBinder.bind(binderTestConfig, getFieldPlan(binderConfigPlan, "boundNumber"), " 5 ")).isTrue();
+        assertThat(binderRuntimeBinder.bind(binderTestConfig, getFieldPlan(binderConfigPlan, "privateString"), "value")).isTrue();
+
+        assertThat(binderTestConfig.getBoundNumber()).isEqualTo(5);
+        assertThat(binderTestConfig.getPrivateString()).isEqualTo("value");
+        assertThat(TestConfigWithBinderBinder.boundFieldNames).containsExactly("boundNumber");
+    }
+
+    private FieldPlan getFieldPlan(String name) {
+        return getFieldPlan(configPlan, name);
+    }
+
+    private static FieldPlan getFieldPlan(ConfigPlan configPlan, String name) {
+        for (FieldPlan fieldPlan : configPlan.getFieldPlans()) {
+            if (fieldPlan.getName().equals(name)) {
+                return fieldPlan;
+            }
+        }
+        throw new IllegalArgumentException(name);
+    }
+}
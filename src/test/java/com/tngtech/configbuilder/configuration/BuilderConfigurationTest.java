@@ -19,4 +19,20 @@ public class BuilderConfigurationTest {
     public void testGetProperties() {
         assertThat(builderConfiguration.getProperties()).isEqualTo(new Properties());
     }
+
+    @Test
+    public void testGetPropertyLookup() {
+        Properties properties = new Properties();
+        properties.setProperty("prefix.key", "value");
+        builderConfiguration.setProperties(properties);
+        builderConfiguration.setPropertyNamePrefixes(new String[]{"prefix."});
+
+        PropertyLookup propertyLookup = builderConfiguration.getPropertyLookup();
+
+        assertThat(propertyLookup.get("key")).isEqualTo("value");
+        assertThat(builderConfiguration.getPropertyLookup()).isSameAs(propertyLookup);
+
+        builderConfiguration.setPropertyNamePrefixes(new String[]{""});
+        assertThat(builderConfiguration.getPropertyLookup().get("key")).isNull();
+    }
 }
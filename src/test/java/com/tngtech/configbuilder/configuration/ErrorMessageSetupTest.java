@@ -9,9 +9,12 @@ import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import java.util.Locale;
+import java.util.MissingFormatArgumentException;
 import java.util.Properties;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -64,4 +67,57 @@ public class ErrorMessageSetupTest {
         assertThat(errorMessageSetup.getErrorMessage(runtimeException)).isEqualTo("java.lang.RuntimeException was thrown");
         assertThat(errorMessageSetup.getErrorMessage(RuntimeException.class)).isEqualTo("java.lang.RuntimeException was thrown");
     }
+
+    @Test
+    public void testThatMergedErrorMessagesAreCached() {
+        Locale.setDefault(Locale.ENGLISH);
+        errorMessageSetup.initialize("errors", propertyLoader);
+        errorMessageSetup.initialize("errors", propertyLoader);
+
+        verify(propertyLoader).load("errors");
+    }
+
+    @Test
+    public void testThatClearCacheLoadsErrorMessageFileAgain() {
+        Locale.setDefault(Locale.ENGLISH);
+        errorMessageSetup.initialize("errors", propertyLoader);
+        errorMessageSetup.clearCache();
+        errorMessageSetup.initialize("errors", propertyLoader);
+
+        verify(propertyLoader, times(2)).load("errors");
+    }
+
+    @Test
+    public void testThatErrorMessagesAreCachedPerLocale() {
+        Locale.setDefault(Locale.ENGLISH);
+        errorMessageSetup.initialize("errors", propertyLoader);
+        Locale.setDefault(Locale.GERMAN);
+        errorMessageSetup.initialize("errors", propertyLoader);
+
+        assertThat(errorMessageSetup.getErrorMessage(ParseException.class)).isEqualTo("Command Line Argumente konnten nicht verarbeitet werden.");
+        verify(propertyLoader, times(2)).load("errors");
+    }
+
+    @Test
+    public void testErrorMessageWithVariablesFromErrorMessageFile() {
+        Locale.setDefault(Locale.ENGLISH);
+        Properties messages = new Properties();
+        messages.setProperty(ParseException.class.getName(), "cannot parse %s (100%%)");
+        when(propertyLoader.load("errors")).thenReturn(messages);
+        errorMessageSetup.initialize("errors", propertyLoader);
+
+        assertThat(errorMessageSetup.getErrorMessage(ParseException.class, "args")).isEqualTo("cannot parse args (100%)");
+    }
+
+    @Test
+    public void testMessageTemplates() {
+        assertThat(ErrorMessageSetup.MessageTemplate.compile("%s to %s").format("a", "b")).isEqualTo("a to b");
+        assertThat(ErrorMessageSetup.MessageTemplate.compile("no variables").format()).isEqualTo("no variables");
+        assertThat(ErrorMessageSetup.MessageTemplate.compile("%d%%").format(3)).isEqualTo("3%");
+    }
+
+    @Test(expected = MissingFormatArgumentException.class)
+    public void testMessageTemplateWithMissingVariable() {
+        ErrorMessageSetup.MessageTemplate.compile("%s to %s").format("a");
+    }
 }
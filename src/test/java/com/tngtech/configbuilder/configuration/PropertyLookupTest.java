@@ -0,0 +1,94 @@
+package com.tngtech.configbuilder.configuration;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+public class PropertyLookupTest {
+
+    private Properties properties;
+
+    @Before
+    public void setUp() {
+        properties = new Properties();
+        properties.setProperty("key", "unprefixed");
+        properties.setProperty("prefix.key", "prefixed");
+        properties.setProperty("other.key", "other");
+        properties.setProperty("other.onlyOther", "only other");
+    }
+
+    @Test
+    public void testWithoutPrefix() {
+        PropertyLookup propertyLookup = PropertyLookup.of(properties, new String[]{""});
+
+        assertThat(propertyLookup.get("key")).isEqualTo("unprefixed");
+        assertThat(propertyLookup.get("prefix.key")).isEqualTo("prefixed");
+        assertThat(propertyLookup.get("missing")).isNull();
+    }
+
+    @Test
+    public void testThatFirstMatchingPrefixWins() {
+        PropertyLookup propertyLookup = PropertyLookup.of(properties, new String[]{"prefix.", "other.", ""});
+
+        assertThat(propertyLookup.get("key")).isEqualTo("prefixed");
+        assertThat(propertyLookup.get("onlyOther")).isEqualTo("only other");
+    }
+
+    @Test
+    public void testThatEmptyPrefixMayPrecedeOtherPrefixes() {
+        PropertyLookup propertyLookup = PropertyLookup.of(properties, new String[]{"", "prefix."});
+
+        assertThat(propertyLookup.get("key")).isEqualTo("unprefixed");
+    }
+
+    @Test
+    public void testThatPropertiesWithoutMatchingPrefixAreIgnored() {
+        PropertyLookup propertyLookup = PropertyLookup.of(properties, new String[]{"prefix."});
+
+        assertThat(propertyLookup.get("key")).isEqualTo("prefixed");
+        assertThat(propertyLookup.get("onlyOther")).isNull();
+        assertThat(propertyLookup.get("other.key")).isNull();
+    }
+
+    @Test
+    public void testGetWithPrefix() {
+        properties.setProperty("pool.size", "10");
+        properties.setProperty("pool.timeout", "30");
+        properties.setProperty("poolName", "main");
+        properties.setProperty("prefix.pool.size", "20");
+        PropertyLookup propertyLookup = PropertyLookup.of(properties, new String[]{"prefix.", ""});
+
+        assertThat(propertyLookup.getWithPrefix("pool.")).containsExactly(entry("size", "20"), entry("timeout", "30"));
+        assertThat(propertyLookup.getWithPrefix("pool")).containsExactly(entry(".size", "20"), entry(".timeout", "30"), entry("Name", "main"));
+        assertThat(propertyLookup.getWithPrefix("missing.")).isEmpty();
+        assertThat(propertyLookup.getWithPrefix("")).hasSize(8);
+    }
+
+    @Test
+    public void testThatPropertiesWithPrefixAreFoundOnlyOnce() {
+        properties.setProperty("pool.size", "10");
+        PropertyLookup propertyLookup = PropertyLookup.of(properties, new String[]{""});
+
+        assertThat(propertyLookup.getWithPrefix("pool.")).isSameAs(propertyLookup.getWithPrefix("pool."));
+    }
+
+    @Test
+    public void testGetWithPrefixEndingWithMaximalCharacter() {
+        properties.setProperty("a\uffff.x", "1");
+        properties.setProperty("b", "2");
+        PropertyLookup propertyLookup = PropertyLookup.of(properties, new String[]{""});
+
+        assertThat(propertyLookup.getWithPrefix("a\uffff")).containsExactly(entry(".x", "1"));
+    }
+
+    @Test
+    public void testDefaultProperties() {
+        Properties propertiesWithDefaults = new Properties(properties);
+
+        assertThat(PropertyLookup.of(propertiesWithDefaults, new String[]{""}).get("key")).isEqualTo("unprefixed");
+    }
+}
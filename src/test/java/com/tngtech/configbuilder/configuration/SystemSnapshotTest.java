@@ -0,0 +1,58 @@
+package com.tngtech.configbuilder.configuration;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+public class SystemSnapshotTest {
+
+    private static final String PROPERTY_NAME = "configbuilder.test.snapshot";
+
+    @After
+    public void tearDown() {
+        System.clearProperty(PROPERTY_NAME);
+        SystemSnapshot.refreshShared();
+    }
+
+    @Test
+    public void testTake() {
+        System.setProperty(PROPERTY_NAME, "before");
+        SystemSnapshot systemSnapshot = SystemSnapshot.take();
+        System.setProperty(PROPERTY_NAME, "after");
+
+        assertThat(systemSnapshot.getSystemProperty(PROPERTY_NAME)).isEqualTo("before");
+        assertThat(systemSnapshot.getEnvironmentVariable("PATH")).isEqualTo(System.getenv("PATH"));
+        assertThat(systemSnapshot.getEnvironment()).isEqualTo(System.getenv());
+    }
+
+    @Test
+    public void testGetEnvironmentVariablesWithPrefix() {
+        Map<String, String> environment = ImmutableMap.of("APP_PORT", "8080", "APP_HOST", "localhost", "OTHER", "value");
+        SystemSnapshot systemSnapshot = new SystemSnapshot(environment, ImmutableMap.<String, String>of());
+
+        Map<String, String> environmentVariables = systemSnapshot.getEnvironmentVariablesWithPrefix("APP_");
+
+        assertThat(environmentVariables).containsOnly(entry("PORT", "8080"), entry("HOST", "localhost"));
+        assertThat(systemSnapshot.getEnvironmentVariablesWithPrefix("APP_")).isSameAs(environmentVariables);
+        assertThat(systemSnapshot.getEnvironmentVariablesWithPrefix("MISSING_")).isEmpty();
+    }
+
+    @Test
+    public void testSharedSnapshotIsOnlyUpdatedByRefresh() {
+        System.setProperty(PROPERTY_NAME, "before");
+        SystemSnapshot sharedSnapshot = SystemSnapshot.refreshShared();
+        System.setProperty(PROPERTY_NAME, "after");
+
+        assertThat(SystemSnapshot.getShared()).isSameAs(sharedSnapshot);
+        assertThat(SystemSnapshot.getShared().getSystemProperty(PROPERTY_NAME)).isEqualTo("before");
+
+        SystemSnapshot.refreshShared();
+
+        assertThat(SystemSnapshot.getShared().getSystemProperty(PROPERTY_NAME)).isEqualTo("after");
+    }
+}
@@ -0,0 +1,42 @@
+package com.tngtech.configbuilder.testclasses;
+
+import com.tngtech.configbuilder.annotation.propertyloaderconfiguration.PropertiesFiles;
+import com.tngtech.configbuilder.annotation.valueextractor.DefaultValue;
+import com.tngtech.configbuilder.annotation.valueextractor.PropertyMap;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.TimeUnit;
+
+@PropertiesFiles("testPropertyMap")
+public class TestConfigPropertyMap {
+
+    @PropertyMap("db.pool.")
+    private Map<String, Integer> pool;
+
+    @PropertyMap("tenant.")
+    private SortedMap<String, String> tenants;
+
+    @PropertyMap("timeout.")
+    private Map<TimeUnit, Integer> timeouts;
+
+    @DefaultValue("seconds,minutes")
+    private Set<TimeUnit> units;
+
+    public Map<String, Integer> getPool() {
+        return pool;
+    }
+
+    public SortedMap<String, String> getTenants() {
+        return tenants;
+    }
+
+    public Map<TimeUnit, Integer> getTimeouts() {
+        return timeouts;
+    }
+
+    public Set<TimeUnit> getUnits() {
+        return units;
+    }
+}
@@ -0,0 +1,20 @@
+package com.tngtech.configbuilder.testclasses;
+
+import com.tngtech.configbuilder.annotation.valueextractor.DefaultValue;
+
+public class TestConfigWithBinder {
+
+    @DefaultValue("3")
+    int boundNumber;
+
+    @DefaultValue("value")
+    private String privateString;
+
+    public int getBoundNumber() {
+        return boundNumber;
+    }
+
+    public String getPrivateString() {
+        return privateString;
+    }
+}
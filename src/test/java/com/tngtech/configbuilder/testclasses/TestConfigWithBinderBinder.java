@@ -0,0 +1,31 @@
+package com.tngtech.configbuilder.testclasses;
+
+import com.tngtech.configbuilder.binder.ConfigBinder;
+import com.tngtech.configbuilder.binder.FieldBinder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Written like the binder generated by the ConfigBinderProcessor, but records the fields it has set.
+ */
+public final class TestConfigWithBinderBinder implements ConfigBinder<TestConfigWithBinder> {
+
+    public static final List<String> boundFieldNames = new ArrayList<>();
+
+    @Override
+    public FieldBinder<TestConfigWithBinder> getFieldBinder(String fieldName) {
+        switch (fieldName) {
+            case "boundNumber":
+                return new FieldBinder<TestConfigWithBinder>() {
+                    @Override
+                    public void set(TestConfigWithBinder instance, Object value) {
+                        instance.boundNumber = (Integer) value;
+                        boundFieldNames.add("boundNumber");
+                    }
+                };
+            default:
+                return null;
+        }
+    }
+}
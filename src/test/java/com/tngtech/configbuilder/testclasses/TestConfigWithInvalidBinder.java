@@ -0,0 +1,11 @@
+package com.tngtech.configbuilder.testclasses;
+
+import com.tngtech.configbuilder.annotation.valueextractor.DefaultValue;
+
+public class TestConfigWithInvalidBinder {
+
+    public static boolean binderInitialized;
+
+    @DefaultValue("3")
+    int number;
+}
@@ -0,0 +1,11 @@
+package com.tngtech.configbuilder.testclasses;
+
+/**
+ * Named like a generated binder, but does not implement ConfigBinder.
+ */
+public class TestConfigWithInvalidBinderBinder {
+
+    static {
+        TestConfigWithInvalidBinder.binderInitialized = true;
+    }
+}
@@ -0,0 +1,211 @@
+package com.tngtech.configbuilder.util;
+
+import com.tngtech.configbuilder.configuration.PropertyLookup;
+import com.tngtech.propertyloader.PropertyLoader;
+import com.tngtech.propertyloader.exception.PropertyLoaderException;
+import com.tngtech.propertyloader.impl.interfaces.PropertyLoaderOpener;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CachingPropertyLoaderTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File directory;
+    private CachingPropertyLoader cachingPropertyLoader;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = temporaryFolder.getRoot();
+        writeFile("config.properties", "a=config\nb=config\n$include=included\n");
+        writeFile("config.override.properties", "b=override\n");
+        writeFile("included.properties", "a=included\nc=included\n");
+        writeFile("other.properties", "d=${c}\n");
+
+        cachingPropertyLoader = new CachingPropertyLoader(new PropertyFileCache());
+        configure(cachingPropertyLoader);
+    }
+
+    private void configure(PropertyLoader propertyLoader) {
+        propertyLoader.withDefaultConfig();
+        propertyLoader.getLocations().clear();
+        propertyLoader.atDirectory(directory.getPath());
+        propertyLoader.withBaseNames(Arrays.asList("config", "other"));
+    }
+
+    private void writeFile(String fileName, String content) throws Exception {
+        Files.write(new File(directory, fileName).toPath(), content.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    @Test
+    public void testThatPropertiesAreLoadedLikeWithPropertyLoader() {
+        PropertyLoader propertyLoader = new PropertyLoader();
+        configure(propertyLoader);
+
+        Properties properties = cachingPropertyLoader.load();
+
+        assertThat(properties).isEqualTo(propertyLoader.load());
+        assertThat(properties.getProperty("a")).isEqualTo("included");
+        assertThat(properties.getProperty("b")).isEqualTo("override");
+        assertThat(properties.getProperty("d")).isEqualTo("included");
+        assertThat(properties).doesNotContainKey("$include");
+    }
+
+    @Test
+    public void testThatLoadedPropertiesCanBeModified() {
+        cachingPropertyLoader.load().setProperty("a", "modified");
+
+        assertThat(cachingPropertyLoader.load().getProperty("a")).isEqualTo("included");
+    }
+
+    @Test
+    public void testThatUnchangedFilesAreNotReadAgain() throws Exception {
+        File file = new File(directory, "config.override.properties");
+        FileTime lastModified = Files.getLastModifiedTime(file.toPath());
+        cachingPropertyLoader.load();
+
+        writeFile("config.override.properties", "b=modified\n");
+        Files.setLastModifiedTime(file.toPath(), lastModified);
+
+        assertThat(cachingPropertyLoader.load().getProperty("b")).isEqualTo("override");
+    }
+
+    @Test
+    public void testThatChangedFilesAreReadAgain() throws Exception {
+        cachingPropertyLoader.load();
+
+        writeFile("config.override.properties", "b=changed again\n");
+
+        assertThat(cachingPropertyLoader.load().getProperty("b")).isEqualTo("changed again");
+    }
+
+    @Test
+    public void testThatNewAndDeletedFilesAreFound() throws Exception {
+        cachingPropertyLoader.load();
+
+        writeFile("other.override.properties", "e=new\n");
+        assertThat(new File(directory, "config.override.properties").delete()).isTrue();
+
+        Properties properties = cachingPropertyLoader.load();
+        assertThat(properties.getProperty("e")).isEqualTo("new");
+        assertThat(properties.getProperty("b")).isEqualTo("config");
+    }
+
+    @Test
+    public void testThatPropertyLookupIsReusedForUnchangedFilesAndSameAdditionalProperties() {
+        String[] prefixes = {""};
+        Properties additionalProperties = new Properties();
+        PropertyLookup propertyLookup = cachingPropertyLoader.getPropertyLookup(cachingPropertyLoader.load(), additionalProperties, prefixes);
+
+        assertThat(cachingPropertyLoader.getPropertyLookup(cachingPropertyLoader.load(), additionalProperties, prefixes)).isSameAs(propertyLookup);
+        assertThat(propertyLookup.get("b")).isEqualTo("override");
+        assertThat(cachingPropertyLoader.getPropertyLookup(cachingPropertyLoader.load(), additionalProperties, new String[]{"x.", ""})).isNotSameAs(propertyLookup);
+    }
+
+    @Test
+    public void testThatPropertyLookupsOfDifferentAdditionalPropertiesAreKeptApart() {
+        String[] prefixes = {""};
+        Properties additionalProperties = new Properties();
+        Properties otherAdditionalProperties = new Properties();
+        otherAdditionalProperties.setProperty("b", "additional");
+        PropertyLookup propertyLookup = cachingPropertyLoader.getPropertyLookup(cachingPropertyLoader.load(), additionalProperties, prefixes);
+
+        Properties extendedProperties = cachingPropertyLoader.load();
+        extendedProperties.putAll(otherAdditionalProperties);
+        PropertyLookup otherPropertyLookup = cachingPropertyLoader.getPropertyLookup(extendedProperties, otherAdditionalProperties, prefixes);
+
+        assertThat(otherPropertyLookup.get("b")).isEqualTo("additional");
+        assertThat(cachingPropertyLoader.getPropertyLookup(cachingPropertyLoader.load(), additionalProperties, prefixes)).isSameAs(propertyLookup);
+        assertThat(cachingPropertyLoader.getPropertyLookup(extendedProperties, otherAdditionalProperties, prefixes)).isSameAs(otherPropertyLookup);
+    }
+
+    @Test
+    public void testThatPropertyLookupIsCreatedForChangedFiles() throws Exception {
+        String[] prefixes = {""};
+        Properties additionalProperties = new Properties();
+        PropertyLookup propertyLookup = cachingPropertyLoader.getPropertyLookup(cachingPropertyLoader.load(), additionalProperties, prefixes);
+
+        writeFile("config.override.properties", "b=changed again\n");
+        PropertyLookup changedLookup = cachingPropertyLoader.getPropertyLookup(cachingPropertyLoader.load(), additionalProperties, prefixes);
+        assertThat(changedLookup).isNotSameAs(propertyLookup);
+        assertThat(changedLookup.get("b")).isEqualTo("changed again");
+    }
+
+    @Test
+    public void testThatSearchedFilesAreRemembered() {
+        cachingPropertyLoader.load();
+        cachingPropertyLoader.load("unrelated");
+
+        assertThat(cachingPropertyLoader.getSearchedFileNames()).contains("config.properties", "config.override.properties", "included.properties", "other.properties")
+                .doesNotContain("unrelated.properties");
+        assertThat(cachingPropertyLoader.getSearchedDirectories()).containsExactly(directory.toPath());
+    }
+
+    @Test
+    public void testThatParallelLoadingMergesInSameOrder() throws Exception {
+        writeFile("included.override.properties", "a=included override\n");
+        Properties expectedProperties = cachingPropertyLoader.load();
+        final ExecutorService executorService = Executors.newFixedThreadPool(4);
+        final AtomicInteger submittedTasks = new AtomicInteger();
+        try {
+            CachingPropertyLoader parallelPropertyLoader = new CachingPropertyLoader(new PropertyFileCache());
+            configure(parallelPropertyLoader);
+            parallelPropertyLoader.withExecutor(new Executor() {
+                @Override
+                public void execute(Runnable command) {
+                    submittedTasks.incrementAndGet();
+                    executorService.execute(command);
+                }
+            });
+
+            Properties properties = parallelPropertyLoader.load();
+
+            assertThat(properties).isEqualTo(expectedProperties);
+            assertThat(properties.getProperty("a")).isEqualTo("included override");
+            assertThat(submittedTasks.get()).isGreaterThan(1);
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void testLoadWithBaseName() {
+        assertThat(cachingPropertyLoader.load("included").getProperty("a")).isEqualTo("included");
+    }
+
+    @Test(expected = PropertyLoaderException.class)
+    public void testThatRecursiveIncludesThrowException() throws Exception {
+        writeFile("included.properties", "$include=config\n");
+
+        cachingPropertyLoader.load();
+    }
+
+    @Test
+    public void testThatOtherOpenersAreLoadedWithoutCache() {
+        cachingPropertyLoader.getLocations().getOpeners().add(new PropertyLoaderOpener() {
+            @Override
+            public InputStream open(String fileName) {
+                return fileName.equals("other.properties") ? new java.io.ByteArrayInputStream("f=custom".getBytes(StandardCharsets.ISO_8859_1)) : null;
+            }
+        });
+
+        assertThat(cachingPropertyLoader.load().getProperty("f")).isEqualTo("custom");
+    }
+}
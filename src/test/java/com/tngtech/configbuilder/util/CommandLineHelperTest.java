@@ -6,7 +6,7 @@ import com.tngtech.configbuilder.annotation.valueextractor.CommandLineValue;
 import com.tngtech.configbuilder.configuration.ErrorMessageSetup;
 import com.tngtech.configbuilder.exception.ConfigBuilderException;
 import org.apache.commons.cli.CommandLine;
-import org.apache.commons.cli.GnuParser;
+import org.apache.commons.cli.DefaultParser;
 import org.apache.commons.cli.Option;
 import org.apache.commons.cli.Options;
 import org.junit.Before;
@@ -16,14 +16,15 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
-import java.lang.reflect.Field;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
-import java.util.Set;
 
-import static com.google.common.collect.Sets.newHashSet;
+import static com.google.common.collect.Lists.newArrayList;
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.Mockito.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
 public class CommandLineHelperTest {
@@ -35,44 +36,50 @@ public class CommandLineHelperTest {
         public String anotherString;
     }
 
+    private static class ExtendedTestConfig extends TestConfig {
+        @CommandLineValue(shortOpt = "w", longOpt = "with", hasArg = true)
+        public String stringWithArgument;
+    }
+
+    private static class TestConfigForArgumentForms {
+        @CommandLineValue(shortOpt = "t", longOpt = "test")
+        public boolean flag;
+        @CommandLineValue(shortOpt = "u", longOpt = "user")
+        public boolean otherFlag;
+        @CommandLineValue(shortOpt = "rl", longOpt = "runLevel", hasArg = true)
+        public String runLevel;
+        @CommandLineValue(shortOpt = "w", longOpt = "with", hasArg = true)
+        public String stringWithArgument;
+    }
+
     private CommandLineHelper commandLineHelper;
-    private String[] args = null;
 
     @Mock
-    private Options options;
-    @Mock
-    private GnuParser parser;
+    private DefaultParser parser;
     @Mock
     private CommandLine commandLine;
     @Mock
     private ConfigBuilderFactory configBuilderFactory;
     @Mock
-    private AnnotationHelper annotationHelper;
-    @Mock
     private ErrorMessageSetup errorMessageSetup;
 
     @Before
-    public void setUp() throws Exception {
-        when(configBuilderFactory.getInstance(AnnotationHelper.class)).thenReturn(annotationHelper);
+    public void setUp() {
         when(configBuilderFactory.getInstance(ErrorMessageSetup.class)).thenReturn(errorMessageSetup);
 
         commandLineHelper = new CommandLineHelper(configBuilderFactory);
-
-        Set<Field> fields = newHashSet(TestConfig.class.getDeclaredFields());
-        when(annotationHelper.getFieldsAnnotatedWith(TestConfig.class, CommandLineValue.class)).thenReturn(fields);
-        when(parser.parse(options, args)).thenReturn(commandLine);
     }
 
     @Test
     public void testGetCommandLine() throws Exception {
-        when(configBuilderFactory.createInstance(GnuParser.class)).thenReturn(parser);
-        when(configBuilderFactory.createInstance(Options.class)).thenReturn(options);
-        ArgumentCaptor<Option> captor = ArgumentCaptor.forClass(Option.class);
+        String[] args = {"-u", "user"};
+        when(configBuilderFactory.createInstance(DefaultParser.class)).thenReturn(parser);
+        ArgumentCaptor<Options> captor = ArgumentCaptor.forClass(Options.class);
+        when(parser.parse(captor.capture(), eq(args))).thenReturn(commandLine);
+
         assertThat(commandLineHelper.getCommandLine(TestConfig.class, args)).isSameAs(commandLine);
-        verify(options, times(2)).addOption(captor.capture());
-        verify(parser).parse(options, args);
-        List<Option> options = captor.getAllValues();
 
+        List<Option> options = newArrayList(captor.getValue().getOptions());
         assertThat(options).hasSize(2);
 
         final ImmutableList<Option> sortedOptions = FluentIterable.from(options).toSortedList(new Comparator<Option>() {
@@ -91,11 +98,83 @@ public class CommandLineHelperTest {
         assertThat(sortedOptions.get(1).isRequired()).isEqualTo(false);
     }
 
+    @Test
+    public void testThatOptionsAreBuiltOncePerClass() throws Exception {
+        when(configBuilderFactory.createInstance(DefaultParser.class)).thenReturn(parser);
+        ArgumentCaptor<Options> captor = ArgumentCaptor.forClass(Options.class);
+        when(parser.parse(captor.capture(), any(String[].class))).thenReturn(commandLine);
+
+        commandLineHelper.getCommandLine(TestConfig.class, new String[]{"-u", "user"});
+        commandLineHelper.getCommandLine(TestConfig.class, new String[]{"-u", "otherUser"});
+
+        assertThat(captor.getAllValues().get(0)).isSameAs(captor.getAllValues().get(1));
+    }
+
+    @Test
+    public void testParseCommandLine() {
+        when(configBuilderFactory.createInstance(DefaultParser.class)).thenReturn(new DefaultParser());
+
+        CommandLine commandLine = commandLineHelper.getCommandLine(ExtendedTestConfig.class, new String[]{"-u", "--with", "value"});
+
+        assertThat(commandLine.hasOption("user")).isTrue();
+        assertThat(commandLine.getOptionValue("w")).isEqualTo("value");
+        assertThat(commandLine.hasOption("v")).isFalse();
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testThatArgumentsAreParsedLikeByGnuParser() throws Exception {
+        when(configBuilderFactory.createInstance(DefaultParser.class)).thenReturn(new DefaultParser());
+        when(configBuilderFactory.createInstance(Options.class)).thenReturn(new Options());
+        Options options = commandLineHelper.getOptions(TestConfigForArgumentForms.class);
+        String[][] argumentForms = {
+                {"-t"}, {"--test"}, {"-t", "-t"},
+                {"-rl", "3"}, {"--runLevel", "3"}, {"--runLevel=3"}, {"-rl=3"}, {"-t", "-rl=3", "-u"},
+                {"-w", "value"}, {"-wvalue"}, {"-w=value"}, {"--with=value"}, {"--with", "a=b"}, {"-w", "a b"},
+                {"-t", "trailing"}, {"-t", "--", "-w"}, {"-t", "--", "-rl=3"}, {"nd", "notDefined"}};
+
+        for (String[] args : argumentForms) {
+            String expected = describe(new org.apache.commons.cli.GnuParser().parse(options, args), options);
+            assertThat(describe(commandLineHelper.getCommandLine(TestConfigForArgumentForms.class, args), options))
+                    .as(Arrays.toString(args)).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    public void testArgumentFormsAcceptedOnlyByDefaultParser() {
+        when(configBuilderFactory.createInstance(DefaultParser.class)).thenReturn(new DefaultParser());
+
+        CommandLine flags = commandLineHelper.getCommandLine(TestConfigForArgumentForms.class, new String[]{"-tu"});
+        CommandLine prefix = commandLineHelper.getCommandLine(TestConfigForArgumentForms.class, new String[]{"--run", "3"});
+
+        assertThat(flags.hasOption("t")).isTrue();
+        assertThat(flags.hasOption("u")).isTrue();
+        assertThat(flags.getArgList()).isEmpty();
+        assertThat(prefix.getOptionValue("rl")).isEqualTo("3");
+    }
+
+    @Test(expected = ConfigBuilderException.class)
+    public void testThatMultiCharacterShortOptionWithAttachedValueIsRejected() {
+        when(configBuilderFactory.createInstance(DefaultParser.class)).thenReturn(new DefaultParser());
+        when(errorMessageSetup.getErrorMessage(any(Class.class))).thenReturn("error");
+
+        commandLineHelper.getCommandLine(TestConfigForArgumentForms.class, new String[]{"-rl3"});
+    }
+
+    private static String describe(CommandLine commandLine, Options options) {
+        StringBuilder description = new StringBuilder();
+        for (Option option : options.getOptions()) {
+            if (commandLine.hasOption(option.getOpt())) {
+                description.append(option.getOpt()).append(Arrays.toString(commandLine.getOptionValues(option.getOpt()))).append(' ');
+            }
+        }
+        return description.append(commandLine.getArgList()).toString();
+    }
+
     @Test(expected = ConfigBuilderException.class)
     public void testGetCommandLineThrowsException() {
-        when(configBuilderFactory.createInstance(GnuParser.class)).thenReturn(new GnuParser());
-        when(configBuilderFactory.createInstance(Options.class)).thenReturn(new Options());
-        args = new String[]{"nd", "notDefined"};
+        when(configBuilderFactory.createInstance(DefaultParser.class)).thenReturn(new DefaultParser());
+        String[] args = new String[]{"nd", "notDefined"};
         commandLineHelper.getCommandLine(TestConfig.class, args);
     }
 
@@ -107,4 +186,14 @@ public class CommandLineHelperTest {
         assertThat(options1.getOption("user").getLongOpt()).isEqualTo("user");
         assertThat(options1.getOption("vir").getOpt()).isEqualTo("v");
     }
+
+    @Test
+    public void testThatOptionsAreCopied() {
+        when(configBuilderFactory.createInstance(Options.class)).thenReturn(new Options(), new Options());
+
+        Options options = commandLineHelper.getOptions(TestConfig.class);
+        options.getOption("user").setDescription("changed");
+
+        assertThat(commandLineHelper.getOptions(TestConfig.class).getOption("user").getDescription()).isNotEqualTo("changed");
+    }
 }
@@ -1,5 +1,6 @@
 package com.tngtech.configbuilder.util;
 
+import com.tngtech.configbuilder.configuration.BuilderConfiguration;
 import com.tngtech.configbuilder.configuration.ErrorMessageSetup;
 import com.tngtech.configbuilder.exception.FactoryInstantiationException;
 import com.tngtech.propertyloader.PropertyLoader;
@@ -48,6 +49,22 @@ public class ConfigBuilderFactoryTest {
         assertThat(configBuilderFactory.getInstance(NestedClass.class)).isInstanceOf(NestedClass.class);
     }
 
+    @Test
+    public void testThatViewForBuildReturnsBuilderConfigurationOfBuild() {
+        BuilderConfiguration builderConfiguration = new BuilderConfiguration();
+        ConfigBuilderFactory buildFactory = configBuilderFactory.forBuild(builderConfiguration);
+
+        assertThat(buildFactory.getInstance(BuilderConfiguration.class)).isSameAs(builderConfiguration);
+        assertThat(buildFactory.getInstance(ErrorMessageSetup.class)).isSameAs(configBuilderFactory.getInstance(ErrorMessageSetup.class));
+    }
+
+    @Test
+    public void testGetInstanceThrowsExceptionForBuilderConfigurationOutsideOfBuild() {
+        configBuilderFactory.getInstance(ErrorMessageSetup.class).initialize("errors", new PropertyLoader());
+        expectedException.expect(FactoryInstantiationException.class);
+        configBuilderFactory.getInstance(BuilderConfiguration.class);
+    }
+
     @Test
     public void testGetInstanceThrowsExceptionForInnerClass() {
         configBuilderFactory.getInstance(ErrorMessageSetup.class).initialize("errors", new PropertyLoader());
@@ -0,0 +1,267 @@
+package com.tngtech.configbuilder.util;
+
+import com.tngtech.configbuilder.annotation.configuration.DoNotLogValue;
+import com.tngtech.configbuilder.annotation.configuration.LoadingOrder;
+import com.tngtech.configbuilder.annotation.configuration.PropertyNamePrefix;
+import com.tngtech.configbuilder.annotation.configuration.Separator;
+import com.tngtech.configbuilder.annotation.typetransformer.CharacterSeparatedStringToStringSetTransformer;
+import com.tngtech.configbuilder.annotation.typetransformer.TypeTransformers;
+import com.tngtech.configbuilder.annotation.validation.Validation;
+import com.tngtech.configbuilder.annotation.valueextractor.CommandLineValue;
+import com.tngtech.configbuilder.annotation.valueextractor.CommandLineValueProcessor;
+import com.tngtech.configbuilder.annotation.valueextractor.DefaultValue;
+import com.tngtech.configbuilder.annotation.valueextractor.DefaultValueProcessor;
+import com.tngtech.configbuilder.annotation.valueextractor.EnvironmentVariablePrefix;
+import com.tngtech.configbuilder.annotation.valueextractor.EnvironmentVariableValue;
+import com.tngtech.configbuilder.annotation.valueextractor.PropertyMap;
+import com.tngtech.configbuilder.annotation.valueextractor.PropertyValue;
+import com.tngtech.configbuilder.annotation.valueextractor.ValueExtractorAnnotation;
+import com.tngtech.configbuilder.binder.RuntimeBinder;
+import com.tngtech.configbuilder.configuration.BuilderConfiguration;
+import com.tngtech.configbuilder.testclasses.TestConfigWithBinder;
+import com.tngtech.configbuilder.testclasses.TestConfigWithBinderBinder;
+import com.tngtech.configbuilder.testclasses.TestConfigWithInvalidBinder;
+import org.junit.Test;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.groups.Default;
+import java.lang.annotation.Annotation;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConfigPlanTest {
+
+    @LoadingOrder({PropertyValue.class, DefaultValue.class})
+    @PropertyNamePrefix({"prefix.", ""})
+    private static class TestConfig {
+        @PropertyValue("key")
+        @DefaultValue("value")
+        private String stringField;
+
+        @CommandLineValue(shortOpt = "c", longOpt = "collection")
+        @DefaultValue("a;b")
+        @LoadingOrder({DefaultValue.class, CommandLineValue.class})
+        @Separator(";")
+        @TypeTransformers(CharacterSeparatedStringToStringSetTransformer.class)
+        @DoNotLogValue
+        private Collection<String> collectionField;
+
+        private String fieldWithoutAnnotations;
+    }
+
+    private static class ValidatedTestConfig {
+        @Validation
+        private void validate() {
+        }
+    }
+
+    private static class ConstrainedTestConfig extends ValidatedTestConfig {
+        @NotNull.List({@NotNull(groups = Default.class)})
+        private String string;
+    }
+
+    @EnvironmentVariablePrefix("APP_")
+    private static class EnvironmentTestConfig {
+        @EnvironmentVariableValue("PORT")
+        private int port;
+
+        @EnvironmentVariablePrefix("FEATURE_")
+        private Map<String, String> features;
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.FIELD)
+    @ValueExtractorAnnotation(DefaultValueProcessor.class)
+    private @interface CustomValue {
+        String value();
+    }
+
+    private static class CustomValueTestConfig {
+        @PropertyValue("key")
+        private String stringField;
+
+        @CustomValue("value")
+        private String customField;
+
+        @DefaultValue("value")
+        private String defaultField;
+    }
+
+    @PropertyNamePrefix({"prefix.", ""})
+    private static class PropertyMapTestConfig {
+        @PropertyMap("pool.")
+        private Map<String, Integer> pool;
+    }
+
+    private static class ExtendedTestConfig extends TestConfig {
+        @DefaultValue("3")
+        private int extendedField;
+    }
+
+    @Test
+    public void testThatPlanIsComputedOncePerClass() {
+        assertThat(ConfigPlan.of(TestConfig.class)).isSameAs(ConfigPlan.of(TestConfig.class));
+    }
+
+    @Test
+    public void testClassLevelAnnotations() {
+        ConfigPlan configPlan = ConfigPlan.of(TestConfig.class);
+
+        assertThat(configPlan.getConfigClass()).isEqualTo(TestConfig.class);
+        assertThat(configPlan.getAnnotationOrder()).containsExactly(PropertyValue.class, DefaultValue.class);
+        assertThat(configPlan.getPropertyNamePrefixes()).containsExactly("prefix.", "");
+    }
+
+    @Test
+    public void testDefaultsWithoutClassLevelAnnotations() {
+        ConfigPlan configPlan = ConfigPlan.of(ExtendedTestConfig.class);
+
+        assertThat(configPlan.getAnnotationOrder()).containsExactly(BuilderConfiguration.getDefaultAnnotationOrder());
+        assertThat(configPlan.getPropertyNamePrefixes()).containsExactly("");
+    }
+
+    @Test
+    public void testThatOnlyAnnotatedFieldsArePlanned() {
+        List<FieldPlan> fieldPlans = ConfigPlan.of(ExtendedTestConfig.class).getFieldPlans();
+
+        assertThat(fieldPlans).hasSize(3);
+        assertThat(fieldPlans.get(0).getName()).isEqualTo("extendedField");
+        assertThat(fieldPlans.get(1).getName()).isEqualTo("stringField");
+        assertThat(fieldPlans.get(2).getName()).isEqualTo("collectionField");
+    }
+
+    @Test
+    public void testFieldPlan() throws Exception {
+        FieldPlan fieldPlan = ConfigPlan.of(TestConfig.class).getFieldPlans().get(1);
+        Class<? extends Annotation>[] globalOrder = ConfigPlan.of(TestConfig.class).getAnnotationOrder();
+
+        assertThat(fieldPlan.getGenericType()).isEqualTo(TestConfig.class.getDeclaredField("collectionField").getGenericType());
+        assertThat(fieldPlan.getSeparator()).isEqualTo(";");
+        assertThat(fieldPlan.isDoNotLogValue()).isTrue();
+        assertThat(fieldPlan.getTransformerClasses().get(0)).isEqualTo(CharacterSeparatedStringToStringSetTransformer.class);
+        assertThat(fieldPlan.getTransformerClasses().subList(1, fieldPlan.getTransformerClasses().size())).isEqualTo(FieldValueTransformer.getDefaultTransformers());
+
+        List<Annotation> valueAnnotations = fieldPlan.getValueAnnotations(globalOrder);
+        assertThat(valueAnnotations).hasSize(2);
+        assertThat(valueAnnotations.get(0)).isInstanceOf(DefaultValue.class);
+        assertThat(valueAnnotations.get(1)).isInstanceOf(CommandLineValue.class);
+        assertThat(fieldPlan.getProcessorClass(valueAnnotations.get(0))).isEqualTo(DefaultValueProcessor.class);
+        assertThat(fieldPlan.getProcessorClass(valueAnnotations.get(1))).isEqualTo(CommandLineValueProcessor.class);
+    }
+
+    @Test
+    public void testFieldPlanWithDifferentGlobalOrder() {
+        FieldPlan fieldPlan = ConfigPlan.of(TestConfig.class).getFieldPlans().get(0);
+
+        assertThat(fieldPlan.getSeparator()).isEqualTo(",");
+        assertThat(fieldPlan.isDoNotLogValue()).isFalse();
+        assertThat(fieldPlan.getValueAnnotations(new Class[]{PropertyValue.class, DefaultValue.class}).get(0)).isInstanceOf(PropertyValue.class);
+        assertThat(fieldPlan.getValueAnnotations(new Class[]{DefaultValue.class, PropertyValue.class}).get(0)).isInstanceOf(DefaultValue.class);
+    }
+
+    @Test
+    public void testThatGeneratedBinderIsFound() {
+        assertThat(ConfigPlan.of(TestConfigWithBinder.class).getBinder()).isInstanceOf(TestConfigWithBinderBinder.class);
+        assertThat(ConfigPlan.of(TestConfig.class).getBinder()).isNull();
+    }
+
+    @Test
+    public void testThatClassesNotImplementingConfigBinderAreNeitherInitializedNorUsed() {
+        assertThat(ConfigPlan.of(TestConfigWithInvalidBinder.class).getBinder()).isNull();
+        assertThat(TestConfigWithInvalidBinder.binderInitialized).isFalse();
+    }
+
+    @Test
+    public void testThatFieldBindersAreCreatedForBoundFields() {
+        ConfigPlan configPlan = ConfigPlan.of(TestConfigWithBinder.class);
+        List<FieldPlan> fieldPlans = configPlan.getFieldPlans();
+
+        assertThat(fieldPlans.get(0).getName()).isEqualTo("boundNumber");
+        assertThat(configPlan.getFieldBinder(fieldPlans.get(0))).isNotNull();
+        assertThat(configPlan.getFieldBinder(fieldPlans.get(1))).isNull();
+    }
+
+    @Test
+    public void testReadsSystemSnapshot() {
+        assertThat(ConfigPlan.of(EnvironmentTestConfig.class).readsSystemSnapshot()).isTrue();
+        assertThat(ConfigPlan.of(PropertyMapTestConfig.class).readsSystemSnapshot()).isFalse();
+    }
+
+    @Test
+    public void testReadsProperties() {
+        assertThat(ConfigPlan.of(TestConfig.class).readsProperties()).isTrue();
+        assertThat(ConfigPlan.of(PropertyMapTestConfig.class).readsProperties()).isTrue();
+        assertThat(ConfigPlan.of(EnvironmentTestConfig.class).readsProperties()).isFalse();
+    }
+
+    @Test
+    public void testThatRuntimeBinderIsCreatedOnce() {
+        ConfigPlan configPlan = ConfigPlan.of(ValidatedTestConfig.class);
+
+        RuntimeBinder runtimeBinder = configPlan.getRuntimeBinder();
+        assertThat(runtimeBinder).isNotNull();
+        assertThat(configPlan.getRuntimeBinder()).isSameAs(runtimeBinder);
+    }
+
+    @Test
+    public void testValidationMethods() throws Exception {
+        assertThat(ConfigPlan.of(ConstrainedTestConfig.class).getValidationMethods()).containsExactly(ValidatedTestConfig.class.getDeclaredMethod("validate"));
+        assertThat(ConfigPlan.of(TestConfig.class).getValidationMethods()).isEmpty();
+    }
+
+    @Test
+    public void testThatConstraintsAreDetected() {
+        assertThat(ConfigPlan.of(ConstrainedTestConfig.class).isConstrained()).isTrue();
+        assertThat(ConfigPlan.of(ValidatedTestConfig.class).isConstrained()).isFalse();
+        assertThat(ConfigPlan.of(TestConfig.class).isConstrained()).isFalse();
+    }
+
+    @Test
+    public void testFieldPlansForProperties() {
+        ConfigPlan configPlan = ConfigPlan.of(TestConfig.class);
+        FieldPlan stringFieldPlan = configPlan.getFieldPlans().get(0);
+
+        assertThat(configPlan.getFieldPlansForProperties(Collections.singleton("key"))).containsExactly(stringFieldPlan);
+        assertThat(configPlan.getFieldPlansForProperties(Arrays.asList("prefix.key", "key"))).containsExactly(stringFieldPlan);
+        assertThat(configPlan.getFieldPlansForProperties(Arrays.asList("other.key", "collection"))).isEmpty();
+    }
+
+    @Test
+    public void testThatFieldsWithUnindexedValueAnnotationsAreAlwaysIncluded() {
+        ConfigPlan configPlan = ConfigPlan.of(CustomValueTestConfig.class);
+        List<FieldPlan> fieldPlans = configPlan.getFieldPlans();
+
+        assertThat(configPlan.getFieldPlansForProperties(Collections.<String>emptySet())).containsExactly(fieldPlans.get(1));
+        assertThat(configPlan.getFieldPlansForProperties(Collections.singleton("key"))).containsExactly(fieldPlans.get(0), fieldPlans.get(1));
+    }
+
+    @Test
+    public void testFieldPlansForPropertyMaps() {
+        ConfigPlan configPlan = ConfigPlan.of(PropertyMapTestConfig.class);
+        FieldPlan poolFieldPlan = configPlan.getFieldPlans().get(0);
+
+        assertThat(configPlan.getFieldPlansForProperties(Collections.singleton("prefix.pool.size"))).containsExactly(poolFieldPlan);
+        assertThat(configPlan.getFieldPlansForProperties(Collections.singleton("pool.timeout"))).containsExactly(poolFieldPlan);
+        assertThat(configPlan.getFieldPlansForProperties(Collections.singleton("poolsize"))).isEmpty();
+    }
+
+    @Test
+    public void testFieldPlansForEnvironmentVariables() {
+        ConfigPlan configPlan = ConfigPlan.of(EnvironmentTestConfig.class);
+        List<FieldPlan> fieldPlans = configPlan.getFieldPlans();
+
+        assertThat(configPlan.getEnvironmentVariablePrefix()).isEqualTo("APP_");
+        assertThat(configPlan.getFieldPlansFor(Collections.<String>emptySet(), Collections.<String>emptySet(), Arrays.asList("FEATURE_X", "APP_PORT")))
+                .containsExactly(fieldPlans.get(0), fieldPlans.get(1));
+        assertThat(configPlan.getFieldPlansFor(Collections.<String>emptySet(), Collections.<String>emptySet(), Collections.singleton("PORT"))).isEmpty();
+    }
+}
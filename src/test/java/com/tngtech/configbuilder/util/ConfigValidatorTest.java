@@ -13,23 +13,35 @@ import org.mockito.junit.MockitoJUnitRunner;
 
 import javax.validation.ConstraintViolation;
 import javax.validation.ValidatorFactory;
+import javax.validation.constraints.NotNull;
 import java.util.Set;
 
 import static com.google.common.collect.Sets.newHashSet;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
 public class ConfigValidatorTest {
 
     private static class TestConfig {
+        @NotNull
+        private String notNullString;
+    }
+
+    private static class TestConfigWithValidationMethod {
         @Validation
         private void validate() {
             throw new RuntimeException();
         }
     }
 
-    private ConfigValidator<TestConfig> configValidator;
+    private static class TestConfigWithoutConstraints {
+        private String string;
+    }
+
+    private ConfigValidator<Object> configValidator;
 
     @Mock
     private ConfigBuilderFactory configBuilderFactory;
@@ -40,28 +52,25 @@ public class ConfigValidatorTest {
     @Mock
     private TestConfig testConfig;
     @Mock
-    private ConstraintViolation<TestConfig> constraintViolation1, constraintViolation2;
+    private ConstraintViolation<Object> constraintViolation1, constraintViolation2;
     @Mock
     private ErrorMessageSetup errorMessageSetup;
-    @Mock
-    private AnnotationHelper annotationHelper;
 
     @Rule
     public ExpectedException expectedException = ExpectedException.none();
 
     @Before
     public void setUp() {
-        when(configBuilderFactory.getInstance(AnnotationHelper.class)).thenReturn(annotationHelper);
         when(configBuilderFactory.getInstance(ErrorMessageSetup.class)).thenReturn(errorMessageSetup);
-        when(configBuilderFactory.getInstance(ValidatorFactory.class)).thenReturn(validatorFactory);
-        when(validatorFactory.getValidator()).thenReturn(validator);
 
-        configValidator = new ConfigValidator<TestConfig>(configBuilderFactory);
+        configValidator = new ConfigValidator<Object>(configBuilderFactory);
     }
 
     @Test
     public void testValidateWithConstraintViolations() {
-        when(validator.validate(testConfig)).thenReturn(newHashSet(constraintViolation1, constraintViolation2));
+        when(configBuilderFactory.getInstance(ValidatorFactory.class)).thenReturn(validatorFactory);
+        when(validatorFactory.getValidator()).thenReturn(validator);
+        when(validator.validate((Object) testConfig)).thenReturn(newHashSet(constraintViolation1, constraintViolation2));
         when(errorMessageSetup.getErrorMessage(any(Class.class))).thenReturn("Validation found the following constraint violations:");
 
         expectedException.expect(ValidatorException.class);
@@ -72,18 +81,26 @@ public class ConfigValidatorTest {
     @Test
     public void testCallValidadionMethods() throws Exception {
         when(errorMessageSetup.getErrorMessage(any(Throwable.class))).thenReturn("InvocationTargetException");
-        when(annotationHelper.getMethodsAnnotatedWith(TestConfig.class, Validation.class)).thenReturn(newHashSet(TestConfig.class.getDeclaredMethod("validate")));
 
         expectedException.expect(ValidatorException.class);
         expectedException.expectMessage("InvocationTargetException");
-        configValidator.validate(new TestConfig());
+        configValidator.validate(new TestConfigWithValidationMethod());
     }
 
     @Test
     public void testValidateWithoutConstraintViolations() {
-        Set<ConstraintViolation<TestConfig>> constraintViolations = newHashSet();
-        when(validator.validate(testConfig)).thenReturn(constraintViolations);
+        when(configBuilderFactory.getInstance(ValidatorFactory.class)).thenReturn(validatorFactory);
+        when(validatorFactory.getValidator()).thenReturn(validator);
+        Set<ConstraintViolation<Object>> constraintViolations = newHashSet();
+        when(validator.validate((Object) testConfig)).thenReturn(constraintViolations);
 
         configValidator.validate(testConfig);
     }
+
+    @Test
+    public void testThatJSRValidationIsSkippedWithoutConstraints() {
+        configValidator.validate(new TestConfigWithoutConstraints());
+
+        verify(configBuilderFactory, never()).getInstance(ValidatorFactory.class);
+    }
 }
@@ -4,6 +4,8 @@ import com.tngtech.configbuilder.annotation.valueextractor.DefaultValue;
 import com.tngtech.configbuilder.configuration.BuilderConfiguration;
 import com.tngtech.configbuilder.configuration.ErrorMessageSetup;
 import com.tngtech.configbuilder.exception.ConfigBuilderException;
+import com.tngtech.configbuilder.testclasses.TestConfigWithBinder;
+import com.tngtech.configbuilder.testclasses.TestConfigWithBinderBinder;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -12,10 +14,19 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
-import java.lang.reflect.Field;
+import com.google.common.collect.ImmutableList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.same;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -42,6 +53,35 @@ public class FieldSetterTest {
         int testInt;
     }
 
+    private static class TestConfigForRuntimeBinder {
+        @DefaultValue("1")
+        int testInt;
+    }
+
+    private static class TestConfigForCopy {
+        @DefaultValue("a,b")
+        List<String> testList;
+
+        @DefaultValue("1,2")
+        int[] testArray;
+
+        String constructorState = "initial";
+    }
+
+    private static class TestConfigForUncopyableValues {
+        @DefaultValue("a")
+        StringBuilder mutableValue;
+
+        @DefaultValue("a")
+        List<StringBuilder> listOfMutableValues;
+
+        @DefaultValue("a")
+        ImmutableList<String> immutableList;
+
+        @DefaultValue("a")
+        String nullValue;
+    }
+
     private static class TestConfigWithoutAnnotations {
         String testString = "testString";
     }
@@ -55,23 +95,22 @@ public class FieldSetterTest {
     @Mock
     private ErrorMessageSetup errorMessageSetup;
     @Mock
-    private AnnotationHelper annotationHelper;
-    @Mock
     private ConfigBuilderFactory configBuilderFactory;
+    @Mock
+    private ConfigBuilderFactory buildFactory;
 
     @Before
     public void setUp() {
         when(configBuilderFactory.getInstance(FieldValueTransformer.class)).thenReturn(fieldValueTransformer);
         when(configBuilderFactory.getInstance(FieldValueExtractor.class)).thenReturn(fieldValueExtractor);
-        when(configBuilderFactory.getInstance(AnnotationHelper.class)).thenReturn(annotationHelper);
         when(configBuilderFactory.getInstance(ErrorMessageSetup.class)).thenReturn(errorMessageSetup);
-        when(annotationHelper.fieldHasAnnotationAnnotatedWith(any(Field.class), any(Class.class))).thenReturn(true);
     }
 
     @Test
     public void testSetFieldsThrowsIllegalArgumentException() {
-        when(fieldValueExtractor.extractValue(any(Field.class), any(BuilderConfiguration.class))).thenReturn("stringValue");
-        when(fieldValueTransformer.transformFieldValue(any(Field.class), any(String.class))).thenReturn("stringValue");
+        when(configBuilderFactory.forBuild(builderConfiguration)).thenReturn(buildFactory);
+        when(fieldValueExtractor.extractValue(any(FieldPlan.class), same(builderConfiguration), same(buildFactory))).thenReturn("stringValue");
+        when(fieldValueTransformer.transformFieldValue(any(FieldPlan.class), any(String.class))).thenReturn("stringValue");
         when(errorMessageSetup.getErrorMessage(any(IllegalArgumentException.class), any(String.class), any(String.class), any(String.class))).thenReturn("IllegalArgumentException");
 
         FieldSetter<TestConfigForIllegalArgumentException> fieldSetter = new FieldSetter<TestConfigForIllegalArgumentException>(configBuilderFactory);
@@ -85,8 +124,9 @@ public class FieldSetterTest {
 
     @Test
     public void testSetFields() {
-        when(fieldValueExtractor.extractValue(any(Field.class), any(BuilderConfiguration.class))).thenReturn("stringValue");
-        when(fieldValueTransformer.transformFieldValue(any(Field.class), any(String.class))).thenReturn("stringValue");
+        when(configBuilderFactory.forBuild(builderConfiguration)).thenReturn(buildFactory);
+        when(fieldValueExtractor.extractValue(any(FieldPlan.class), same(builderConfiguration), same(buildFactory))).thenReturn("stringValue");
+        when(fieldValueTransformer.transformFieldValue(any(FieldPlan.class), any(String.class))).thenReturn("stringValue");
 
         FieldSetter<TestConfig> fieldSetter = new FieldSetter<TestConfig>(configBuilderFactory);
         TestConfig testConfig = new TestConfig();
@@ -99,8 +139,6 @@ public class FieldSetterTest {
 
     @Test
     public void testSetFieldsForFieldWithoutValueExtractorAnnotation() {
-        when(annotationHelper.fieldHasAnnotationAnnotatedWith(any(Field.class), any(Class.class))).thenReturn(false);
-
         FieldSetter<TestConfigWithoutAnnotations> fieldSetter = new FieldSetter<TestConfigWithoutAnnotations>(configBuilderFactory);
         TestConfigWithoutAnnotations testConfigWithoutAnnotations = new TestConfigWithoutAnnotations();
 
@@ -111,8 +149,9 @@ public class FieldSetterTest {
 
     @Test
     public void testSetFieldsInObjectHierarchy() {
-        when(fieldValueExtractor.extractValue(any(Field.class), any(BuilderConfiguration.class))).thenReturn("stringValue");
-        when(fieldValueTransformer.transformFieldValue(any(Field.class), any(String.class))).thenReturn("stringValue");
+        when(configBuilderFactory.forBuild(builderConfiguration)).thenReturn(buildFactory);
+        when(fieldValueExtractor.extractValue(any(FieldPlan.class), same(builderConfiguration), same(buildFactory))).thenReturn("stringValue");
+        when(fieldValueTransformer.transformFieldValue(any(FieldPlan.class), any(String.class))).thenReturn("stringValue");
 
         ExtendedTestConfig testConfig = new ExtendedTestConfig();
 
@@ -123,4 +162,125 @@ public class FieldSetterTest {
         assertThat(testConfig.emptyTestString).isEqualTo("stringValue");
         assertThat(testConfig.extendedTestString).isEqualTo("stringValue");
     }
+
+    @Test
+    public void testSetFieldsWithBinder() {
+        when(configBuilderFactory.forBuild(builderConfiguration)).thenReturn(buildFactory);
+        when(fieldValueExtractor.extractValue(any(FieldPlan.class), same(builderConfiguration), same(buildFactory))).thenReturn("value");
+        when(fieldValueTransformer.transformFieldValue(any(FieldPlan.class), eq("value"))).thenReturn(3, "stringValue");
+        TestConfigWithBinderBinder.boundFieldNames.clear();
+
+        FieldSetter<TestConfigWithBinder> fieldSetter = new FieldSetter<TestConfigWithBinder>(configBuilderFactory);
+        TestConfigWithBinder testConfig = new TestConfigWithBinder();
+        fieldSetter.setFields(testConfig, builderConfiguration);
+
+        assertThat(testConfig.getBoundNumber()).isEqualTo(3);
+        assertThat(testConfig.getPrivateString()).isEqualTo("stringValue");
+        assertThat(TestConfigWithBinderBinder.boundFieldNames).containsExactly("boundNumber");
+    }
+
+    @Test
+    public void testSetFieldsWithRuntimeBinder() {
+        when(configBuilderFactory.forBuild(builderConfiguration)).thenReturn(buildFactory);
+        when(fieldValueExtractor.extractValue(any(FieldPlan.class), same(builderConfiguration), same(buildFactory))).thenReturn("1", "2");
+        when(fieldValueTransformer.transformFieldValue(any(FieldPlan.class), eq("1"))).thenReturn(1);
+
+        FieldSetter<TestConfigForRuntimeBinder> fieldSetter = new FieldSetter<TestConfigForRuntimeBinder>(configBuilderFactory);
+        fieldSetter.setRuntimeBinderThreshold(1);
+        TestConfigForRuntimeBinder firstConfig = new TestConfigForRuntimeBinder();
+        fieldSetter.setFields(firstConfig, builderConfiguration);
+        TestConfigForRuntimeBinder secondConfig = new TestConfigForRuntimeBinder();
+        fieldSetter.setFields(secondConfig, builderConfiguration);
+
+        assertThat(firstConfig.testInt).isEqualTo(1);
+        assertThat(secondConfig.testInt).isEqualTo(2);
+        verify(fieldValueTransformer, never()).transformFieldValue(any(FieldPlan.class), eq("2"));
+    }
+
+    @Test
+    public void testThatBuildsAreCountedPerFieldSetter() {
+        when(configBuilderFactory.forBuild(builderConfiguration)).thenReturn(buildFactory);
+        when(fieldValueExtractor.extractValue(any(FieldPlan.class), same(builderConfiguration), same(buildFactory))).thenReturn("1", "2", "3");
+        when(fieldValueTransformer.transformFieldValue(any(FieldPlan.class), eq("1"))).thenReturn(1);
+        when(fieldValueTransformer.transformFieldValue(any(FieldPlan.class), eq("3"))).thenReturn(3);
+
+        FieldSetter<TestConfigForRuntimeBinder> fieldSetter = new FieldSetter<TestConfigForRuntimeBinder>(configBuilderFactory);
+        fieldSetter.setRuntimeBinderThreshold(1);
+        fieldSetter.setFields(new TestConfigForRuntimeBinder(), builderConfiguration);
+        fieldSetter.setFields(new TestConfigForRuntimeBinder(), builderConfiguration);
+        FieldSetter<TestConfigForRuntimeBinder> otherFieldSetter = new FieldSetter<TestConfigForRuntimeBinder>(configBuilderFactory);
+        otherFieldSetter.setRuntimeBinderThreshold(1);
+        TestConfigForRuntimeBinder otherConfig = new TestConfigForRuntimeBinder();
+        otherFieldSetter.setFields(otherConfig, builderConfiguration);
+
+        assertThat(otherConfig.testInt).isEqualTo(3);
+        verify(fieldValueTransformer).transformFieldValue(any(FieldPlan.class), eq("3"));
+    }
+
+    @Test
+    public void testSetSelectedFields() {
+        when(configBuilderFactory.forBuild(builderConfiguration)).thenReturn(buildFactory);
+        when(fieldValueExtractor.extractValue(any(FieldPlan.class), same(builderConfiguration), same(buildFactory))).thenReturn("stringValue");
+        when(fieldValueTransformer.transformFieldValue(any(FieldPlan.class), any(String.class))).thenReturn("stringValue");
+
+        FieldSetter<ExtendedTestConfig> fieldSetter = new FieldSetter<ExtendedTestConfig>(configBuilderFactory);
+        ExtendedTestConfig testConfig = new ExtendedTestConfig();
+        FieldPlan extendedFieldPlan = ConfigPlan.of(ExtendedTestConfig.class).getFieldPlans().get(0);
+        fieldSetter.setFields(testConfig, builderConfiguration, Collections.singletonList(extendedFieldPlan));
+
+        assertThat(testConfig.extendedTestString).isEqualTo("stringValue");
+        assertThat(testConfig.testString).isEqualTo("defaultValue");
+        assertThat(testConfig.emptyTestString).isNull();
+    }
+
+    @Test
+    public void testCopyFields() {
+        FieldSetter<ExtendedTestConfig> fieldSetter = new FieldSetter<ExtendedTestConfig>(configBuilderFactory);
+        ExtendedTestConfig source = new ExtendedTestConfig();
+        source.emptyTestString = "copied";
+        source.testString = null;
+        source.extendedTestString = "extended";
+        ExtendedTestConfig target = new ExtendedTestConfig();
+        List<FieldPlan> fieldPlans = ConfigPlan.of(ExtendedTestConfig.class).getFieldPlans();
+
+        fieldSetter.copyFields(source, target, fieldPlans.subList(0, 2));
+
+        assertThat(target.extendedTestString).isEqualTo("extended");
+        assertThat(target.emptyTestString).isEqualTo("copied");
+        assertThat(target.testString).isEqualTo("defaultValue");
+    }
+
+    @Test
+    public void testThatCopyFieldsCopiesMutableValuesAndKeepsConstructorState() {
+        FieldSetter<TestConfigForCopy> fieldSetter = new FieldSetter<TestConfigForCopy>(configBuilderFactory);
+        TestConfigForCopy source = new TestConfigForCopy();
+        source.testList = new ArrayList<String>(Arrays.asList("a", "b"));
+        source.testArray = new int[]{1, 2};
+        source.constructorState = "changed";
+        TestConfigForCopy target = new TestConfigForCopy();
+
+        fieldSetter.copyFields(source, target, ConfigPlan.of(TestConfigForCopy.class).getFieldPlans());
+
+        assertThat(target.testList).containsExactly("a", "b").isNotSameAs(source.testList);
+        assertThat(target.testArray).containsExactly(1, 2).isNotSameAs(source.testArray);
+        assertThat(target.constructorState).isEqualTo("initial");
+    }
+
+    @Test
+    public void testThatCopyFieldsSkipsValuesWhichMayBeMutable() {
+        FieldSetter<TestConfigForUncopyableValues> fieldSetter = new FieldSetter<TestConfigForUncopyableValues>(configBuilderFactory);
+        TestConfigForUncopyableValues source = new TestConfigForUncopyableValues();
+        source.mutableValue = new StringBuilder("a");
+        source.listOfMutableValues = new ArrayList<StringBuilder>(Collections.singletonList(new StringBuilder("a")));
+        source.immutableList = ImmutableList.of("a");
+        TestConfigForUncopyableValues target = new TestConfigForUncopyableValues();
+        List<FieldPlan> fieldPlans = ConfigPlan.of(TestConfigForUncopyableValues.class).getFieldPlans();
+
+        List<FieldPlan> fieldPlansNotCopied = fieldSetter.copyFields(source, target, fieldPlans);
+
+        assertThat(fieldPlansNotCopied).containsExactly(fieldPlans.get(0), fieldPlans.get(1));
+        assertThat(target.mutableValue).isNull();
+        assertThat(target.listOfMutableValues).isNull();
+        assertThat(target.immutableList).isSameAs(source.immutableList);
+    }
 }
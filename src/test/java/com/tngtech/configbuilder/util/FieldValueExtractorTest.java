@@ -52,6 +52,8 @@ public class FieldValueExtractorTest {
     @Mock
     private ConfigBuilderFactory configBuilderFactory;
     @Mock
+    private ConfigBuilderFactory buildFactory;
+    @Mock
     private BuilderConfiguration builderConfiguration;
     @Mock
     private AnnotationHelper annotationHelper;
@@ -68,12 +70,13 @@ public class FieldValueExtractorTest {
     public void setUp() {
         when(builderConfiguration.getAnnotationOrder()).thenReturn(order);
 
+        when(configBuilderFactory.forBuild(builderConfiguration)).thenReturn(buildFactory);
         when(configBuilderFactory.getInstance(AnnotationHelper.class)).thenReturn(annotationHelper);
         when(configBuilderFactory.getInstance(PropertyValueProcessor.class)).thenReturn(propertyValueProcessor);
         when(configBuilderFactory.getInstance(CommandLineValueProcessor.class)).thenReturn(commandLineValueProcessor);
 
-        when(propertyValueProcessor.getValue(any(PropertyValue.class), any(ConfigBuilderFactory.class))).thenReturn("propertyValue");
-        when(commandLineValueProcessor.getValue(any(CommandLineValue.class), any(ConfigBuilderFactory.class))).thenReturn("commandLineValue");
+        when(propertyValueProcessor.getValue(any(PropertyValue.class), same(buildFactory))).thenReturn("propertyValue");
+        when(commandLineValueProcessor.getValue(any(CommandLineValue.class), same(buildFactory))).thenReturn("commandLineValue");
         
         fieldValueExtractor = new FieldValueExtractor(configBuilderFactory);
     }
@@ -110,6 +113,16 @@ public class FieldValueExtractorTest {
         assertThat(result).isEqualTo("commandLineValue");
     }
 
+    @Test
+    public void testExtractValueFromFieldPlan() throws Exception {
+        field = TestConfig.class.getDeclaredField("testFieldWithLoadingOrder");
+        FieldPlan fieldPlan = new FieldPlan(field, order);
+
+        String result = (String) fieldValueExtractor.extractValue(fieldPlan, builderConfiguration);
+        verify(annotationHelper, never()).getAnnotationsInOrder(any(Field.class), any(Class[].class));
+        assertThat(result).isEqualTo("commandLineValue");
+    }
+
     @Test
     public void testExtractValueWithNullValue() throws Exception {
         field = TestConfig.class.getDeclaredField("testField");
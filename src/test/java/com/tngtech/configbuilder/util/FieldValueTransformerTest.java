@@ -29,6 +29,10 @@ public class FieldValueTransformerTest {
     @TypeTransformers(FieldValueTransformerComponentTest.TestTransformer.class)
     private ArrayList<Path> testField;
 
+    private Path pathField;
+
+    private String stringField;
+
     @Mock
     private ConfigBuilderFactory configBuilderFactory;
     @Mock
@@ -50,8 +54,23 @@ public class FieldValueTransformerTest {
     @Mock
     private CollectionToHashSetTransformer collectionToHashSetTransformer;
     @Mock
+    private MapToLinkedHashMapTransformer mapToLinkedHashMapTransformer;
+    @Mock
+    private CharacterSeparatedStringToImmutableStringListTransformer characterSeparatedStringToImmutableStringListTransformer;
+    @Mock
     private
     CharacterSeparatedStringToStringSetTransformer characterSeparatedStringToStringSetTransformer;
+    @Mock
+    private CharacterSeparatedStringToEnumSetTransformer characterSeparatedStringToEnumSetTransformer;
+    @Mock
+    private CollectionToEnumSetTransformer collectionToEnumSetTransformer;
+    @Mock
+    private MapToEnumMapTransformer mapToEnumMapTransformer;
+    @Mock
+    private CharacterSeparatedStringToPrimitiveArrayTransformer characterSeparatedStringToPrimitiveArrayTransformer;
+
+    @Mock
+    private TransformedValueCache valueCache;
 
     private Field field;
 
@@ -97,25 +116,119 @@ public class FieldValueTransformerTest {
         fieldValueTransformer.transformFieldValue(field, input);
     }
 
+    @Test
+    public void testHasApplicableTransformer() {
+        initializeFactoryAndHelperMocks("input", null);
+        when(stringToPathTransformer.isMatching(String.class, Path.class)).thenReturn(true);
+        when(genericsAndCastingHelper.castTypeToClass(Path.class)).thenReturn((Class) Path.class);
+        when(genericsAndCastingHelper.getWrapperClassIfPrimitive(Path.class)).thenReturn((Class) Path.class);
+
+        assertThat(fieldValueTransformer.hasApplicableTransformer(String.class, Path.class)).isTrue();
+        assertThat(fieldValueTransformer.hasApplicableTransformer(String.class, field.getGenericType())).isFalse();
+    }
+
+    @Test
+    public void testThatTransformerResolutionIsCached() {
+        String input = "/etc,/usr";
+        ArrayList<Path> expectedOutput = newArrayList(Paths.get("/etc"), Paths.get("/usr"));
+
+        initializeFactoryAndHelperMocks(input, expectedOutput);
+        when(characterSeparatedStringToStringListTransformer.isMatching(String.class, ArrayList.class)).thenReturn(true);
+        when(collectionToArrayListTransformer.isMatching(ArrayList.class, ArrayList.class)).thenReturn(true);
+        when(characterSeparatedStringToStringListTransformer.transform(input)).thenReturn(newArrayList(input.split(",")));
+        when(collectionToArrayListTransformer.transform(newArrayList(input.split(",")))).thenReturn(expectedOutput);
+
+        assertThat(fieldValueTransformer.transformFieldValue(field, input)).isEqualTo(expectedOutput);
+        assertThat(fieldValueTransformer.transformFieldValue(field, input)).isEqualTo(expectedOutput);
+
+        verify(testTransformer, times(2)).isMatching(any(Class.class), any(Class.class));
+        verify(characterSeparatedStringToStringListTransformer, times(2)).isMatching(any(Class.class), any(Class.class));
+        verify(collectionToArrayListTransformer).isMatching(any(Class.class), any(Class.class));
+        verify(characterSeparatedStringToStringListTransformer, times(2)).transform(input);
+        verify(collectionToArrayListTransformer).setTargetType(field.getGenericType());
+    }
+
+    @Test
+    public void testThatTransformedValuesAreCached() throws Exception {
+        String input = "/etc";
+        Path expectedOutput = Paths.get(input);
+        Field pathField = this.getClass().getDeclaredField("pathField");
+
+        initializeFactoryMocks();
+        when(genericsAndCastingHelper.typesMatch(input, Path.class)).thenReturn(false);
+        when(genericsAndCastingHelper.typesMatch(expectedOutput, Path.class)).thenReturn(true);
+        when(genericsAndCastingHelper.getWrapperClassIfPrimitive(String.class)).thenReturn((Class) String.class);
+        when(genericsAndCastingHelper.getWrapperClassIfPrimitive(Path.class)).thenReturn((Class) Path.class);
+        when(genericsAndCastingHelper.castTypeToClass(Path.class)).thenReturn((Class) Path.class);
+        when(stringToPathTransformer.isMatching(String.class, Path.class)).thenReturn(true);
+        when(stringToPathTransformer.transform(input)).thenReturn(expectedOutput);
+        fieldValueTransformer.setValueCache(new TransformedValueCache(10));
+
+        assertThat(fieldValueTransformer.transformFieldValue(pathField, input)).isSameAs(expectedOutput);
+        assertThat(fieldValueTransformer.transformFieldValue(pathField, input)).isSameAs(expectedOutput);
+        verify(stringToPathTransformer).transform(input);
+    }
+
+    @Test
+    public void testThatMutableTransformedValuesAreNotCached() {
+        String input = "/etc,/usr";
+        ArrayList<Path> expectedOutput = newArrayList(Paths.get("/etc"), Paths.get("/usr"));
+
+        initializeFactoryAndHelperMocks(input, expectedOutput);
+        when(characterSeparatedStringToStringListTransformer.isMatching(String.class, ArrayList.class)).thenReturn(true);
+        when(collectionToArrayListTransformer.isMatching(ArrayList.class, ArrayList.class)).thenReturn(true);
+        when(characterSeparatedStringToStringListTransformer.transform(input)).thenReturn(newArrayList(input.split(",")));
+        when(collectionToArrayListTransformer.transform(newArrayList(input.split(",")))).thenReturn(expectedOutput);
+        fieldValueTransformer.setValueCache(new TransformedValueCache(10));
+
+        Object firstValue = fieldValueTransformer.transformFieldValue(field, input);
+        Object secondValue = fieldValueTransformer.transformFieldValue(field, input);
+
+        assertThat(firstValue).isEqualTo(expectedOutput);
+        assertThat(secondValue).isEqualTo(expectedOutput);
+        verify(characterSeparatedStringToStringListTransformer, times(2)).transform(input);
+    }
+
+    @Test
+    public void testThatValuesWhichNeedNoTransformationAreNotCached() throws Exception {
+        Field stringField = this.getClass().getDeclaredField("stringField");
+        when(genericsAndCastingHelper.typesMatch("/etc", String.class)).thenReturn(true);
+        fieldValueTransformer.setValueCache(valueCache);
+
+        assertThat(fieldValueTransformer.transformFieldValue(stringField, "/etc")).isEqualTo("/etc");
+        verifyZeroInteractions(valueCache);
+    }
+
+    @Test
+    public void testThatMissingTransformerIsCached() {
+        String input = "input";
+        initializeFactoryAndHelperMocks(input, null);
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                fieldValueTransformer.transformFieldValue(field, input);
+            } catch (TypeTransformerException e) {
+                // expected
+            }
+        }
+
+        verify(testTransformer).isMatching(any(Class.class), any(Class.class));
+    }
+
     private void verifyMethodCalls() {
         InOrder inOrder = inOrder(testTransformer, characterSeparatedStringToStringListTransformer, testTransformer, characterSeparatedStringToStringListTransformer, collectionToArrayListTransformer);
         inOrder.verify(testTransformer, times(2)).isMatching(any(Class.class), any(Class.class));
-        verify(testTransformer, times(2)).initialize(fieldValueTransformer, configBuilderFactory, ",");
-        verify(characterSeparatedStringToStringListTransformer, times(2)).initialize(fieldValueTransformer, configBuilderFactory, ",");
-        verify(collectionToArrayListTransformer).initialize(fieldValueTransformer, configBuilderFactory, ",");
-        verify(characterSeparatedStringToStringListTransformer).setTargetType(any(Type.class));
+        verify(testTransformer, times(2)).initialize(any(FieldValueTransformer.class), eq(configBuilderFactory), eq(","), eq(new StringSplitter(",", false, false)));
+        verify(characterSeparatedStringToStringListTransformer, times(2)).initialize(any(FieldValueTransformer.class), eq(configBuilderFactory), eq(","), eq(new StringSplitter(",", false, false)));
+        verify(collectionToArrayListTransformer).initialize(any(FieldValueTransformer.class), eq(configBuilderFactory), eq(","), eq(new StringSplitter(",", false, false)));
+        verify(testTransformer, times(2)).setTargetType(any(Type.class));
+        verify(characterSeparatedStringToStringListTransformer, times(2)).setTargetType(any(Type.class));
         verify(collectionToArrayListTransformer).setTargetType(any(Type.class));
     }
 
     private void initializeFactoryAndHelperMocks(String input, ArrayList<Path> expectedOutput) {
-        when(configBuilderFactory.getInstance(FieldValueTransformerComponentTest.TestTransformer.class)).thenReturn(testTransformer);
-        when(configBuilderFactory.getInstance(CollectionToArrayListTransformer.class)).thenReturn(collectionToArrayListTransformer);
-        when(configBuilderFactory.getInstance(CollectionToHashSetTransformer.class)).thenReturn(collectionToHashSetTransformer);
-        when(configBuilderFactory.getInstance(CharacterSeparatedStringToStringListTransformer.class)).thenReturn(characterSeparatedStringToStringListTransformer);
-        when(configBuilderFactory.getInstance(CharacterSeparatedStringToStringSetTransformer.class)).thenReturn(characterSeparatedStringToStringSetTransformer);
-        when(configBuilderFactory.getInstance(StringCollectionToCommaSeparatedStringTransformer.class)).thenReturn(stringCollectionToCommaSeparatedStringTransformer);
-        when(configBuilderFactory.getInstance(StringOrPrimitiveToPrimitiveTransformer.class)).thenReturn(stringOrPrimitiveToPrimitiveTransformer);
-        when(configBuilderFactory.getInstance(StringToPathTransformer.class)).thenReturn(stringToPathTransformer);
+        when(configBuilderFactory.createInstance(FieldValueTransformerComponentTest.TestTransformer.class)).thenReturn(testTransformer);
+        initializeFactoryMocks();
 
         when(genericsAndCastingHelper.typesMatch(input,field.getGenericType())).thenReturn(false);
         when(genericsAndCastingHelper.typesMatch(newArrayList(input.split(",")), field.getGenericType())).thenReturn(false);
@@ -124,4 +237,20 @@ public class FieldValueTransformerTest {
         when(genericsAndCastingHelper.getWrapperClassIfPrimitive(ArrayList.class)).thenReturn((Class)ArrayList.class);
         when(genericsAndCastingHelper.castTypeToClass(field.getGenericType())).thenReturn((Class)ArrayList.class);
     }
+
+    private void initializeFactoryMocks() {
+        when(configBuilderFactory.createInstance(CollectionToArrayListTransformer.class)).thenReturn(collectionToArrayListTransformer);
+        when(configBuilderFactory.createInstance(CollectionToHashSetTransformer.class)).thenReturn(collectionToHashSetTransformer);
+        when(configBuilderFactory.createInstance(MapToLinkedHashMapTransformer.class)).thenReturn(mapToLinkedHashMapTransformer);
+        when(configBuilderFactory.createInstance(CharacterSeparatedStringToImmutableStringListTransformer.class)).thenReturn(characterSeparatedStringToImmutableStringListTransformer);
+        when(configBuilderFactory.createInstance(CharacterSeparatedStringToStringListTransformer.class)).thenReturn(characterSeparatedStringToStringListTransformer);
+        when(configBuilderFactory.createInstance(CharacterSeparatedStringToStringSetTransformer.class)).thenReturn(characterSeparatedStringToStringSetTransformer);
+        when(configBuilderFactory.createInstance(CharacterSeparatedStringToEnumSetTransformer.class)).thenReturn(characterSeparatedStringToEnumSetTransformer);
+        when(configBuilderFactory.createInstance(CollectionToEnumSetTransformer.class)).thenReturn(collectionToEnumSetTransformer);
+        when(configBuilderFactory.createInstance(MapToEnumMapTransformer.class)).thenReturn(mapToEnumMapTransformer);
+        when(configBuilderFactory.createInstance(CharacterSeparatedStringToPrimitiveArrayTransformer.class)).thenReturn(characterSeparatedStringToPrimitiveArrayTransformer);
+        when(configBuilderFactory.createInstance(StringCollectionToCommaSeparatedStringTransformer.class)).thenReturn(stringCollectionToCommaSeparatedStringTransformer);
+        when(configBuilderFactory.createInstance(StringOrPrimitiveToPrimitiveTransformer.class)).thenReturn(stringOrPrimitiveToPrimitiveTransformer);
+        when(configBuilderFactory.createInstance(StringToPathTransformer.class)).thenReturn(stringToPathTransformer);
+    }
 }
@@ -0,0 +1,74 @@
+package com.tngtech.configbuilder.util;
+
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FieldWriterTest {
+
+    private static class TestConfig {
+        private String stringField;
+        private int intField;
+        private final String finalField = "initial";
+        private static String staticField;
+    }
+
+    private FieldWriter createWriter(String fieldName) throws Exception {
+        Field field = TestConfig.class.getDeclaredField(fieldName);
+        field.setAccessible(true);
+        return new FieldWriter(field);
+    }
+
+    @Test
+    public void testWriteObjectField() throws Exception {
+        TestConfig config = new TestConfig();
+
+        createWriter("stringField").write(config, "value");
+
+        assertThat(config.stringField).isEqualTo("value");
+    }
+
+    @Test
+    public void testWritePrimitiveField() throws Exception {
+        TestConfig config = new TestConfig();
+
+        createWriter("intField").write(config, 3);
+
+        assertThat(config.intField).isEqualTo(3);
+    }
+
+    @Test
+    public void testWriteStaticField() throws Exception {
+        createWriter("staticField").write(new TestConfig(), "value");
+
+        assertThat(TestConfig.staticField).isEqualTo("value");
+    }
+
+    @Test
+    public void testThatFinalFieldIsWrittenByReflection() throws Exception {
+        FieldWriter fieldWriter = createWriter("finalField");
+        TestConfig config = new TestConfig();
+
+        fieldWriter.write(config, "value");
+
+        assertThat(fieldWriter.getSetter()).isNull();
+        assertThat(fieldWriter.getField().get(config)).isEqualTo("value");
+    }
+
+    @Test
+    public void testPrimitiveSetterIsExactlyTyped() throws Throwable {
+        FieldWriter fieldWriter = createWriter("intField");
+        TestConfig config = new TestConfig();
+
+        fieldWriter.getSetter().invokeExact((Object) config, 5);
+
+        assertThat(config.intField).isEqualTo(5);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWriteValueOfWrongType() throws Exception {
+        createWriter("intField").write(new TestConfig(), "stringValue");
+    }
+}
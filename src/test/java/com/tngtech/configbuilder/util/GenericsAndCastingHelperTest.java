@@ -1,5 +1,6 @@
 package com.tngtech.configbuilder.util;
 
+import com.google.common.collect.ImmutableMap;
 import com.tngtech.configbuilder.annotation.typetransformer.TypeTransformer;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -8,6 +9,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.Collection;
+import java.util.Map;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -22,6 +24,8 @@ public class GenericsAndCastingHelperTest {
         }
     }
     
+    private Map<String, Integer> integerMap;
+
     private GenericsAndCastingHelper genericsAndCastingHelper = new GenericsAndCastingHelper();
 
     @Test
@@ -51,6 +55,16 @@ public class GenericsAndCastingHelperTest {
         assertThat(genericsAndCastingHelper.typesMatch(new Object(), stringCollectionType)).isFalse();
     }
     
+    @Test
+    public void testTypesMatchForMaps() throws Exception {
+        Type integerMapType = GenericsAndCastingHelperTest.class.getDeclaredField("integerMap").getGenericType();
+
+        assertThat(genericsAndCastingHelper.typesMatch(ImmutableMap.of("a", 1), integerMapType)).isTrue();
+        assertThat(genericsAndCastingHelper.typesMatch(ImmutableMap.of("a", "1"), integerMapType)).isFalse();
+        assertThat(genericsAndCastingHelper.typesMatch(ImmutableMap.of(1, 1), integerMapType)).isFalse();
+        assertThat(genericsAndCastingHelper.typesMatch(newArrayList(1), integerMapType)).isFalse();
+    }
+
     @Test
     public void testCastTypeToClass() {
         Type interfaceType = TestClass.class.getGenericSuperclass();
@@ -0,0 +1,128 @@
+package com.tngtech.configbuilder.util;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProbeIndexTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private ProbeIndex probeIndex;
+    private Path directory;
+
+    @Before
+    public void setUp() {
+        probeIndex = new ProbeIndex();
+        directory = temporaryFolder.getRoot().toPath();
+    }
+
+    @Test
+    public void testDirectory() throws Exception {
+        temporaryFolder.newFile("config.properties");
+        temporaryFolder.newFolder("sub");
+        temporaryFolder.newFile("sub/nested.properties");
+
+        assertThat(probeIndex.mayContain(directory, "config.properties")).isTrue();
+        assertThat(probeIndex.mayContain(directory, "sub/nested.properties")).isTrue();
+        assertThat(probeIndex.mayContain(directory, "missing.properties")).isFalse();
+        assertThat(probeIndex.mayContain(directory, "sub/missing.properties")).isFalse();
+        assertThat(probeIndex.mayContain(directory, "missing/config.properties")).isFalse();
+    }
+
+    @Test
+    public void testThatChangesAreSeenInNextRound() throws Exception {
+        temporaryFolder.newFile("config.properties");
+        assertThat(probeIndex.mayContain(directory, "new.properties")).isFalse();
+
+        temporaryFolder.newFile("new.properties");
+        assertThat(new File(directory.toFile(), "config.properties").delete()).isTrue();
+        assertThat(probeIndex.mayContain(directory, "new.properties")).isFalse();
+
+        probeIndex.startRound();
+        assertThat(probeIndex.mayContain(directory, "new.properties")).isTrue();
+        assertThat(probeIndex.mayContain(directory, "config.properties")).isFalse();
+    }
+
+    @Test
+    public void testThatNamesAreMatchedIgnoringCase() throws Exception {
+        temporaryFolder.newFile("Config.properties");
+
+        assertThat(probeIndex.mayContain(directory, "config.properties")).isTrue();
+        assertThat(probeIndex.mayContain(directory, "CONFIG.properties")).isTrue();
+    }
+
+    @Test
+    public void testURLClassLoaderWithDirectories() throws Exception {
+        File classesDirectory = temporaryFolder.newFolder("classes");
+        assertThat(new File(classesDirectory, "config.properties").createNewFile()).isTrue();
+        assertThat(new File(classesDirectory, "com/example").mkdirs()).isTrue();
+        assertThat(new File(classesDirectory, "com/example/nested.properties").createNewFile()).isTrue();
+
+        URLClassLoader classLoader = new URLClassLoader(new URL[]{classesDirectory.toURI().toURL()}, null);
+
+        assertThat(probeIndex.mayContain(classLoader, "config.properties")).isTrue();
+        assertThat(probeIndex.mayContain(classLoader, "com/example/nested.properties")).isTrue();
+        assertThat(probeIndex.mayContain(classLoader, "missing.properties")).isFalse();
+        assertThat(probeIndex.mayContain(classLoader, "com/example/missing.properties")).isFalse();
+        classLoader.close();
+    }
+
+    @Test
+    public void testThatClassLoadersWithJarFilesAreNotIndexed() throws Exception {
+        File classesDirectory = temporaryFolder.newFolder("classes");
+        File jarFile = new File(temporaryFolder.getRoot(), "test.jar");
+        try (JarOutputStream jar = new JarOutputStream(new FileOutputStream(jarFile))) {
+            jar.putNextEntry(new JarEntry("com/example/packaged.properties"));
+            jar.closeEntry();
+        }
+
+        URLClassLoader classLoader = new URLClassLoader(new URL[]{classesDirectory.toURI().toURL(), jarFile.toURI().toURL()}, null);
+
+        assertThat(probeIndex.mayContain(classLoader, "missing.properties")).isTrue();
+        classLoader.close();
+    }
+
+    @Test
+    public void testThatSubclassesOfURLClassLoaderAreNotIndexed() throws Exception {
+        File classesDirectory = temporaryFolder.newFolder("classes");
+        URLClassLoader classLoader = new URLClassLoader(new URL[]{classesDirectory.toURI().toURL()}, null) {
+            @Override
+            public URL findResource(String name) {
+                return getClass().getResource("/testUmlauts.properties");
+            }
+        };
+
+        assertThat(probeIndex.mayContain(classLoader, "generated.properties")).isTrue();
+        classLoader.close();
+    }
+
+    @Test
+    public void testThatOtherClassLoadersAreNotIndexed() {
+        ClassLoader classLoader = new ClassLoader(null) {
+        };
+
+        assertThat(probeIndex.mayContain(classLoader, "missing.properties")).isTrue();
+    }
+
+    @Test
+    public void testThatResourcesOfTestClassPathAreFound() {
+        ClassLoader classLoader = getClass().getClassLoader();
+
+        assertThat(probeIndex.mayContain(classLoader, "testUmlauts.properties")).isTrue();
+        assertThat(probeIndex.mayContain(classLoader, "com/tngtech/configbuilder/util/ProbeIndexTest.class")).isTrue();
+        assertThat(probeIndex.mayContain(classLoader, "org/junit/Test.class")).isTrue();
+    }
+}
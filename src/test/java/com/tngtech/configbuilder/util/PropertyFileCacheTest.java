@@ -0,0 +1,80 @@
+package com.tngtech.configbuilder.util;
+
+import com.tngtech.configbuilder.util.PropertyFileCache.PropertyFile;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PropertyFileCacheTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private PropertyFileCache propertyFileCache = new PropertyFileCache();
+    private ResourceOpener opener;
+    private File file;
+
+    @Before
+    public void setUp() throws Exception {
+        opener = ResourceOpener.atDirectory(temporaryFolder.getRoot().getPath());
+        file = temporaryFolder.newFile("test.properties");
+        Files.write(file.toPath(), "key=value\n$include=a,b\n".getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    @Test
+    public void testPropertyFile() {
+        PropertyFile propertyFile = propertyFileCache.get(opener.locate("test.properties"), "test.properties", "ISO-8859-1", opener);
+
+        assertThat(propertyFile.getProperties()).containsOnlyKeys("key");
+        assertThat(propertyFile.getIncludes()).containsExactly("a", "b");
+    }
+
+    @Test
+    public void testThatUnchangedFileIsCached() {
+        URL url = opener.locate("test.properties");
+
+        assertThat(propertyFileCache.get(url, "test.properties", "ISO-8859-1", opener)).isSameAs(propertyFileCache.get(url, "test.properties", "ISO-8859-1", opener));
+    }
+
+    @Test
+    public void testThatChangedFileIsReadAgain() throws Exception {
+        URL url = opener.locate("test.properties");
+        PropertyFile propertyFile = propertyFileCache.get(url, "test.properties", "ISO-8859-1", opener);
+
+        Files.write(file.toPath(), "key=other value\n".getBytes(StandardCharsets.ISO_8859_1));
+
+        PropertyFile changedPropertyFile = propertyFileCache.get(url, "test.properties", "ISO-8859-1", opener);
+        assertThat(changedPropertyFile).isNotSameAs(propertyFile);
+        assertThat(changedPropertyFile.getProperties().get("key")).isEqualTo("other value");
+    }
+
+    @Test
+    public void testThatClearDiscardsFiles() {
+        URL url = opener.locate("test.properties");
+        PropertyFile propertyFile = propertyFileCache.get(url, "test.properties", "ISO-8859-1", opener);
+
+        propertyFileCache.clear();
+
+        assertThat(propertyFileCache.get(url, "test.properties", "ISO-8859-1", opener)).isNotSameAs(propertyFile);
+    }
+
+    @Test
+    public void testThatCacheIsBounded() throws Exception {
+        PropertyFileCache boundedCache = new PropertyFileCache(1);
+        Files.write(temporaryFolder.newFile("other.properties").toPath(), "key=value\n".getBytes(StandardCharsets.ISO_8859_1));
+        URL url = opener.locate("test.properties");
+        PropertyFile propertyFile = boundedCache.get(url, "test.properties", "ISO-8859-1", opener);
+
+        boundedCache.get(opener.locate("other.properties"), "other.properties", "ISO-8859-1", opener);
+
+        assertThat(boundedCache.get(url, "test.properties", "ISO-8859-1", opener)).isNotSameAs(propertyFile);
+    }
+}
@@ -2,7 +2,6 @@ package com.tngtech.configbuilder.util;
 
 import com.tngtech.configbuilder.annotation.propertyloaderconfiguration.*;
 import com.tngtech.configbuilder.testclasses.TestConfig;
-import com.tngtech.propertyloader.PropertyLoader;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -29,7 +28,7 @@ public class PropertyLoaderConfiguratorTest {
     @Mock
     private PropertyLocationsProcessor propertyLocationsProcessor;
     @Mock
-    private PropertyLoader propertyLoader;
+    private CachingPropertyLoader propertyLoader;
 
     private PropertySuffixes propertySuffixes = TestConfig.class.getAnnotation(PropertySuffixes.class);
     private PropertyLocations propertyLocations = TestConfig.class.getAnnotation(PropertyLocations.class);
@@ -46,14 +45,14 @@ public class PropertyLoaderConfiguratorTest {
         when(annotationHelper.getAnnotationsAnnotatedWith(TestConfig.class.getDeclaredAnnotations(), PropertyLoaderConfigurationAnnotation.class)).thenReturn(annotationList);
         when(configBuilderFactory.getInstance(PropertyLocationsProcessor.class)).thenReturn(propertyLocationsProcessor);
         when(configBuilderFactory.getInstance(PropertySuffixProcessor.class)).thenReturn(propertySuffixProcessor);
-        when(configBuilderFactory.createInstance(PropertyLoader.class)).thenReturn(propertyLoader);
+        when(configBuilderFactory.createInstance(CachingPropertyLoader.class)).thenReturn(propertyLoader);
         when(propertyLoader.withDefaultConfig()).thenReturn(propertyLoader);
     }
 
     @Test
     public void testConfigurePropertyLoader() {
         assertThat(propertyLoaderConfigurator.configurePropertyLoader(TestConfig.class)).isSameAs(propertyLoader);
-        verify(configBuilderFactory).createInstance(PropertyLoader.class);
+        verify(configBuilderFactory).createInstance(CachingPropertyLoader.class);
         verify(propertyLoader).withDefaultConfig();
         verify(annotationHelper).getAnnotationsAnnotatedWith(TestConfig.class.getDeclaredAnnotations(), PropertyLoaderConfigurationAnnotation.class);
         verify(configBuilderFactory).getInstance(PropertyLocationsProcessor.class);
@@ -0,0 +1,34 @@
+package com.tngtech.configbuilder.util;
+
+import com.tngtech.propertyloader.impl.interfaces.PropertyLoaderOpener;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResourceLocationContainerTest {
+
+    private ResourceLocationContainer resourceLocationContainer = new ResourceLocationContainer();
+
+    @Test
+    public void testDefaultLocations() {
+        List<PropertyLoaderOpener> openers = resourceLocationContainer.atDefaultLocations().getOpeners();
+
+        assertThat(openers).containsExactly(
+                ResourceOpener.atDirectory(""),
+                ResourceOpener.atContextClassLoader(),
+                ResourceOpener.atDirectory(System.getProperty("user.home")));
+    }
+
+    @Test
+    public void testLocations() {
+        resourceLocationContainer.atDirectory("dir").atRelativeToClass(getClass()).atClassLoader(getClass().getClassLoader());
+
+        assertThat(resourceLocationContainer.getOpeners()).containsExactly(
+                ResourceOpener.atDirectory("dir"),
+                ResourceOpener.relativeToClass(getClass()),
+                ResourceOpener.atClassLoader(getClass().getClassLoader()));
+        assertThat(resourceLocationContainer.clear().getOpeners()).isEmpty();
+    }
+}
@@ -0,0 +1,74 @@
+package com.tngtech.configbuilder.util;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResourceOpenerTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testLocateInDirectory() throws Exception {
+        File file = temporaryFolder.newFile("test.properties");
+        ResourceOpener opener = ResourceOpener.atDirectory(temporaryFolder.getRoot().getPath());
+
+        assertThat(opener.locate("test.properties")).isEqualTo(file.toURI().toURL());
+        assertThat(opener.locate("missing.properties")).isNull();
+        assertThat(opener.open("test.properties")).isNotNull();
+        assertThat(opener.open("missing.properties")).isNull();
+    }
+
+    @Test
+    public void testLocateInClassPath() {
+        assertThat(ResourceOpener.atContextClassLoader().locate("testUmlauts.properties")).isNotNull();
+        assertThat(ResourceOpener.atClassLoader(getClass().getClassLoader()).locate("testUmlauts.properties")).isNotNull();
+        assertThat(ResourceOpener.relativeToClass(getClass()).locate("testUmlauts.properties")).isNull();
+        assertThat(ResourceOpener.atContextClassLoader().locate("missing.properties")).isNull();
+    }
+
+    @Test
+    public void testThatOpenersForSameLocationAreEqual() {
+        String directory = temporaryFolder.getRoot().getPath();
+
+        assertThat(ResourceOpener.atDirectory(directory)).isEqualTo(ResourceOpener.atDirectory(directory));
+        assertThat(ResourceOpener.atDirectory(directory).hashCode()).isEqualTo(ResourceOpener.atDirectory(directory).hashCode());
+        assertThat(ResourceOpener.atContextClassLoader()).isEqualTo(ResourceOpener.atContextClassLoader());
+        assertThat(ResourceOpener.relativeToClass(getClass())).isEqualTo(ResourceOpener.relativeToClass(getClass()));
+        assertThat(ResourceOpener.atDirectory(directory)).isNotEqualTo(ResourceOpener.atDirectory(directory + "/other"));
+        assertThat(ResourceOpener.relativeToClass(getClass())).isNotEqualTo(ResourceOpener.atContextClassLoader());
+    }
+
+    @Test
+    public void testThatContextClassLoaderOpenerIsIdentifiedByContextClassLoader() throws Exception {
+        ResourceOpener opener = ResourceOpener.atContextClassLoader();
+        Object location = opener.getLocation();
+        Thread thread = Thread.currentThread();
+        ClassLoader contextClassLoader = thread.getContextClassLoader();
+        URLClassLoader otherClassLoader = new URLClassLoader(new URL[0], contextClassLoader);
+        thread.setContextClassLoader(otherClassLoader);
+        try {
+            assertThat(opener.getLocation()).isNotEqualTo(location);
+            assertThat(opener.getLocation()).isEqualTo(ResourceOpener.atClassLoader(otherClassLoader).getLocation());
+        } finally {
+            thread.setContextClassLoader(contextClassLoader);
+            otherClassLoader.close();
+        }
+        assertThat(opener.getLocation()).isEqualTo(location);
+    }
+
+    @Test
+    public void testGetDirectory() {
+        File directory = temporaryFolder.getRoot();
+
+        assertThat(ResourceOpener.atDirectory(directory.getPath()).getDirectory()).isEqualTo(directory.toPath());
+        assertThat(ResourceOpener.atContextClassLoader().getDirectory()).isNull();
+    }
+}
@@ -0,0 +1,108 @@
+package com.tngtech.configbuilder.util;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+
+import java.awt.Color;
+import java.lang.annotation.ElementType;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TransformedValueCacheTest {
+
+    private static class TestConfig {
+    }
+
+    private static class OtherTestConfig {
+    }
+
+    private final TransformedValueCache transformedValueCache = new TransformedValueCache(2);
+    private final List<Object> transformation = ImmutableList.<Object>of(FieldValueTransformer.getDefaultTransformers(), ",");
+
+    @Test
+    public void testThatImmutableValuesAreCached() {
+        Path path = Paths.get("/etc");
+        transformedValueCache.put(TestConfig.class, "/etc", Path.class, transformation, path);
+        transformedValueCache.put(TestConfig.class, "FIELD", ElementType.class, transformation, ElementType.FIELD);
+
+        assertThat(transformedValueCache.get(TestConfig.class, "/etc", Path.class, transformation)).isSameAs(path);
+        assertThat(transformedValueCache.get(TestConfig.class, "FIELD", ElementType.class, transformation)).isSameAs(ElementType.FIELD);
+        assertThat(transformedValueCache.get(TestConfig.class, "/etc", String.class, transformation)).isNull();
+        assertThat(transformedValueCache.get(TestConfig.class, "/etc", Path.class, ImmutableList.<Object>of(FieldValueTransformer.getDefaultTransformers(), ";"))).isNull();
+    }
+
+    @Test
+    public void testThatImmutableCollectionsAreCached() {
+        ImmutableList<String> list = ImmutableList.of("a", "b");
+        ImmutableMap<ElementType, Integer> map = ImmutableMap.of(ElementType.FIELD, 1);
+        transformedValueCache.put(TestConfig.class, "a,b", List.class, transformation, list);
+        transformedValueCache.put(TestConfig.class, "FIELD=1", Map.class, transformation, map);
+
+        assertThat(transformedValueCache.get(TestConfig.class, "a,b", List.class, transformation)).isSameAs(list);
+        assertThat(transformedValueCache.get(TestConfig.class, "FIELD=1", Map.class, transformation)).isSameAs(map);
+    }
+
+    @Test
+    public void testThatMutableValuesAreNotCached() {
+        transformedValueCache.put(TestConfig.class, "value", StringBuilder.class, transformation, new StringBuilder("value"));
+        transformedValueCache.put(TestConfig.class, "1,2", ArrayList.class, transformation, newArrayList(1, 2));
+        transformedValueCache.put(TestConfig.class, "FIELD", Set.class, transformation, EnumSet.of(ElementType.FIELD));
+        transformedValueCache.put(TestConfig.class, "1,2", int[].class, transformation, new int[]{1, 2});
+        transformedValueCache.put(TestConfig.class, "value", List.class, transformation, ImmutableList.of(new StringBuilder("value")));
+
+        assertThat(transformedValueCache.get(TestConfig.class, "value", StringBuilder.class, transformation)).isNull();
+        assertThat(transformedValueCache.get(TestConfig.class, "1,2", ArrayList.class, transformation)).isNull();
+        assertThat(transformedValueCache.get(TestConfig.class, "FIELD", Set.class, transformation)).isNull();
+        assertThat(transformedValueCache.get(TestConfig.class, "1,2", int[].class, transformation)).isNull();
+        assertThat(transformedValueCache.get(TestConfig.class, "value", List.class, transformation)).isNull();
+    }
+
+    @Test
+    public void testThatColorsAreCached() {
+        Color color = new Color(1, 2, 3);
+        transformedValueCache.put(TestConfig.class, "1,2,3", Color.class, transformation, color);
+
+        assertThat(transformedValueCache.get(TestConfig.class, "1,2,3", Color.class, transformation)).isSameAs(color);
+    }
+
+    @Test
+    public void testThatValuesAreCachedPerDeclaringClass() {
+        transformedValueCache.put(TestConfig.class, "1", Integer.class, transformation, 1);
+
+        assertThat(transformedValueCache.get(TestConfig.class, "1", Integer.class, transformation)).isEqualTo(1);
+        assertThat(transformedValueCache.get(OtherTestConfig.class, "1", Integer.class, transformation)).isNull();
+    }
+
+    @Test
+    public void testClear() {
+        transformedValueCache.put(TestConfig.class, "1", Integer.class, transformation, 1);
+
+        transformedValueCache.clear();
+
+        assertThat(transformedValueCache.get(TestConfig.class, "1", Integer.class, transformation)).isNull();
+    }
+
+    @Test
+    public void testThatCacheIsBounded() {
+        for (int i = 0; i < 10; i++) {
+            transformedValueCache.put(TestConfig.class, String.valueOf(i), Integer.class, transformation, i);
+        }
+
+        int cachedValues = 0;
+        for (int i = 0; i < 10; i++) {
+            if (transformedValueCache.get(TestConfig.class, String.valueOf(i), Integer.class, transformation) != null) {
+                cachedValues++;
+            }
+        }
+        assertThat(cachedValues).isLessThanOrEqualTo(2);
+    }
+}